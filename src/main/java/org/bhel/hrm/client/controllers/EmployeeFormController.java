@@ -133,7 +133,8 @@ public class EmployeeFormController {
                         employeeSnapshot.userId(),
                         firstName,
                         lastName,
-                        icPassport
+                        icPassport,
+                        employeeSnapshot.version()
                     );
 
                     hrmService.updateEmployeeProfile(employeeDTO);
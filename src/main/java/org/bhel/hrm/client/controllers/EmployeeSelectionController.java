@@ -9,6 +9,7 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.CheckBoxListCell;
 import javafx.stage.Stage;
 import org.bhel.hrm.client.utils.DialogManager;
+import org.bhel.hrm.common.dtos.BulkOperationResultDTO;
 import org.bhel.hrm.common.dtos.EmployeeDTO;
 import org.bhel.hrm.common.services.HRMService;
 import java.util.ArrayList;
@@ -111,16 +112,24 @@ public class EmployeeSelectionController {
 
         List<Integer> ids = selectedItems.stream().map(EmployeeDTO::id).collect(Collectors.toList());
 
-        Task<Void> task = new Task<>() {
+        Task<BulkOperationResultDTO> task = new Task<>() {
             @Override
-            protected Void call() throws Exception {
-                hrmService.enrollMultipleEmployees(courseId, ids);
-                return null;
+            protected BulkOperationResultDTO call() throws Exception {
+                return hrmService.enrollMultipleEmployees(courseId, ids);
             }
         };
 
         task.setOnSucceeded(e -> {
-            DialogManager.showInfoDialog("Success", "Employees assigned successfully.");
+            BulkOperationResultDTO result = task.getValue();
+            if (result.hasFailures()) {
+                String failed = result.failures().stream()
+                    .map(failure -> "Employee " + failure.id() + ": " + failure.errorCode().getDefaultMessage())
+                    .collect(Collectors.joining("\n"));
+                DialogManager.showWarningDialog("Partially Assigned",
+                    result.succeededIds().size() + " employee(s) assigned, " + result.failures().size() + " failed:\n" + failed);
+            } else {
+                DialogManager.showInfoDialog("Success", "Employees assigned successfully.");
+            }
             isSaved = true;
             dialogStage.close();
         });
@@ -163,7 +163,8 @@ public class ProfileController {
             currentEmployeeProfile.userId(),
             firstNameField.getText(),
             lastNameField.getText(),
-            icPassportField.getText()
+            icPassportField.getText(),
+            currentEmployeeProfile.version()
         );
 
         Task<Void> saveTask = getSaveTask(updatedDTO);
@@ -187,7 +188,15 @@ public class ProfileController {
             DialogManager.showInfoDialog(
                 "Success", "Profile updated successfully.");
 
-            currentEmployeeProfile = updatedDTO;
+            // A successful update advances the row's version by one
+            currentEmployeeProfile = new EmployeeDTO(
+                updatedDTO.id(),
+                updatedDTO.userId(),
+                updatedDTO.firstName(),
+                updatedDTO.lastName(),
+                updatedDTO.icPassport(),
+                updatedDTO.version() + 1
+            );
             setEditMode(false);
         });
 
@@ -91,7 +91,8 @@ public class TrainingCourseFormController {
                 titleField.getText().trim(),
                 descriptionArea.getText().trim(),
                 durationSpinner.getValue(),
-                departmentCombo.getValue()
+                departmentCombo.getValue(),
+                courseToEdit == null ? 0 : courseToEdit.version()
         );
 
         // Disable UI to prevent double submission
@@ -6,6 +6,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 public class Configuration {
@@ -18,6 +20,22 @@ public class Configuration {
     private static final String DEFAULT_PAYROLL_HOST = "localhost";
     private static final int DEFAULT_PAYROLL_PORT = 12345;
 
+    private static final int DEFAULT_DB_POOL_MIN_SIZE = 2;
+    private static final int DEFAULT_DB_POOL_MAX_SIZE = 10;
+    private static final long DEFAULT_DB_POOL_ACQUIRE_TIMEOUT_MS = 5_000;
+    private static final long DEFAULT_DB_POOL_IDLE_TIMEOUT_MS = 600_000;
+    private static final int DEFAULT_DB_POOL_VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final int DEFAULT_DB_STATEMENT_CACHE_SIZE = 64;
+    private static final long DEFAULT_DB_POOL_LEAK_DETECTION_THRESHOLD_MS = 30_000;
+    private static final int DEFAULT_DB_TX_RETRY_MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_DB_TX_RETRY_INITIAL_BACKOFF_MS = 50;
+    private static final long DEFAULT_DB_TX_RETRY_MAX_BACKOFF_MS = 1_000;
+    private static final int DEFAULT_DB_REPLICA_MAX_LAG_SECONDS = 5;
+    private static final long DEFAULT_DB_REPLICA_LAG_CHECK_INTERVAL_MS = 5_000;
+    private static final int DEFAULT_DB_STREAM_FETCH_SIZE = 500;
+    private static final int DEFAULT_DB_BATCH_SIZE = 500;
+    private static final long DEFAULT_DB_SLOW_QUERY_THRESHOLD_MS = 500;
+
     private final Properties properties;
 
     public Configuration() {
@@ -123,10 +141,71 @@ public class Configuration {
 
     // Database Configuration
     public String getDbUrl() {
+        return buildDbUrl(getDbHost(), getDbPort());
+    }
+
+    /**
+     * Returns the JDBC URLs of the read replicas listed in {@code db.replica.urls}.
+     * <p>
+     * Entries are comma-separated and may be either full JDBC URLs or {@code host:port}
+     * pairs; the latter reuse the primary's driver, database name and connection options.
+     *
+     * @return The replica URLs, or an empty list when no replicas are configured
+     */
+    public List<String> getDbReplicaUrls() {
+        String value = properties.getProperty("db.replica.urls");
+
+        if (value == null || value.isBlank())
+            return List.of();
+
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(entry -> !entry.isEmpty())
+            .map(entry -> {
+                if (entry.startsWith("jdbc:"))
+                    return entry;
+
+                int colon = entry.lastIndexOf(':');
+                if (colon < 0)
+                    return buildDbUrl(entry, getDbPort());
+
+                return buildDbUrl(entry.substring(0, colon), entry.substring(colon + 1));
+            })
+            .toList();
+    }
+
+    public int getDbReplicaMaxLagSeconds() {
+        return getIntProperty("db.replica.max.lag.seconds", DEFAULT_DB_REPLICA_MAX_LAG_SECONDS);
+    }
+
+    public long getDbReplicaLagCheckIntervalMillis() {
+        return getLongProperty("db.replica.lag.check.interval.ms", DEFAULT_DB_REPLICA_LAG_CHECK_INTERVAL_MS);
+    }
+
+    /**
+     * Returns how many rows a streamed query fetches per round trip through its server-side cursor.
+     */
+    public int getDbStreamFetchSize() {
+        return getIntProperty("db.stream.fetch.size", DEFAULT_DB_STREAM_FETCH_SIZE);
+    }
+
+    /**
+     * Returns how many rows a DAO batch insert or update sends per JDBC batch.
+     */
+    public int getDbBatchSize() {
+        return getIntProperty("db.batch.size", DEFAULT_DB_BATCH_SIZE);
+    }
+
+    /**
+     * Returns how long a DAO statement may take before it is written to the slow-query log.
+     */
+    public long getDbSlowQueryThresholdMillis() {
+        return getLongProperty("db.slow.query.threshold.ms", DEFAULT_DB_SLOW_QUERY_THRESHOLD_MS);
+    }
+
+    private String buildDbUrl(String host, String port) {
         String driver = getDbDriver();
         String connection = getDbConnection();
-        String host = getDbHost();
-        String port = getDbPort();
         String name = getDbName();
 
         if (
@@ -142,7 +221,14 @@ public class Configuration {
         }
 
         // jdbc:mysql://localhost:3306/hrm_db?useSSL=false&serverTimezone=UTC
-        return String.format("%s:%s://%s:%s/%s?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC",
+        // Server-side prepared statements pair with the pool's per-connection statement cache,
+        // and rewritten batches let a unit of work flush many inserts in one round trip.
+        // Cursor fetch only applies to statements given a fetch size, i.e. streamed queries.
+        // Affected (not found) rows let an upsert tell an inserted row from an existing one.
+        // This applies to every statement: an UPDATE counts the rows it changed, not the rows
+        // it matched, so 0 can mean "already had these values" and must not be read as "not found".
+        return String.format("%s:%s://%s:%s/%s?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC"
+                + "&useServerPrepStmts=true&rewriteBatchedStatements=true&useCursorFetch=true&useAffectedRows=true",
             driver,
             connection,
             host,
@@ -178,4 +264,71 @@ public class Configuration {
     public String getDbName() {
         return properties.getProperty("db.name");
     }
+
+    // Connection Pool Configuration
+    public int getDbPoolMinSize() {
+        return getIntProperty("db.pool.min.size", DEFAULT_DB_POOL_MIN_SIZE);
+    }
+
+    public int getDbPoolMaxSize() {
+        return getIntProperty("db.pool.max.size", DEFAULT_DB_POOL_MAX_SIZE);
+    }
+
+    public long getDbPoolAcquireTimeoutMillis() {
+        return getLongProperty("db.pool.acquire.timeout.ms", DEFAULT_DB_POOL_ACQUIRE_TIMEOUT_MS);
+    }
+
+    public long getDbPoolIdleTimeoutMillis() {
+        return getLongProperty("db.pool.idle.timeout.ms", DEFAULT_DB_POOL_IDLE_TIMEOUT_MS);
+    }
+
+    public int getDbPoolValidationTimeoutSeconds() {
+        return getIntProperty("db.pool.validation.timeout.seconds", DEFAULT_DB_POOL_VALIDATION_TIMEOUT_SECONDS);
+    }
+
+    public long getDbPoolLeakDetectionThresholdMillis() {
+        return getLongProperty("db.pool.leak.detection.threshold.ms", DEFAULT_DB_POOL_LEAK_DETECTION_THRESHOLD_MS);
+    }
+
+    public boolean isDbPoolLeakTraceEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("db.pool.leak.trace", "false").trim());
+    }
+
+    public int getDbStatementCacheSize() {
+        return getIntProperty("db.pool.statement.cache.size", DEFAULT_DB_STATEMENT_CACHE_SIZE);
+    }
+
+    // Transaction Retry Configuration
+    public int getDbTxRetryMaxAttempts() {
+        return getIntProperty("db.tx.retry.max.attempts", DEFAULT_DB_TX_RETRY_MAX_ATTEMPTS);
+    }
+
+    public long getDbTxRetryInitialBackoffMillis() {
+        return getLongProperty("db.tx.retry.initial.backoff.ms", DEFAULT_DB_TX_RETRY_INITIAL_BACKOFF_MS);
+    }
+
+    public long getDbTxRetryMaxBackoffMillis() {
+        return getLongProperty("db.tx.retry.max.backoff.ms", DEFAULT_DB_TX_RETRY_MAX_BACKOFF_MS);
+    }
+
+    private int getIntProperty(String key, int defaultValue) {
+        return Math.toIntExact(getLongProperty(key, defaultValue));
+    }
+
+    private long getLongProperty(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+
+        if (value == null || value.isBlank())
+            return defaultValue;
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.error("Invalid numeric value '{}' for '{}'. Configuration failed.", value, key);
+            throw new ConfigurationException(
+                String.format("Invalid configuration for '%s': '%s'. Must be a whole number.", key, value),
+                e
+            );
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package org.bhel.hrm.common.dtos;
+
+import org.bhel.hrm.common.error.ErrorCode;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Per-item outcome of a bulk operation that keeps the items that succeeded
+ * and rolls back only the ones that failed.
+ *
+ * @param succeededIds Ids of the items that were applied
+ * @param skippedIds   Ids of the items that needed no change (e.g. already enrolled)
+ * @param failures     The items that were rolled back, with the reason
+ */
+public record BulkOperationResultDTO(
+    List<Integer> succeededIds,
+    List<Integer> skippedIds,
+    List<ItemFailure> failures
+) implements Serializable {
+    public record ItemFailure(int id, ErrorCode errorCode, String message) implements Serializable {}
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
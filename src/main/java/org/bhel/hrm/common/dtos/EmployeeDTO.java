@@ -7,5 +7,6 @@ public record EmployeeDTO(
     int userId,
     String firstName,
     String lastName,
-    String icPassport
+    String icPassport,
+    int version
 ) implements Serializable {}
@@ -0,0 +1,21 @@
+package org.bhel.hrm.common.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of a paged list returned by the server.
+ *
+ * @param items         The items on this page
+ * @param nextPageToken An opaque token to request the following page with, or {@code null}
+ *                      if this is the last page
+ * @param <T>           The type of the items
+ */
+public record PageDTO<T>(
+    List<T> items,
+    String nextPageToken
+) implements Serializable {
+    public boolean hasNextPage() {
+        return nextPageToken != null;
+    }
+}
@@ -7,7 +7,8 @@ public record TrainingCourseDTO(
     String title,
     String description,
     int durationInHours,
-    Department department
+    Department department,
+    int version
 ) implements Serializable {
     public enum Department { IT, HR, FINANCE, OPERATIONS, SALES }
 }
@@ -49,6 +49,7 @@ public enum ErrorCode {
     DB_DEADLOCK("HRM-DB-005", "Database deadlock detected", 409),
     DB_LOCK_TIMEOUT("HRM-DB-006", "Database lock timeout", 408),
     DB_QUERY_ERROR("HRM-DB-007", "Database query error", 500),
+    DB_CONCURRENT_UPDATE("HRM-DB-008", "Record was changed by someone else; reload it and try again", 409),
 
     // --- Validation ---
 
@@ -5,10 +5,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 /**
@@ -22,6 +25,8 @@ public class ExceptionMappingConfig {
 
     private final Map<Integer, ExceptionMapping> errorMappings;
     private final Map<String, ContextBasedMapping> contextMappings;
+    private final Set<Integer> retryableErrorCodes;
+    private final Set<String> retryableSqlStates;
     private final DatabaseVendor vendor;
 
     public ExceptionMappingConfig() {
@@ -32,6 +37,8 @@ public class ExceptionMappingConfig {
         this.vendor = vendor;
         this.errorMappings = new HashMap<>();
         this.contextMappings = new HashMap<>();
+        this.retryableErrorCodes = new HashSet<>();
+        this.retryableSqlStates = new HashSet<>();
 
         initializeMappings();
     }
@@ -144,6 +151,11 @@ public class ExceptionMappingConfig {
             )
         );
 
+        // Both leave the transaction safe to re-run from the start
+        addRetryableErrorCode(1213);
+        addRetryableErrorCode(1205);
+        addRetryableSqlState("40001"); // Serialization failure
+
         // --- 5. Context-specific Errors ---
         addContextMapping(
             "registration",
@@ -211,6 +223,44 @@ public class ExceptionMappingConfig {
         );
     }
 
+    /**
+     * Checks whether a failure is a transient lock conflict after which the whole
+     * transaction can simply be rolled back and run again.
+     * <p>
+     * The cause chain is searched, since DAOs wrap the driver's {@link SQLException}
+     * in a {@link DataAccessException}.
+     *
+     * @param throwable The failure to inspect; may be null
+     * @return {@code true} if the failure is retryable
+     */
+    public boolean isRetryable(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof CannotAcquireLockException || t instanceof SQLTransactionRollbackException)
+                return true;
+
+            if (t instanceof SQLException sqlException && (
+                retryableErrorCodes.contains(sqlException.getErrorCode())
+                || (sqlException.getSQLState() != null && retryableSqlStates.contains(sqlException.getSQLState()))
+            ))
+                return true;
+
+            if (t.getCause() == t)
+                break;
+        }
+
+        return false;
+    }
+
+    // Marks a vendor error code as safe to retry
+    public void addRetryableErrorCode(int errorCode) {
+        retryableErrorCodes.add(errorCode);
+    }
+
+    // Marks an SQLSTATE as safe to retry
+    public void addRetryableSqlState(String sqlState) {
+        retryableSqlStates.add(sqlState);
+    }
+
     // Adds a custom mapping for a specific error code
     public void addMapping(
         int errorCode,
@@ -15,6 +15,7 @@ public sealed class DataAccessException extends RuntimeException permits
     DataAccessResourceFailureException,
     DataIntegrityViolationException,
     IncorrectSqlGrammarException,
+    OptimisticLockingFailureException,
     TransientDataAccessException {
 
     private final ErrorCode errorCode;
@@ -0,0 +1,60 @@
+package org.bhel.hrm.common.exceptions;
+
+import org.bhel.hrm.common.error.ErrorCode;
+
+/**
+ * A {@link DataAccessException} thrown when a versioned update affects no row, because
+ * the row was updated (or deleted) by someone else after it was read.
+ * <p>
+ * Services translate it into an {@link HRMException} with
+ * {@link ErrorCode#DB_CONCURRENT_UPDATE}, so the client can reload and try again.
+ */
+public final class OptimisticLockingFailureException extends DataAccessException {
+    private final String entityType;
+    private final Object entityId;
+    private final int expectedVersion;
+
+    /**
+     * Constructs an OptimisticLockingFailureException for the given row.
+     *
+     * @param entityType The type of entity that was being updated (e.g., "Employee")
+     * @param entityId The identifier of the row
+     * @param expectedVersion The version the row had when it was read
+     */
+    public OptimisticLockingFailureException(String entityType, Object entityId, int expectedVersion) {
+        super(
+            ErrorCode.DB_CONCURRENT_UPDATE,
+            String.format("%s with ID '%s' is no longer at version %d", entityType, entityId, expectedVersion),
+            null
+        );
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.expectedVersion = expectedVersion;
+    }
+
+    /**
+     * Translates this failure into the checked exception services surface to clients.
+     *
+     * @return An {@link HRMException} with {@link ErrorCode#DB_CONCURRENT_UPDATE}, caused by this exception
+     */
+    public HRMException toHRMException() {
+        return new HRMException(
+            ErrorCode.DB_CONCURRENT_UPDATE,
+            String.format("%s with ID '%s' was changed by someone else; reload it and try again", entityType, entityId),
+            this,
+            null
+        );
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Object getEntityId() {
+        return entityId;
+    }
+
+    public int getExpectedVersion() {
+        return expectedVersion;
+    }
+}
@@ -57,6 +57,18 @@ public interface HRMService extends Remote {
      */
     List<EmployeeDTO> getAllEmployees() throws RemoteException, HRMException;
 
+    /**
+     * Retrieves one page of employees, sorted by last name. Pages are read with keyset
+     * pagination, so later pages are as fast as the first.
+     *
+     * @param pageToken The {@link PageDTO#nextPageToken()} of the previous page, or null for the first page
+     * @param pageSize The maximum number of employees to return; the server caps very large pages
+     * @return A page of {@link EmployeeDTO}'s with a token for the next page, if any
+     * @throws RemoteException If a communication-related error occurs
+     * @throws HRMException If the token is invalid or the page size is not positive
+     */
+    PageDTO<EmployeeDTO> getEmployeesPage(String pageToken, int pageSize) throws RemoteException, HRMException;
+
     /**
      * Retrieves the full profile details for a single employee.
      *
@@ -160,7 +172,16 @@ public interface HRMService extends Remote {
 
     void deleteTrainingCourse(int courseId) throws RemoteException, HRMException;
 
-    void enrollMultipleEmployees(int courseId, List<Integer> employeeIds) throws RemoteException, HRMException;
+    /**
+     * Enrolls several employees in a training course. Employees that cannot be enrolled
+     * are rolled back individually; the others are kept.
+     *
+     * @param courseId The ID of the course to enroll in.
+     * @param employeeIds The IDs of the employees to enroll.
+     * @return The per-employee outcome: enrolled, skipped as already enrolled, or failed.
+     * @throws RemoteException if a communication-related error occurs.
+     */
+    BulkOperationResultDTO enrollMultipleEmployees(int courseId, List<Integer> employeeIds) throws RemoteException, HRMException;
 
     List<TrainingEnrollmentDTO> getEmployeeTrainingEnrollments(int employeeId) throws RemoteException, HRMException;
 
@@ -208,6 +229,18 @@ public interface HRMService extends Remote {
 
     List<LeaveApplicationDTO> getPendingLeaveRequests() throws RemoteException, HRMException;
 
+    /**
+     * Retrieves one page of pending leave requests, latest start date first.
+     *
+     * @param pageToken The {@link PageDTO#nextPageToken()} of the previous page, or null for the first page
+     * @param pageSize The maximum number of requests to return; the server caps very large pages
+     * @return A page of {@link LeaveApplicationDTO}'s with a token for the next page, if any
+     * @throws RemoteException If a communication-related error occurs
+     * @throws HRMException If the token is invalid or the page size is not positive
+     */
+    PageDTO<LeaveApplicationDTO> getPendingLeaveRequestsPage(String pageToken, int pageSize)
+            throws RemoteException, HRMException;
+
 
     void decideLeave(int leaveId, boolean approve, int hrUserId, String decisionReason)
             throws RemoteException, HRMException;
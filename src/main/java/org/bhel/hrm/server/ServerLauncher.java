@@ -78,6 +78,7 @@ public class ServerLauncher {
             try {
                 context.getPayrollSocketClient().shutdown();
                 registryManager.unbindService();
+                context.getDatabaseManager().shutdown();
 
                 logger.info("Server shutdown complete.");
             } catch (Exception e) {
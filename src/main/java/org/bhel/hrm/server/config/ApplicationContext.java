@@ -43,6 +43,8 @@ public class ApplicationContext {
     private final ExceptionMappingConfig exceptionMappingConfig;
     private final GlobalExceptionHandler globalExceptionHandler;
 
+    private final ReferenceData referenceData;
+
     // -------- DAOs --------
     private final UserDAO userDAO;
     private final EmployeeDAO employeeDAO;
@@ -72,19 +74,22 @@ public class ApplicationContext {
         this.errorMessageProvider = new ErrorMessageProvider();
         this.exceptionMappingConfig = new ExceptionMappingConfig();
 
-        this.databaseManager = new DatabaseManager(configuration);
+        this.databaseManager = new DatabaseManager(configuration, exceptionMappingConfig);
         this.globalExceptionHandler = new GlobalExceptionHandler(exceptionMappingConfig, errorMessageProvider);
 
         this.sslContextFactory = new SslContextFactory(configuration);
         this.cryptoUtils = new CryptoUtils(configuration);
         this.payrollSocketClient = new PayrollSocketClient(configuration, sslContextFactory, cryptoUtils);
 
+        // ---- Reference data (lookup tables, read once the schema is migrated) ----
+        this.referenceData = ReferenceData.load(databaseManager);
+
         // ---- DAOs ----
-        this.userDAO = new UserDAOImpl(databaseManager);
+        this.userDAO = new UserDAOImpl(databaseManager, referenceData);
         this.employeeDAO = new EmployeeDAOImpl(databaseManager);
-        this.trainingCourseDAO = new TrainingCourseDAOImpl(databaseManager);
-        this.trainingEnrollmentDAO = new TrainingEnrollmentDAOImpl(databaseManager);
-        this.leaveApplicationDAO = new LeaveApplicationDAOImpl(databaseManager);
+        this.trainingCourseDAO = new TrainingCourseDAOImpl(databaseManager, referenceData);
+        this.trainingEnrollmentDAO = new TrainingEnrollmentDAOImpl(databaseManager, referenceData);
+        this.leaveApplicationDAO = new LeaveApplicationDAOImpl(databaseManager, referenceData);
         this.benefitPlanDAO = new BenefitPlanDAOImpl(databaseManager);
         this.employeeBenefitDAO = new EmployeeBenefitDAOImpl(databaseManager);
 
@@ -93,7 +98,7 @@ public class ApplicationContext {
         this.userService = new UserService(databaseManager, userDAO, employeeDAO, payrollSocketClient);
         this.employeeService = new EmployeeService(databaseManager, employeeDAO, userDAO);
         this.trainingService = new TrainingService(databaseManager, trainingCourseDAO, trainingEnrollmentDAO);
-        this.dashboardService = new DashboardService(userDAO, employeeDAO);
+        this.dashboardService = new DashboardService(databaseManager, userDAO, employeeDAO);
 
         this.leaveService = new LeaveServiceImpl(leaveApplicationDAO, employeeDAO);
         this.benefitsService = new BenefitsServiceImpl(benefitPlanDAO, employeeBenefitDAO, employeeDAO);
@@ -129,6 +134,8 @@ public class ApplicationContext {
     public ExceptionMappingConfig getExceptionMappingConfig() { return exceptionMappingConfig; }
     public GlobalExceptionHandler getGlobalExceptionHandler() { return globalExceptionHandler; }
 
+    public ReferenceData getReferenceData() { return referenceData; }
+
     public UserDAO getUserDAO() { return userDAO; }
     public EmployeeDAO getEmployeeDAO() { return employeeDAO; }
     public LeaveApplicationDAO getLeaveApplicationDAO() { return leaveApplicationDAO; }
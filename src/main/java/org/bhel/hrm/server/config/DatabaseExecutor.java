@@ -0,0 +1,143 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.server.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking DAO calls off the calling thread, on a fixed set of threads sized to the
+ * primary connection pool.
+ * <p>
+ * More threads than connections would only queue up inside the pool, so extra work waits
+ * here instead, where the queue depth and the time spent waiting are visible. Tasks run
+ * under {@link DatabaseManager#inheritReadOnly}: submitted from inside a transaction they
+ * may read but not write, and they see committed data only.
+ * <p>
+ * Tasks must not block on other tasks of the same executor; with every thread waiting,
+ * nothing would be left to run the work they wait for.
+ */
+public final class DatabaseExecutor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseExecutor.class);
+
+    private final DatabaseManager dbManager;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+
+    /**
+     * @param dbManager The manager whose transaction context tasks inherit
+     * @param threads   The number of worker threads; normally the primary pool's maximum size
+     */
+    DatabaseExecutor(DatabaseManager dbManager, int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.dbManager = dbManager;
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            task -> {
+                Thread thread = new Thread(task, "db-executor-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    /**
+     * Runs a DAO call asynchronously.
+     *
+     * @param task The call to make; runtime exceptions (e.g. a DAO's {@code DataAccessException})
+     *             complete the future exceptionally
+     * @return A future completed with the call's result, on a database executor thread
+     */
+    public <R> CompletableFuture<R> supplyAsync(Supplier<R> task) {
+        Callable<R> inherited = dbManager.inheritReadOnly(task::get);
+        CompletableFuture<R> future = new CompletableFuture<>();
+        long submittedAt = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - submittedAt);
+                try {
+                    future.complete(inherited.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    executionTime.record(System.nanoTime() - startedAt);
+                }
+            });
+            peakQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Returns a snapshot of the executor's load.
+     *
+     * @return The current executor statistics
+     */
+    public Stats getStats() {
+        return new Stats(
+            executor.getMaximumPoolSize(),
+            executor.getActiveCount(),
+            executor.getQueue().size(),
+            peakQueueDepth.get(),
+            executor.getCompletedTaskCount(),
+            queueWait.snapshot(),
+            executionTime.snapshot()
+        );
+    }
+
+    /**
+     * Stops accepting work and waits briefly for queued tasks to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS))
+                logger.warn("Database executor did not finish {} queued task(s) before shutdown.", executor.shutdownNow().size());
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A point-in-time snapshot of a {@link DatabaseExecutor}'s load.
+     *
+     * @param threads        The number of worker threads
+     * @param active         Threads currently running a task
+     * @param queueDepth     Tasks currently waiting for a thread
+     * @param peakQueueDepth The deepest the queue has been since startup
+     * @param completed      Tasks finished since startup
+     * @param queueWait      Time tasks spent queued before they started
+     * @param executionTime  Time tasks spent running
+     */
+    public record Stats(
+        int threads,
+        int active,
+        int queueDepth,
+        int peakQueueDepth,
+        long completed,
+        LatencyHistogram.Snapshot queueWait,
+        LatencyHistogram.Snapshot executionTime
+    ) {}
+}
@@ -1,40 +1,122 @@
 package org.bhel.hrm.server.config;
 
 import org.bhel.hrm.common.config.Configuration;
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.error.ErrorContext;
+import org.bhel.hrm.common.error.ExceptionMappingConfig;
 import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.common.exceptions.OptimisticLockingFailureException;
+import org.bhel.hrm.server.config.migration.SchemaMigrator;
+import org.bhel.hrm.server.config.pool.ConnectionPool;
+import org.bhel.hrm.server.config.pool.ManagedConnection;
+import org.bhel.hrm.server.config.pool.PoolSettings;
+import org.bhel.hrm.server.config.pool.PoolStats;
+import org.bhel.hrm.server.config.pool.ReplicaRouter;
+import org.bhel.hrm.server.metrics.QueryMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class DatabaseManager {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
 
+    private static final String DEFAULT_OPERATION = "transaction";
+    private static final int SAVEPOINT_CHUNK_SIZE = 100;
+    private static final int DEFAULT_STREAM_FETCH_SIZE = 500;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final long DEFAULT_SLOW_QUERY_THRESHOLD_MS = 500;
+    private static final int SLOWEST_STATEMENTS_LOGGED = 10;
+
     private final Configuration config;
-    private final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+    private final ExceptionMappingConfig exceptionMapping;
+    private final RetryPolicy retryPolicy;
+    private final Map<String, LongAdder> retryCounts = new ConcurrentHashMap<>();
+    private final ConnectionPool primaryPool;
+    private final ReplicaRouter replicaRouter; // null when no replicas are configured
+    private final DatabaseExecutor executor;
+    private final QueryMetrics queryMetrics;
+    private final ThreadLocal<TransactionContext> currentTransaction = new ThreadLocal<>();
 
     public DatabaseManager(Configuration config) {
+        this(config, new ExceptionMappingConfig());
+    }
+
+    public DatabaseManager(Configuration config, ExceptionMappingConfig exceptionMapping) {
         this.config = config;
+        this.exceptionMapping = exceptionMapping;
+        this.retryPolicy = RetryPolicy.from(config);
+        this.primaryPool = new ConnectionPool(
+            "primary",
+            config.getDbUrl(),
+            config.getDbUser(),
+            config.getDbPassword(),
+            PoolSettings.from(config)
+        );
+        this.replicaRouter = createReplicaRouter(config);
+        this.executor = new DatabaseExecutor(this, primaryPool.getStats().maxSize());
+        long slowQueryThreshold = config.getDbSlowQueryThresholdMillis();
+        this.queryMetrics = new QueryMetrics(slowQueryThreshold > 0 ? slowQueryThreshold : DEFAULT_SLOW_QUERY_THRESHOLD_MS);
         initializeDatabase();
     }
 
     /**
      * Gets a connection. If a transaction is active on the current thread,
-     * returns the transaction's connection; otherwise, returns a new connection.
+     * returns the transaction's connection; otherwise, borrows one from the pool.
+     * <p>
+     * Non-transactional connections must be handed back through
+     * {@link #releaseConnection(Connection)} (or closed) once the caller is done.
      *
      * @return A database connection; never null
-     * @throws SQLException If a database access error occurs
+     * @throws SQLException If a database access error occurs or the pool is exhausted
      */
     public Connection getConnection() throws SQLException {
-        Connection conn = transactionConnection.get();
-        if (conn != null)
-            return conn; // Returns an existing transaction connection
+        TransactionContext tx = currentTransaction.get();
+        if (tx != null && tx.isChild())
+            throw new SQLException("Writes are not allowed in a task forked from a transaction; run them in the parent.");
 
-        // Returns a new connection for a single, non-transactional operation
-        return DriverManager.getConnection(config.getDbUrl(), config.getDbUser(), config.getDbPassword());
+        if (tx != null)
+            return flushed(tx); // Returns an existing transaction connection
+
+        // Borrows a pooled connection for a single, non-transactional operation
+        return primaryPool.borrow();
+    }
+
+    /**
+     * Gets a connection for read-only work.
+     * <p>
+     * Inside a transaction this is the transaction's connection, so reads see the
+     * transaction's own writes. Otherwise, the read is routed to a healthy read replica
+     * when one is configured, falling back to the primary when every replica is stale
+     * or unreachable. Tasks forked from a transaction borrow their own connection the
+     * same way. The connection must be released like any other.
+     *
+     * @return A database connection; never null
+     * @throws SQLException If a database access error occurs or the pool is exhausted
+     */
+    public Connection getReadConnection() throws SQLException {
+        TransactionContext tx = currentTransaction.get();
+        if (tx != null && !tx.isChild())
+            return flushed(tx);
+
+        return borrowForRead();
     }
 
     /**
@@ -47,8 +129,9 @@ public final class DatabaseManager {
          * Executes the transactional work.
          *
          * @throws HRMException If a business rule or data validation error occurs
+         * @throws SQLException If nested transaction management fails, e.g. a savepoint or a flush
          */
-        void execute() throws HRMException;
+        void execute() throws HRMException, SQLException;
     }
 
     /**
@@ -58,36 +141,461 @@ public final class DatabaseManager {
      * @param task The block of code to execute transactionally; must not be null
      * @throws SQLException If a database error occurs during transaction management
      * @throws HRMException If the task throws an HRM specific exception.
+     * @see #executeInTransaction(String, TransactionalTask)
      */
     public void executeInTransaction(TransactionalTask task) throws SQLException, HRMException {
-        beginTransaction();
+        executeInTransaction(DEFAULT_OPERATION, task);
+    }
+
+    /**
+     * Executes a given task within a managed database transaction, re-running it when
+     * it fails on a transient lock conflict (deadlock, lock wait timeout).
+     * <p>
+     * Which failures are retryable is decided by {@link ExceptionMappingConfig#isRetryable(Throwable)};
+     * how often and with what backoff by the configured {@link RetryPolicy}. Because the whole task
+     * runs again, it must not have side effects outside the database.
+     *
+     * @param operation A short name for the work (e.g. {@code training.enroll}), used for retry counters
+     * @param task      The block of code to execute transactionally; must not be null
+     * @throws SQLException If a database error occurs during transaction management
+     * @throws HRMException If the task throws an HRM specific exception.
+     */
+    public void executeInTransaction(String operation, TransactionalTask task) throws SQLException, HRMException {
+        runInTransaction(operation, false, task);
+    }
+
+    /**
+     * Executes a task in a transaction, like {@link #executeInTransaction(String, TransactionalTask)},
+     * but in unit-of-work mode: DAO inserts, updates and deletes are queued instead of being
+     * executed one round trip at a time, and are sent as JDBC batches (one per run of writes
+     * with the same SQL) just before commit.
+     * <p>
+     * The queue is also flushed before any other statement runs on the transaction's connection,
+     * so reads inside the task still see the task's own writes. Generated ids are assigned to
+     * queued entities only when their batch is flushed; call {@link #flush()} first when a
+     * later write needs one.
+     *
+     * @param operation A short name for the work, used for retry counters
+     * @param task      The block of code to execute transactionally; must not be null
+     * @throws SQLException If a database error occurs during transaction management or flushing
+     * @throws HRMException If the task throws an HRM specific exception.
+     */
+    public void executeInUnitOfWork(String operation, TransactionalTask task) throws SQLException, HRMException {
+        runInTransaction(operation, true, task);
+    }
+
+    /**
+     * Sends the current unit of work's queued writes to the database now.
+     * Does nothing outside unit-of-work mode.
+     *
+     * @throws SQLException If a queued write fails
+     */
+    public void flush() throws SQLException {
+        TransactionContext tx = currentTransaction.get();
+        if (tx != null)
+            flushed(tx);
+    }
+
+    private void runInTransaction(String operation, boolean unitOfWork, TransactionalTask task) throws SQLException, HRMException {
+        for (int attempt = 1; ; attempt++) {
+            beginTransaction(unitOfWork);
+            try {
+                task.execute();
+                commitTransaction();
+                return;
+            } catch (Exception e) {
+                rollbackTransaction();
+
+                if (retryPolicy.canRetry(attempt) && exceptionMapping.isRetryable(e) && backOff(operation, attempt, e))
+                    continue;
+
+                throw asTransactionFailure(e);
+            }
+        }
+    }
+
+    /**
+     * Runs part of the active transaction under a savepoint. If the task fails, only its own
+     * writes are rolled back and the failure is rethrown; the transaction stays usable and
+     * everything written before the savepoint is kept.
+     * <p>
+     * Lock conflicts are the exception: InnoDB rolls back the whole transaction on a deadlock,
+     * so they are rethrown untouched and left to the retry in {@link #executeInTransaction}.
+     * In unit-of-work mode, queued writes are flushed on both sides of the task so that its
+     * writes, and only its writes, fall inside the savepoint.
+     *
+     * @param task The work to isolate; must not be null
+     * @throws SQLException If no transaction is active, or the task fails with a database error
+     * @throws HRMException If the task throws an HRM specific exception.
+     */
+    public void executeInSavepoint(TransactionalTask task) throws SQLException, HRMException {
+        TransactionContext tx = currentTransaction.get();
+        if (tx == null || tx.isChild() || tx.isReadOnly())
+            throw new SQLException("Savepoints require an active read-write transaction on this thread.");
+
+        Savepoint savepoint = flushed(tx).setSavepoint();
         try {
             task.execute();
-            commitTransaction();
+            flushed(tx).releaseSavepoint(savepoint);
+        } catch (Exception e) {
+            if (!exceptionMapping.isRetryable(e))
+                rollbackToSavepoint(tx, savepoint);
+
+            throw asTransactionFailure(e);
+        }
+    }
+
+    /**
+     * A functional interface representing transactional work done for one item of a bulk operation.
+     *
+     * @param <T> The type of the items
+     */
+    @FunctionalInterface
+    public interface ItemTask<T> {
+        /**
+         * Executes the work for a single item.
+         *
+         * @param item The item to process
+         * @throws HRMException If a business rule or data validation error occurs
+         */
+        void execute(T item) throws HRMException;
+    }
+
+    /**
+     * Runs a task for every item of a bulk operation inside the active transaction, rolling
+     * back only the items that fail instead of the whole batch.
+     * <p>
+     * Items are processed in chunks of {@value #SAVEPOINT_CHUNK_SIZE}, each under one savepoint,
+     * so a unit of work still sends a chunk's writes as a batch. When a chunk fails, it is rolled
+     * back and replayed one item per savepoint to find the failing items; the task therefore
+     * may run twice for an item and must not have side effects outside the database.
+     * Lock conflicts abort the whole call, as in {@link #executeInSavepoint(TransactionalTask)}.
+     *
+     * @param items The items to process, in order
+     * @param task  The work to do for each item; must not be null
+     * @return The failure of every item that was rolled back, in item order; empty when all succeeded
+     * @throws SQLException If no transaction is active, or a lock conflict aborts the transaction
+     * @throws HRMException If a lock conflict surfaces as an HRM specific exception
+     */
+    public <T> Map<T, Exception> executeEachInSavepoint(List<T> items, ItemTask<T> task) throws SQLException, HRMException {
+        Map<T, Exception> failures = new LinkedHashMap<>();
+
+        for (int from = 0; from < items.size(); from += SAVEPOINT_CHUNK_SIZE) {
+            List<T> chunk = items.subList(from, Math.min(from + SAVEPOINT_CHUNK_SIZE, items.size()));
+            try {
+                executeInSavepoint(() -> {
+                    for (T item : chunk)
+                        task.execute(item);
+                });
+                continue;
+            } catch (SQLException | HRMException e) {
+                if (exceptionMapping.isRetryable(e))
+                    throw e;
+            }
+
+            for (T item : chunk) {
+                try {
+                    executeInSavepoint(() -> task.execute(item));
+                } catch (SQLException | HRMException e) {
+                    if (exceptionMapping.isRetryable(e))
+                        throw e;
+
+                    failures.put(item, e);
+                }
+            }
+        }
+
+        return failures;
+    }
+
+    /**
+     * Resolves the error code a failed item of a bulk operation is reported with. Database
+     * errors are translated through the configured {@link ExceptionMappingConfig}, so that,
+     * for example, a missing foreign key reads as {@link ErrorCode#DB_FOREIGN_KEY_VIOLATION}
+     * rather than a generic system error.
+     *
+     * @param failure   A failure returned by {@link #executeEachInSavepoint(List, ItemTask)}
+     * @param operation The operation name used when translating database errors
+     * @return The most specific error code found in the failure's cause chain
+     */
+    public ErrorCode resolveErrorCode(Exception failure, String operation) {
+        for (Throwable t = failure; t != null && t.getCause() != t; t = t.getCause()) {
+            if (t instanceof HRMException hrmException && hrmException.getErrorCode() != ErrorCode.SYSTEM_ERROR)
+                return hrmException.getErrorCode();
+
+            if (t instanceof SQLException sqlException)
+                return exceptionMapping.translate(sqlException, ErrorContext.forOperation(operation)).getErrorCode();
+        }
+
+        return ErrorCode.SYSTEM_ERROR;
+    }
+
+    /**
+     * Undoes everything done since the savepoint: discards queued writes that were never sent
+     * and forgets loaded entities, since some of them may hold state that was just rolled back.
+     */
+    private static void rollbackToSavepoint(TransactionContext tx, Savepoint savepoint) throws SQLException {
+        tx.unitOfWork().ifPresent(UnitOfWork::discard);
+        tx.clear();
+        tx.connection().rollback(savepoint);
+        logger.debug("Rolled back to savepoint for Thread [{}]", Thread.currentThread().getName());
+    }
+
+    /**
+     * A functional interface representing read-only work that produces a result.
+     *
+     * @param <R> The type of the result
+     */
+    @FunctionalInterface
+    public interface ReadOnlyTask<R> {
+        /**
+         * Executes the read-only work.
+         *
+         * @return The result of the work
+         * @throws HRMException If a business rule or data validation error occurs
+         * @throws SQLException If the work uses a connection directly and it fails
+         */
+        R execute() throws HRMException, SQLException;
+    }
+
+    /**
+     * Executes a read-only task in a single {@code REPEATABLE READ} transaction,
+     * so every query in it sees the same consistent snapshot.
+     *
+     * @see #executeReadOnly(int, ReadOnlyTask)
+     */
+    public <R> R executeReadOnly(ReadOnlyTask<R> task) throws SQLException, HRMException {
+        return executeReadOnly(Connection.TRANSACTION_REPEATABLE_READ, task);
+    }
+
+    /**
+     * Executes a read-only task in a single read-only transaction at the given isolation level.
+     * <p>
+     * The connection is marked read-only, which lets InnoDB skip transaction id allocation and
+     * keeps report queries from holding back undo purge longer than they need to. Use
+     * {@link Connection#TRANSACTION_REPEATABLE_READ} when all queries must agree with each
+     * other, or {@link Connection#TRANSACTION_READ_COMMITTED} when each query only needs to
+     * see committed data. The work may be served by a read replica.
+     * <p>
+     * If a transaction is already active on this thread, or the task was forked from one,
+     * it simply joins it.
+     *
+     * @param isolationLevel One of the {@code Connection.TRANSACTION_*} constants
+     * @param task           The queries to run; must not write
+     * @return The task's result
+     * @throws SQLException If a database error occurs during transaction management
+     * @throws HRMException If the task throws an HRM specific exception.
+     */
+    public <R> R executeReadOnly(int isolationLevel, ReadOnlyTask<R> task) throws SQLException, HRMException {
+        if (currentTransaction.get() != null)
+            return task.execute();
+
+        return runReadOnly(borrowForRead(), isolationLevel, task);
+    }
+
+    /**
+     * Executes a read-only task like {@link #executeReadOnly(int, ReadOnlyTask)}, at
+     * {@code READ COMMITTED}, but always on the primary.
+     * <p>
+     * Use this for reads that must see the latest committed data, such as the version an
+     * optimistic update is about to be conditioned on: a replica may not yet have the
+     * previous write the same user made moments earlier.
+     *
+     * @param task The queries to run; must not write
+     * @return The task's result
+     * @throws SQLException If a database error occurs during transaction management
+     * @throws HRMException If the task throws an HRM specific exception.
+     */
+    public <R> R executeReadOnlyOnPrimary(ReadOnlyTask<R> task) throws SQLException, HRMException {
+        if (currentTransaction.get() != null)
+            return task.execute();
+
+        return runReadOnly(primaryPool.borrow(), Connection.TRANSACTION_READ_COMMITTED, task);
+    }
+
+    private <R> R runReadOnly(ManagedConnection conn, int isolationLevel, ReadOnlyTask<R> task) throws SQLException, HRMException {
+        TransactionContext tx = new TransactionContext(conn, true, null);
+        try {
+            conn.setReadOnly(true);
+            conn.setTransactionIsolation(isolationLevel);
+            conn.setAutoCommit(false);
+            conn.setPinned(true);
+            currentTransaction.set(tx);
+
+            R result = task.execute();
+            conn.commit();
+            return result;
         } catch (Exception e) {
-            rollbackTransaction();
-            switch (e) {
-                case HRMException hrmException -> throw hrmException;
-                case SQLException sqlException -> throw sqlException;
-                default -> throw new HRMException("Unexpected error in transaction", e);
+            try {
+                conn.rollback();
+            } catch (SQLException suppressed) {
+                logger.warn("Error ending read-only transaction.", suppressed);
             }
+            throw asTransactionFailure(e);
+        } finally {
+            currentTransaction.remove();
+            tx.clear();
+            conn.setPinned(false);
+            conn.close(); // The pool restores read-only, isolation and auto-commit
         }
     }
 
     /**
-     * Starts a new transaction on the current thread.
+     * Wraps a read-only task so it can run on another thread, typically a virtual thread,
+     * under a child of the transaction that is active when this method is called.
+     * <p>
+     * The child context is read-only: DAO writes fail, and reads borrow their own pooled
+     * connection (or a replica) per query instead of sharing the parent's, because a JDBC
+     * connection must not be used from several threads. Consequently, a forked task sees
+     * committed data only, not the parent's uncommitted writes. The binding is scoped to
+     * the returned callable and removed when it returns.
+     * <p>
+     * When no transaction is active, the task runs with no context at all.
+     *
+     * @param task The read-only work to fork
+     * @return A callable that runs {@code task} under the inherited context
+     */
+    public <R> Callable<R> inheritReadOnly(ReadOnlyTask<R> task) {
+        TransactionContext parent = currentTransaction.get();
+        TransactionContext child = parent == null ? null : parent.child();
+
+        return () -> {
+            TransactionContext previous = currentTransaction.get();
+            currentTransaction.set(child);
+            try {
+                return task.execute();
+            } finally {
+                if (previous == null)
+                    currentTransaction.remove();
+                else
+                    currentTransaction.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Runs independent read-only tasks concurrently, one virtual thread each, and waits
+     * for all of them. Each task inherits the current transaction as described in
+     * {@link #inheritReadOnly(ReadOnlyTask)}. If any task fails, the others are cancelled
+     * and the first failure is rethrown; no task outlives this call.
+     *
+     * @param tasks The tasks to run
+     * @return The results, in the same order as {@code tasks}
+     * @throws SQLException If a task fails with a database error
+     * @throws HRMException If a task fails otherwise, or the calling thread is interrupted
+     */
+    public <R> List<R> forkReadOnly(List<ReadOnlyTask<R>> tasks) throws SQLException, HRMException {
+        List<Future<R>> futures = new ArrayList<>(tasks.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ReadOnlyTask<R> task : tasks)
+                futures.add(executor.submit(inheritReadOnly(task)));
+
+            try {
+                List<R> results = new ArrayList<>(futures.size());
+                for (Future<R> future : futures)
+                    results.add(future.get());
+
+                return results;
+            } catch (ExecutionException | InterruptedException e) {
+                futures.forEach(future -> future.cancel(true)); // Before close() waits for them
+                throw e;
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause)
+                throw asTransactionFailure(cause);
+
+            throw new HRMException("Forked task failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HRMException("Interrupted while waiting for forked tasks", e);
+        }
+    }
+
+    /**
+     * Rethrows a transaction failure as-is when it is already a checked exception the
+     * callers declare, otherwise wraps it. Optimistic locking conflicts keep their error code.
+     */
+    private static HRMException asTransactionFailure(Exception e) throws SQLException {
+        return switch (e) {
+            case HRMException hrmException -> hrmException;
+            case OptimisticLockingFailureException conflict -> conflict.toHRMException();
+            case SQLException sqlException -> throw sqlException;
+            default -> new HRMException("Unexpected error in transaction", e);
+        };
+    }
+
+    /**
+     * Flushes the transaction's queued writes, if any, and returns its connection.
+     */
+    private static Connection flushed(TransactionContext tx) throws SQLException {
+        ManagedConnection conn = tx.connection();
+        Optional<UnitOfWork> unitOfWork = tx.unitOfWork();
+
+        if (unitOfWork.isPresent() && unitOfWork.get().hasPendingWrites())
+            unitOfWork.get().flush(conn);
+
+        return conn;
+    }
+
+    private ManagedConnection borrowForRead() throws SQLException {
+        if (replicaRouter != null) {
+            ManagedConnection replica = replicaRouter.borrow();
+            if (replica != null)
+                return replica;
+        }
+
+        return primaryPool.borrow();
+    }
+
+    /**
+     * Returns how many times each named operation has been retried since startup.
+     *
+     * @return A read-only snapshot of retry counts keyed by operation name
+     */
+    public Map<String, Long> getTransactionRetryCounts() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        retryCounts.forEach((operation, count) -> snapshot.put(operation, count.sum()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Records a retry and sleeps for the policy's backoff.
+     *
+     * @return {@code false} if the thread was interrupted and the retry should be abandoned
+     */
+    private boolean backOff(String operation, int failedAttempt, Exception cause) {
+        retryCounts.computeIfAbsent(operation, k -> new LongAdder()).increment();
+
+        long backoff = retryPolicy.backoffMillis(failedAttempt);
+        logger.warn("Transaction '{}' hit a lock conflict on attempt {}/{}; retrying in {}ms: {}",
+            operation, failedAttempt, retryPolicy.maxAttempts(), backoff, cause.getMessage());
+
+        try {
+            TimeUnit.MILLISECONDS.sleep(backoff);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Starts a new transaction on the current thread. Transactions are only opened
+     * by {@link #runInTransaction}, which guarantees they are ended on every path.
      *
      * @throws SQLException If a transaction is already active or connection fails
      */
-    public void beginTransaction() throws SQLException {
-        if (transactionConnection.get() != null)
+    private void beginTransaction(boolean unitOfWork) throws SQLException {
+        if (currentTransaction.get() != null)
             throw new SQLException("Transaction is already active on this thread.");
 
-        Connection conn = DriverManager.getConnection(config.getDbUrl(), config.getDbUser(), config.getDbPassword());
+        ManagedConnection conn = primaryPool.borrow();
         try {
             conn.setAutoCommit(false);
+            conn.setPinned(true); // DAOs that close what they are given must not end the transaction
 
-            transactionConnection.set(conn);
+            currentTransaction.set(new TransactionContext(conn, false, unitOfWork ? new UnitOfWork() : null));
             logger.debug("Transaction started for Thread [{}]", Thread.currentThread().getName());
         } catch (SQLException e) {
             try {
@@ -95,6 +603,7 @@ public final class DatabaseManager {
             } catch (SQLException suppressed) {
                 logger.warn("Error closing tx connection after begin failure.", suppressed);
             }
+            throw e;
         }
     }
 
@@ -103,12 +612,12 @@ public final class DatabaseManager {
      *
      * @throws SQLException If a database error occurs during commit
      */
-    public void commitTransaction() throws SQLException {
-        Connection conn = transactionConnection.get();
+    private void commitTransaction() throws SQLException {
+        TransactionContext tx = currentTransaction.get();
 
-        if (conn != null) {
+        if (tx != null) {
             try {
-                conn.commit();
+                flushed(tx).commit();
                 logger.debug("Transaction committed for Thread [{}]", Thread.currentThread().getName());
             } finally {
                 closeTransactionConnection();
@@ -119,12 +628,13 @@ public final class DatabaseManager {
     /**
      * Rolls back the active transaction if one is in progress.
      */
-    public void rollbackTransaction() {
-        Connection conn = transactionConnection.get();
+    private void rollbackTransaction() {
+        TransactionContext tx = currentTransaction.get();
 
-        if (conn != null) {
+        if (tx != null) {
+            tx.unitOfWork().ifPresent(UnitOfWork::discard);
             try {
-                conn.rollback();
+                tx.connection().rollback();
                 logger.warn("Transaction rolled back for Thread [{}]", Thread.currentThread().getName());
             } catch (SQLException e) {
                 logger.error("Error during transaction rollback.", e);
@@ -135,14 +645,15 @@ public final class DatabaseManager {
     }
 
     /**
-     * Releases a non-transactional connection.
+     * Releases a non-transactional connection back to the pool.
+     * The active transaction's connection is left untouched.
      *
      * @param conn The connection to release; may be null
      */
     public void releaseConnection(Connection conn) {
-        Connection tx = transactionConnection.get();
+        TransactionContext tx = currentTransaction.get();
 
-        if (conn != null && conn != tx) {
+        if (conn != null && (tx == null || conn != tx.connection())) {
             try {
                 conn.close();
             } catch (SQLException e) {
@@ -157,350 +668,155 @@ public final class DatabaseManager {
      * @return {@code true} if a transaction is active, false otherwise
      */
     public boolean isTransactionActive() {
-        return transactionConnection.get() != null;
+        return currentTransaction.get() != null;
+    }
+
+    /**
+     * Returns the transaction active on the current thread, if any. DAOs use it
+     * to reach the transaction's identity map.
+     *
+     * @return The current transaction context, or an empty Optional outside a transaction
+     */
+    public Optional<TransactionContext> currentTransaction() {
+        return Optional.ofNullable(currentTransaction.get());
+    }
+
+    /**
+     * Returns a snapshot of the primary connection pool's occupancy.
+     *
+     * @return The current pool statistics
+     */
+    public PoolStats getPoolStats() {
+        return primaryPool.getStats();
+    }
+
+    /**
+     * Returns a snapshot of every read replica pool's occupancy.
+     *
+     * @return The replica pool statistics; empty when no replicas are configured
+     */
+    public List<PoolStats> getReplicaPoolStats() {
+        return replicaRouter == null ? List.of() : replicaRouter.getStats();
+    }
+
+    /**
+     * Returns the number of rows a streamed query fetches per round trip.
+     *
+     * @return The configured {@code db.stream.fetch.size}, or a default when it is not positive
+     */
+    public int getStreamFetchSize() {
+        int fetchSize = config.getDbStreamFetchSize();
+        return fetchSize > 0 ? fetchSize : DEFAULT_STREAM_FETCH_SIZE;
+    }
+
+    /**
+     * Returns the number of rows a DAO batch insert or update sends per JDBC batch.
+     *
+     * @return The configured {@code db.batch.size}, or a default when it is not positive
+     */
+    public int getBatchSize() {
+        int batchSize = config.getDbBatchSize();
+        return batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Returns the executor for running DAO calls asynchronously. It has one
+     * thread per connection in the primary pool.
+     *
+     * @return The shared database executor
+     */
+    public DatabaseExecutor getExecutor() {
+        return executor;
     }
 
     /**
-     * Closes the transactional connection and removes it from ThreadLocal.
+     * Returns the per-statement latency and row counts recorded by the DAO templates.
+     *
+     * @return The shared query metrics
+     */
+    public QueryMetrics getQueryMetrics() {
+        return queryMetrics;
+    }
+
+    /**
+     * Closes the database executor and the connection pools. Intended for server shutdown.
+     * The executor's queue figures and the primary pool's acquire-wait and hold-time
+     * figures are logged first so they can be used to size the pool, along with the
+     * statements that took the most total time.
+     */
+    public void shutdown() {
+        queryMetrics.snapshot().stream()
+            .limit(SLOWEST_STATEMENTS_LOGGED)
+            .forEach(statement -> logger.info("Statement time: {}", statement));
+
+
+        DatabaseExecutor.Stats executorStats = executor.getStats();
+        logger.info("Database executor queue wait: {} (peak depth {})", executorStats.queueWait(), executorStats.peakQueueDepth());
+        logger.info("Database executor execution time: {}", executorStats.executionTime());
+        executor.close();
+
+        PoolStats stats = primaryPool.getStats();
+        logger.info("Pool '{}' acquire wait: {}", stats.poolName(), stats.acquireWait());
+        logger.info("Pool '{}' hold time: {}", stats.poolName(), stats.holdTime());
+
+        if (replicaRouter != null)
+            replicaRouter.close();
+
+        primaryPool.close();
+    }
+
+    private static ReplicaRouter createReplicaRouter(Configuration config) {
+        List<String> replicaUrls = config.getDbReplicaUrls();
+
+        if (replicaUrls == null || replicaUrls.isEmpty())
+            return null;
+
+        return new ReplicaRouter(
+            replicaUrls,
+            config.getDbUser(),
+            config.getDbPassword(),
+            PoolSettings.from(config),
+            config.getDbReplicaMaxLagSeconds(),
+            config.getDbReplicaLagCheckIntervalMillis()
+        );
+    }
+
+    /**
+     * Returns the transactional connection to the pool, discards the identity map
+     * and removes the context from ThreadLocal.
      */
     private void closeTransactionConnection() {
-        Connection conn = transactionConnection.get();
+        TransactionContext tx = currentTransaction.get();
 
-        if (conn != null) {
+        if (tx != null) {
+            ManagedConnection conn = tx.connection();
             try {
+                if (tx.identityMapHits() > 0)
+                    logger.debug("Identity map saved {} lookup(s) in this transaction.", tx.identityMapHits());
+
+                tx.clear();
+                conn.setPinned(false);
                 conn.close();
             } catch (SQLException e) {
                 logger.error("Error closing transaction connection.", e);
             } finally {
-                transactionConnection.remove(); // Cleans up the ThreadLocal
+                currentTransaction.remove(); // Cleans up the ThreadLocal
             }
         }
     }
 
     /**
-     * Initializes the database schema.
+     * Brings the database schema up to date through the versioned migrations in
+     * {@link SchemaMigrator}. When the schema is already current this is a single
+     * query against {@code schema_version}.
      */
     private void initializeDatabase() {
-        try (Connection conn = getConnection(); Statement stmt = conn.createStatement()) {
-            createHRMTables(stmt);
-            logger.info("Database connection successful. Database schema initialized successfully.");
+        try (Connection conn = getConnection()) {
+            int applied = SchemaMigrator.fromClasspath().migrate(conn);
+            logger.info("Database connection successful. Database schema is up to date ({} migration(s) applied).", applied);
         } catch (SQLException e) {
             logger.error("FATAL: Database schema initialization failed!");
             logger.error(e.toString());
         }
     }
-
-    /**
-     * Creates all HRM (Human Resource Management) database tables and populates lookup tables with initial data.
-     * <p>
-     * This method creates the following table groups in order:
-     * <ol>
-     *   <li>User authentication tables: {@code user_roles}, {@code users}</li>
-     *   <li>Employee information table: {@code employees}</li>
-     *   <li>Leave management tables: {@code leave_application_types}, {@code leave_application_statuses}, {@code leave_applications}</li>
-     *   <li>Training courses table: {@code training_courses}</li>
-     *   <li>Benefits management table: {@code benefit_plans}</li>
-     *   <li>Recruitment tables: {@code job_opening_statuses}, {@code job_openings}, {@code applicant_statuses}, {@code applicants}</li>
-     * </ol>
-     *
-     * All tables use the {@code IF NOT EXISTS} clause to allow safe re-execution.
-     * Lookup tables are populated with predefined values using {@code INSERT IGNORE} to prevent duplicate entries.
-     *
-     * @param stmt The SQL Statement object used to execute DDL commands
-     * @throws SQLException If a database access error occurs or table creation fails
-     */
-    private void createHRMTables(Statement stmt) throws SQLException {
-        // 1. Users and UserRoles table
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS user_roles (
-                id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-                name VARCHAR(20) NOT NULL UNIQUE,
-                sort_order TINYINT NOT NULL DEFAULT 0
-            )
-        """);
-
-        stmt.execute("""
-            INSERT IGNORE INTO user_roles (id, name, sort_order) VALUES
-            (1, 'hr_staff', 1),
-            (2, 'employee', 2)
-        """);
-
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS users (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                username VARCHAR(255) NOT NULL UNIQUE,
-                password_hash VARCHAR(255) NOT NULL,
-                role_id TINYINT UNSIGNED NOT NULL,
-                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-
-                CONSTRAINT fk_users_role_id
-                    FOREIGN KEY (role_id) REFERENCES user_roles(id)
-                    ON UPDATE CASCADE
-                    ON DELETE RESTRICT
-            );
-        """);
-
-        // 2. Employees Table
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS employees (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                user_id INT NOT NULL,
-                first_name VARCHAR(255) NOT NULL,
-                last_name VARCHAR(255) NOT NULL,
-                ic_passport VARCHAR(255) NOT NULL UNIQUE,
-                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-
-                CONSTRAINT uk_employees_first_last UNIQUE (first_name, last_name),
-
-                CONSTRAINT fk_employees_employee_id
-                    FOREIGN KEY (user_id) REFERENCES users(id)
-                    ON UPDATE CASCADE
-                    ON DELETE RESTRICT
-            )
-        """);
-
-        // 3. LeaveApplications, LeaveApplicationTypes, and LeaveApplicationStatuses Table
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS leave_application_types (
-                id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-                name VARCHAR(20) NOT NULL UNIQUE,
-                sort_order TINYINT NOT NULL DEFAULT 0
-            )
-        """);
-
-        stmt.execute("""
-            INSERT IGNORE INTO leave_application_types (id, name, sort_order) VALUES
-            (1, 'annual', 1),
-            (2, 'sick', 2),
-            (3, 'unpaid', 3)
-        """);
-
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS leave_application_statuses (
-                id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-                name VARCHAR(20) NOT NULL UNIQUE,
-                sort_order TINYINT NOT NULL DEFAULT 0
-            )
-        """);
-
-        stmt.execute("""
-            INSERT IGNORE INTO leave_application_statuses (id, name, sort_order) VALUES
-            (1, 'pending', 1),
-            (2, 'approved', 2),
-            (3, 'rejected', 3)
-        """);
-
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS leave_applications (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                employee_id INT NOT NULL,
-                start_date_time DATETIME NOT NULL,
-                end_date_time DATETIME NOT NULL,
-                type_id TINYINT UNSIGNED NOT NULL,
-                status_id TINYINT UNSIGNED NOT NULL,
-                reason TEXT,
-                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-        
-                CONSTRAINT fk_leave_applications_employee_id
-                    FOREIGN KEY (employee_id) REFERENCES employees(id)
-                    ON UPDATE CASCADE
-                    ON DELETE CASCADE,
-
-                CONSTRAINT fk_leave_applications_type_id
-                    FOREIGN KEY (type_id) REFERENCES leave_application_types(id)
-                    ON UPDATE CASCADE
-                    ON DELETE RESTRICT,
-
-                CONSTRAINT fk_leave_applications_status_id
-                    FOREIGN KEY (status_id) REFERENCES leave_application_statuses(id)
-                    ON UPDATE CASCADE
-                    ON DELETE RESTRICT
-            )
-        """);
-
-        // 4.1 Departments Lookup Table (NEW)
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS departments (
-                id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-                name VARCHAR(50) NOT NULL UNIQUE,
-                sort_order TINYINT NOT NULL DEFAULT 0
-            )
-        """);
-        // Seed departments
-        stmt.execute("""
-            INSERT IGNORE INTO departments (name, sort_order) VALUES
-            ('IT', 1), ('HR', 2), ('Finance', 3), ('Operations', 4), ('Sales', 5)
-        """);
-
-        // 4. TrainingCourses Table
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS training_courses (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                title VARCHAR(255) NOT NULL,
-                description TEXT,
-                duration_in_hours INT,
-                department_id TINYINT UNSIGNED NOT NULL,
-        
-                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-        
-                CONSTRAINT fk_courses_department_id
-                    FOREIGN KEY (department_id) REFERENCES departments(id)
-                    ON UPDATE CASCADE ON DELETE RESTRICT
-            )
-        """);
-
-        // 5. BenefitPlans Table
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS benefit_plans (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                plan_name VARCHAR(255) NOT NULL,
-                provider VARCHAR(255),
-                description TEXT,
-                cost_per_month DECIMAL(10, 2),
-                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
-            )
-        """);
-
-        stmt.execute("""
-            CREATE TABLE employee_benefits (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                employee_id INT NOT NULL,
-                plan_id INT NOT NULL,
-                enrolled_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-
-                UNIQUE KEY uq_employee_plan (employee_id, plan_id),
-
-                CONSTRAINT fk_employee_benefits_employee
-                    FOREIGN KEY (employee_id) REFERENCES employees(id)
-                    ON DELETE CASCADE,
-
-                CONSTRAINT fk_employee_benefits_plan
-                    FOREIGN KEY (plan_id) REFERENCES benefit_plans(id)
-                    ON DELETE CASCADE
-           )
-        """);
-
-        // 6. JobOpenings, and JobOpeningStatuses Table
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS job_opening_statuses (
-                id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-                name VARCHAR(20) NOT NULL UNIQUE,
-                sort_order TINYINT NOT NULL DEFAULT 0
-            )
-        """);
-
-        stmt.execute("""
-            INSERT IGNORE INTO job_opening_statuses (id, name, sort_order) VALUES
-            (1, 'open', 1),
-            (2, 'closed', 2),
-            (3, 'on_hold', 3)
-        """);
-
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS job_openings (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                title VARCHAR(255) NOT NULL,
-                description TEXT,
-                department_id TINYINT UNSIGNED NOT NULL,
-                status_id TINYINT UNSIGNED NOT NULL,
-                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-
-                CONSTRAINT fk_job_openings_status_id
-                    FOREIGN KEY (status_id) REFERENCES job_opening_statuses(id)
-                    ON UPDATE CASCADE
-                    ON DELETE RESTRICT,
-
-                CONSTRAINT fk_job_openings_department_id
-                    FOREIGN KEY (department_id) REFERENCES departments(id)
-                    ON UPDATE CASCADE 
-                    ON DELETE RESTRICT
-            )
-        """);
-
-        // 7. Applicants, and ApplicantStatuses Table
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS applicant_statuses (
-                id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-                name VARCHAR(20) NOT NULL UNIQUE,
-                sort_order TINYINT NOT NULL DEFAULT 0
-            )
-        """);
-
-        stmt.execute("""
-            INSERT IGNORE INTO applicant_statuses (id, name, sort_order) VALUES
-            (1, 'new', 1),
-            (2, 'screening', 2),
-            (3, 'interviewing', 3),
-            (4, 'offered', 4),
-            (5, 'hired', 5),
-            (6, 'rejected', 6)
-        """);
-
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS applicants (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                job_opening_id INT NOT NULL,
-                full_name VARCHAR(255) NOT NULL,
-                email VARCHAR(255) NOT NULL,
-                phone VARCHAR(50),
-                status_id TINYINT UNSIGNED NOT NULL,
-                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-
-                CONSTRAINT fk_applicants_job_opening_id
-                    FOREIGN KEY (job_opening_id) REFERENCES job_openings(id)
-                    ON UPDATE CASCADE
-                    ON DELETE CASCADE,
-
-                CONSTRAINT fk_applicants_status_id
-                    FOREIGN KEY (status_id) REFERENCES applicant_statuses(id)
-                    ON UPDATE CASCADE
-                    ON DELETE RESTRICT
-            )
-        """);
-
-        stmt.execute("""
-        CREATE TABLE IF NOT EXISTS training_enrollment_statuses (
-            id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-            name VARCHAR(20) NOT NULL UNIQUE,
-            sort_order TINYINT NOT NULL DEFAULT 0
-        )
-    """);
-        stmt.execute("""
-        INSERT IGNORE INTO training_enrollment_statuses (name, sort_order) VALUES
-        ('ENROLLED', 1), ('COMPLETED', 2), ('CANCELLED', 3), ('FAILED', 4)
-    """);
-
-// 8. Training Enrollments Table (Many-to-Many Join Table)
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS training_enrollments (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                employee_id INT NOT NULL,
-                course_id INT NOT NULL,
-                status_id TINYINT UNSIGNED NOT NULL, -- Changed from VARCHAR
-                enrollment_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-
-                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-
-                CONSTRAINT fk_enrollment_employee_id
-                    FOREIGN KEY (employee_id) REFERENCES employees(id)
-                    ON UPDATE CASCADE ON DELETE CASCADE,
-                CONSTRAINT fk_enrollment_course_id
-                    FOREIGN KEY (course_id) REFERENCES training_courses(id)
-                    ON UPDATE CASCADE ON DELETE CASCADE,
-                CONSTRAINT fk_enrollment_status_id
-                    FOREIGN KEY (status_id) REFERENCES training_enrollment_statuses(id)
-                    ON UPDATE CASCADE ON DELETE RESTRICT,
-        
-                UNIQUE KEY uk_employee_course (employee_id, course_id)
-            )
-        """);
-    }
 }
@@ -4,6 +4,7 @@ import net.datafaker.Faker;
 import org.bhel.hrm.common.dtos.TrainingCourseDTO;
 import org.bhel.hrm.common.dtos.TrainingEnrollmentDTO;
 import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.exceptions.DataAccessException;
 import org.bhel.hrm.server.daos.EmployeeDAO;
 import org.bhel.hrm.server.daos.TrainingCourseDAO;
 import org.bhel.hrm.server.daos.TrainingEnrollmentDAO;
@@ -17,9 +18,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Random;
+import java.util.Set;
 
 public class DatabaseSeeder {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseSeeder.class);
@@ -45,7 +50,8 @@ public class DatabaseSeeder {
 
     /**
      * Checks if the database is empty and seeds it with initial data if it is.
-     * This entire process is wrapped in a single transaction.
+     * This entire process is wrapped in a single unit of work, so rows are
+     * inserted in batches rather than one round trip at a time.
      */
     public void seedIfEmpty() {
         // Check if data already exists to prevent re-seeding
@@ -57,71 +63,59 @@ public class DatabaseSeeder {
         logger.info("Database is empty; seeding with initial fake data...");
 
         try {
-            dbManager.beginTransaction();
+            dbManager.executeInUnitOfWork("seed", () -> {
+                seedUsersAndEmployees();
+//                seedTrainingCourses();
+                seedEnrollments();
+            });
 
-            seedUsersAndEmployees();
-//            seedTrainingCourses();
-            seedEnrollments();
-
-            dbManager.commitTransaction();
             logger.info("Successfully seeded the database with {} users.", userDAO.count());
         } catch (Exception e) {
-            logger.error("Database seeding failed. Rolling back transaction.", e);
-            dbManager.rollbackTransaction();
+            logger.error("Database seeding failed. Transaction rolled back.", e);
         }
     }
 
     private void seedUsersAndEmployees() {
-        // 1. Creates a default HR Staff user
-        User hrUser = new User(
+        // 1. Creates a default HR Staff user, a default Employee user and 20 random employees for development
+        List<User> users = new ArrayList<>();
+        users.add(new User(
                 "hr_admin",
                 PasswordService.hashPassword("admin123"),
                 UserDTO.Role.HR_STAFF
-        );
-        userDAO.save(hrUser);
-
-        Employee hrEmployee = new Employee(
-                hrUser.getId(),
-                "Admin",
-                "User",
-                "S0000000A"
-        );
-        employeeDAO.save(hrEmployee);
-
-        // 2. Creates a default Employee user
-        User employeeUser = new User(
+        ));
+        users.add(new User(
                 "employee",
                 PasswordService.hashPassword("user123"),
                 UserDTO.Role.EMPLOYEE
-        );
-        userDAO.save(employeeUser);
-
-        Employee testEmployee = new Employee(
-                employeeUser.getId(),
-                "John",
-                "Doe",
-                "S1234567B"
-        );
-        employeeDAO.save(testEmployee);
-
-        // 3. Creates 20 random employees for development
+        ));
         for (int i = 0; i < 20; i++) {
-            User randomUser = new User(
+            users.add(new User(
                     faker.name().name(),
                     PasswordService.hashPassword("password"),
                     UserDTO.Role.EMPLOYEE
-            );
+            ));
+        }
+        userDAO.saveAll(users);
 
-            userDAO.save(randomUser);
+        // 2. The employees reference the generated user ids, so the queued users are inserted first
+        try {
+            dbManager.flush();
+        } catch (SQLException e) {
+            throw new DataAccessException("Error inserting seed users", e);
+        }
 
-            Employee randomEmployee = new Employee(
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(users.get(0).getId(), "Admin", "User", "S0000000A"));
+        employees.add(new Employee(users.get(1).getId(), "John", "Doe", "S1234567B"));
+        for (User randomUser : users.subList(2, users.size())) {
+            employees.add(new Employee(
                     randomUser.getId(),
                     faker.name().firstName(),
                     faker.name().lastName(),
                     faker.idNumber().ssnValid()
-            );
-            employeeDAO.save(randomEmployee);
+            ));
         }
+        employeeDAO.saveAll(employees);
     }
 
     private void seedTrainingCourses() {
@@ -151,18 +145,17 @@ public class DatabaseSeeder {
         if (employees.isEmpty() || courses.isEmpty()) return;
 
         // Randomly enroll employees in courses
+        List<TrainingEnrollment> enrollments = new ArrayList<>();
         for (Employee emp : employees) {
             TrainingEnrollmentDTO.Status[] status = TrainingEnrollmentDTO.Status.values();
 
             // Enroll each employee in 0 to 3 random courses
             int numCourses = random.nextInt(4);
+            Set<Integer> enrolledCourseIds = new HashSet<>(); // Avoids a duplicate check query per pick
             for (int i = 0; i < 10; i++) {
                 TrainingCourse randomCourse = courses.get(random.nextInt(courses.size()));
 
-                boolean alreadyEnrolled = trainingEnrollmentDAO.findByEmployeeId(emp.getId())
-                    .stream().anyMatch(e -> e.getCourseId() == randomCourse.getId());
-
-                if (!alreadyEnrolled) {
+                if (enrolledCourseIds.add(randomCourse.getId())) {
                     TrainingEnrollment enrollment = new TrainingEnrollment(
                         emp.getId(),
                         randomCourse.getId(),
@@ -172,11 +165,12 @@ public class DatabaseSeeder {
                     // enrollment.setCourseId(randomCourse.getId());
                     // enrollment.setStatus(r);
 
-                    trainingEnrollmentDAO.save(enrollment);
+                    enrollments.add(enrollment);
                 }
 
             }
         }
+        trainingEnrollmentDAO.saveAll(enrollments);
     }
 }
 
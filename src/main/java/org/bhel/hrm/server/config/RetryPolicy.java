@@ -0,0 +1,70 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.common.config.Configuration;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often, and how patiently, a transaction that lost a lock conflict is re-run.
+ * <p>
+ * Backoff is exponential with "full jitter": before attempt {@code n + 1} the caller sleeps
+ * a random duration between zero and {@code min(maxBackoffMillis, initialBackoffMillis * 2^(n-1))},
+ * so transactions that deadlocked against each other do not collide again in lock step.
+ * Non-positive values fall back to the defaults below.
+ *
+ * @param maxAttempts          The total number of attempts, including the first one
+ * @param initialBackoffMillis The backoff ceiling after the first failed attempt
+ * @param maxBackoffMillis     The upper bound on any single backoff
+ */
+public record RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis) {
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 50;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 1_000;
+
+    /** A policy that never retries. */
+    public static final RetryPolicy NONE = new RetryPolicy(1, DEFAULT_INITIAL_BACKOFF_MILLIS, DEFAULT_MAX_BACKOFF_MILLIS);
+
+    public RetryPolicy {
+        maxAttempts = maxAttempts > 0 ? maxAttempts : DEFAULT_MAX_ATTEMPTS;
+        initialBackoffMillis = initialBackoffMillis > 0 ? initialBackoffMillis : DEFAULT_INITIAL_BACKOFF_MILLIS;
+        maxBackoffMillis = Math.max(initialBackoffMillis, maxBackoffMillis > 0 ? maxBackoffMillis : DEFAULT_MAX_BACKOFF_MILLIS);
+    }
+
+    /**
+     * Reads the {@code db.tx.retry.*} settings from the application configuration.
+     *
+     * @param config The application configuration; must not be null
+     * @return The resolved retry policy
+     */
+    public static RetryPolicy from(Configuration config) {
+        return new RetryPolicy(
+            config.getDbTxRetryMaxAttempts(),
+            config.getDbTxRetryInitialBackoffMillis(),
+            config.getDbTxRetryMaxBackoffMillis()
+        );
+    }
+
+    /**
+     * @param failedAttempt The 1-based number of the attempt that just failed
+     * @return {@code true} if another attempt is allowed
+     */
+    public boolean canRetry(int failedAttempt) {
+        return failedAttempt < maxAttempts;
+    }
+
+    /**
+     * Picks a jittered backoff to wait before the next attempt.
+     *
+     * @param failedAttempt The 1-based number of the attempt that just failed
+     * @return The number of milliseconds to wait
+     */
+    public long backoffMillis(int failedAttempt) {
+        int shift = Math.clamp(failedAttempt - 1, 0, 30);
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << shift);
+
+        if (ceiling < 0) // overflow
+            ceiling = maxBackoffMillis;
+
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,120 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.server.config.pool.ManagedConnection;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The state of one database transaction managed by {@link DatabaseManager}: the pinned
+ * connection and a first-level cache of the entities loaded or saved through it.
+ * <p>
+ * The identity map lets DAOs answer repeated {@code findById} calls within the same
+ * transaction without another round trip, and guarantees that those calls return the
+ * same instance. Entries are namespaced by the DAO class that owns them, and the whole
+ * map is discarded when the transaction commits or rolls back.
+ * <p>
+ * A context is bound to one thread at a time. Work forked onto other threads through
+ * {@link DatabaseManager#inheritReadOnly} runs under a child context instead: it is
+ * read-only, has no connection of its own, and its reads borrow pooled connections per
+ * query, so the parent's connection never crosses threads.
+ */
+public final class TransactionContext {
+    private record EntityKey(Class<?> owner, Object id) {}
+
+    private final ManagedConnection connection; // null for a child context
+    private final boolean readOnly;
+    private final UnitOfWork unitOfWork; // null unless opened by executeInUnitOfWork
+    private final Map<EntityKey, Object> identityMap = new HashMap<>();
+
+    private int identityMapHits;
+
+    TransactionContext(ManagedConnection connection, boolean readOnly, UnitOfWork unitOfWork) {
+        this.connection = connection;
+        this.readOnly = readOnly;
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * Creates the read-only context that tasks forked from this transaction run under.
+     */
+    TransactionContext child() {
+        return new TransactionContext(null, true, null);
+    }
+
+    /**
+     * @return The transaction's pinned connection, or {@code null} for a child context
+     */
+    public ManagedConnection connection() {
+        return connection;
+    }
+
+    /**
+     * @return {@code true} if this is a child context created for a forked task
+     */
+    public boolean isChild() {
+        return connection == null;
+    }
+
+    /**
+     * @return {@code true} if this context was opened by {@link DatabaseManager#executeReadOnly}
+     *         or is a child context
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * @return The write-behind queue, if this transaction runs in unit-of-work mode
+     */
+    public Optional<UnitOfWork> unitOfWork() {
+        return Optional.ofNullable(unitOfWork);
+    }
+
+    /**
+     * Looks up an entity already loaded in this transaction.
+     *
+     * @param owner The DAO class the entity belongs to
+     * @param id    The entity's id
+     * @return The cached instance, or an empty Optional on a miss
+     */
+    @SuppressWarnings("unchecked")
+    public <E> Optional<E> findEntity(Class<?> owner, Object id) {
+        Object entity = identityMap.get(new EntityKey(owner, id));
+        if (entity != null)
+            identityMapHits++;
+
+        return Optional.ofNullable((E) entity);
+    }
+
+    /**
+     * Records an entity that has just been loaded or written in this transaction.
+     * Entities without an id yet (a queued insert) are not recorded.
+     */
+    public void putEntity(Class<?> owner, Object id, Object entity) {
+        if (id == null || entity == null || Integer.valueOf(0).equals(id))
+            return;
+
+        identityMap.put(new EntityKey(owner, id), entity);
+    }
+
+    /**
+     * Forgets every entity owned by the given DAO, e.g. after a write whose
+     * effect on cached rows is not known.
+     */
+    public void evictEntities(Class<?> owner) {
+        identityMap.keySet().removeIf(key -> key.owner() == owner);
+    }
+
+    /**
+     * @return How many lookups were answered from the identity map
+     */
+    int identityMapHits() {
+        return identityMapHits;
+    }
+
+    void clear() {
+        identityMap.clear();
+    }
+}
@@ -0,0 +1,167 @@
+package org.bhel.hrm.server.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Write-behind queue for the DAO writes of one transaction.
+ * <p>
+ * Instead of running each INSERT/UPDATE/DELETE immediately, the DAO templates hand them
+ * to the unit of work. On {@link #flush(Connection)} — just before commit, before any read
+ * in the same transaction, or on request — the queue is replayed in order, with runs of
+ * consecutive writes that share the same SQL sent as one JDBC batch.
+ * <p>
+ * Parameters are captured when a write is queued, so later changes to the entity do not
+ * leak into it. Writes that need a generated key receive it through a callback when
+ * their batch is flushed.
+ */
+public final class UnitOfWork {
+    private static final Logger logger = LoggerFactory.getLogger(UnitOfWork.class);
+
+    /**
+     * Binds parameters on a statement; mirrors the DAO {@code StatementSetter}.
+     */
+    @FunctionalInterface
+    public interface ParameterBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    private record Binding(Method method, Object[] args) {}
+
+    private record PendingWrite(String sql, List<Binding> bindings, IntConsumer generatedKeyConsumer) {
+        boolean wantsKey() {
+            return generatedKeyConsumer != null;
+        }
+    }
+
+    private final List<PendingWrite> pending = new ArrayList<>();
+
+    /**
+     * Queues a write.
+     *
+     * @param sql                  The INSERT, UPDATE or DELETE statement
+     * @param binder               Binds the statement parameters; called immediately against a recorder
+     * @param generatedKeyConsumer Receives the generated key on flush, or {@code null} if none is needed
+     * @throws SQLException If the binder fails
+     */
+    public void enqueue(String sql, ParameterBinder binder, IntConsumer generatedKeyConsumer) throws SQLException {
+        List<Binding> bindings = new ArrayList<>();
+        binder.bind(recorder(bindings));
+        pending.add(new PendingWrite(sql, bindings, generatedKeyConsumer));
+    }
+
+    public boolean hasPendingWrites() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Sends every queued write to the database, batching consecutive writes with the same SQL.
+     *
+     * @param conn The transaction's connection
+     * @throws SQLException If any write fails; the queue is cleared either way
+     */
+    public void flush(Connection conn) throws SQLException {
+        if (pending.isEmpty())
+            return;
+
+        List<PendingWrite> writes = new ArrayList<>(pending);
+        pending.clear();
+
+        int batches = 0;
+        int start = 0;
+        while (start < writes.size()) {
+            int end = start + 1;
+            while (end < writes.size() && sameBatch(writes.get(start), writes.get(end)))
+                end++;
+
+            executeBatch(conn, writes.subList(start, end));
+            batches++;
+            start = end;
+        }
+
+        logger.debug("Flushed {} queued write(s) in {} batch(es).", writes.size(), batches);
+    }
+
+    /**
+     * Drops every queued write without running it. Called on rollback.
+     */
+    public void discard() {
+        pending.clear();
+    }
+
+    private static boolean sameBatch(PendingWrite first, PendingWrite next) {
+        return first.sql().equals(next.sql()) && first.wantsKey() == next.wantsKey();
+    }
+
+    private static void executeBatch(Connection conn, List<PendingWrite> batch) throws SQLException {
+        PendingWrite first = batch.getFirst();
+        int keys = first.wantsKey() ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS;
+
+        try (PreparedStatement stmt = conn.prepareStatement(first.sql(), keys)) {
+            for (PendingWrite write : batch) {
+                replay(stmt, write.bindings());
+                stmt.addBatch();
+            }
+
+            stmt.executeBatch();
+
+            if (first.wantsKey()) {
+                try (ResultSet generated = stmt.getGeneratedKeys()) {
+                    for (PendingWrite write : batch) {
+                        if (!generated.next())
+                            throw new SQLException("Batch returned fewer generated keys than rows for: " + first.sql());
+
+                        write.generatedKeyConsumer().accept(generated.getInt(1));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void replay(PreparedStatement stmt, List<Binding> bindings) throws SQLException {
+        for (Binding binding : bindings) {
+            try {
+                binding.method().invoke(stmt, binding.args());
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sqlException)
+                    throw sqlException;
+
+                throw new SQLException("Could not replay parameter binding " + binding.method().getName(), e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new SQLException("Could not replay parameter binding " + binding.method().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * A {@link PreparedStatement} stand-in that only records {@code setXxx} calls.
+     */
+    private static PreparedStatement recorder(List<Binding> bindings) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class<?>[] { PreparedStatement.class },
+            (proxy, method, args) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2) {
+                    bindings.add(new Binding(method, args.clone()));
+                    return null;
+                }
+
+                throw new SQLFeatureNotSupportedException(
+                    "Only parameter setters may be called while queueing a write, not " + method.getName() + "().");
+            }
+        );
+    }
+}
@@ -0,0 +1,82 @@
+package org.bhel.hrm.server.config.migration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * One versioned schema change, loaded from a SQL script on the classpath.
+ * <p>
+ * Statements in a script are separated by a {@code ;} at the end of a line;
+ * lines starting with {@code --} are comments. The checksum covers the script
+ * text with CRLF line endings read as LF, so editing an applied script is detected
+ * at startup but a checkout that converted its line endings is not.
+ *
+ * @param version     The schema version this script brings the database to
+ * @param description A short human-readable summary
+ * @param statements  The statements to execute, in order
+ * @param checksum    Hex-encoded SHA-256 of the script
+ */
+public record Migration(int version, String description, List<String> statements, String checksum) {
+    /**
+     * Loads a migration script from the classpath.
+     *
+     * @param version     The schema version this script brings the database to
+     * @param description A short human-readable summary
+     * @param resource    The classpath location of the script
+     * @return The parsed migration
+     * @throws UncheckedIOException If the script is missing or cannot be read
+     */
+    public static Migration load(int version, String description, String resource) {
+        try (InputStream in = Migration.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null)
+                throw new UncheckedIOException(new IOException("Migration script not found: " + resource));
+
+            return parse(version, description, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read migration script " + resource, e);
+        }
+    }
+
+    static Migration parse(int version, String description, String script) {
+        String normalized = script.replace("\r\n", "\n");
+        return new Migration(version, description, split(normalized), sha256(normalized));
+    }
+
+    private static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (String line : script.split("\\R")) {
+            String trimmed = line.strip();
+            if (trimmed.startsWith("--"))
+                continue;
+
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                statements.add(current.substring(0, current.lastIndexOf(";")).strip());
+                current.setLength(0);
+            }
+        }
+
+        if (!current.toString().isBlank())
+            statements.add(current.toString().strip());
+
+        return List.copyOf(statements);
+    }
+
+    private static String sha256(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package org.bhel.hrm.server.config.migration;
+
+import org.bhel.hrm.common.exceptions.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Brings the database schema up to date by applying versioned {@link Migration}s in order.
+ * <p>
+ * Applied versions are recorded with their checksum in a {@code schema_version} table. When
+ * the schema is already current, startup costs a single query against that table. Otherwise
+ * the pending scripts run under a MySQL named lock, so several servers starting at once do
+ * not apply the same migration twice. A checksum that no longer matches the shipped script
+ * means an applied migration was edited, and stops the server rather than guessing.
+ * <p>
+ * MySQL commits every DDL statement on its own, so a script cannot be rolled back as a whole.
+ * Instead, the statements a script has completed are counted in {@code schema_version_progress};
+ * if a script fails halfway, the next run resumes it after its last completed statement rather
+ * than failing on, say, a column the first run already added.
+ */
+public final class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private static final String LOCK_NAME = "hrm_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    private static final String SELECT_APPLIED = "SELECT version, checksum FROM schema_version";
+    private static final String INSERT_APPLIED = """
+        INSERT INTO schema_version (version, description, checksum, execution_ms)
+        VALUES (?, ?, ?, ?)
+    """;
+    private static final String CREATE_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_version (
+            version INT PRIMARY KEY,
+            description VARCHAR(255) NOT NULL,
+            checksum CHAR(64) NOT NULL,
+            execution_ms INT NOT NULL,
+            installed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+        )
+    """;
+    private static final String CREATE_PROGRESS_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_version_progress (
+            version INT PRIMARY KEY,
+            checksum CHAR(64) NOT NULL,
+            statements_applied INT NOT NULL
+        )
+    """;
+    private static final String SELECT_PROGRESS = """
+        SELECT checksum, statements_applied FROM schema_version_progress WHERE version = ?
+    """;
+    private static final String UPSERT_PROGRESS = """
+        INSERT INTO schema_version_progress (version, checksum, statements_applied)
+        VALUES (?, ?, ?) AS progress
+        ON DUPLICATE KEY UPDATE statements_applied = progress.statements_applied
+    """;
+    private static final String DELETE_PROGRESS = "DELETE FROM schema_version_progress WHERE version = ?";
+
+    private final List<Migration> migrations;
+
+    /**
+     * @param migrations The known migrations; versions must be unique
+     */
+    public SchemaMigrator(List<Migration> migrations) {
+        this.migrations = migrations.stream()
+            .sorted(Comparator.comparingInt(Migration::version))
+            .toList();
+
+        for (int i = 1; i < this.migrations.size(); i++) {
+            if (this.migrations.get(i).version() == this.migrations.get(i - 1).version())
+                throw new IllegalArgumentException("Duplicate migration version " + this.migrations.get(i).version());
+        }
+    }
+
+    /**
+     * Creates a migrator for the scripts shipped under {@code db/migration} on the classpath.
+     * New scripts are added here with the next version number; applied scripts are never edited.
+     */
+    public static SchemaMigrator fromClasspath() {
+        return new SchemaMigrator(List.of(
+            Migration.load(1, "baseline", "db/migration/V1__baseline.sql"),
+            Migration.load(2, "paging indexes", "db/migration/V2__paging_indexes.sql"),
+            Migration.load(3, "version columns", "db/migration/V3__version_columns.sql")
+        ));
+    }
+
+    /**
+     * Applies every pending migration.
+     *
+     * @param conn An auto-commit connection to the primary database
+     * @return The number of migrations applied; {@code 0} when the schema was already current
+     * @throws SQLException           If reading the schema version or applying a script fails
+     * @throws ConfigurationException If an applied migration's checksum differs from the shipped script
+     */
+    public int migrate(Connection conn) throws SQLException {
+        if (pending(readApplied(conn)).isEmpty()) {
+            logger.debug("Schema is current at version {}.", currentVersion());
+            return 0;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_TABLE);
+            stmt.execute(CREATE_PROGRESS_TABLE);
+        }
+
+        acquireLock(conn);
+        try {
+            // Another server may have migrated while this one waited for the lock
+            List<Migration> pending = pending(readApplied(conn));
+            for (Migration migration : pending)
+                apply(conn, migration);
+
+            logger.info("Schema migrated to version {} ({} migration(s) applied).", currentVersion(), pending.size());
+            return pending.size();
+        } finally {
+            releaseLock(conn);
+        }
+    }
+
+    /**
+     * @return The highest version this migrator knows about
+     */
+    public int currentVersion() {
+        return migrations.isEmpty() ? 0 : migrations.getLast().version();
+    }
+
+    private List<Migration> pending(Map<Integer, String> applied) {
+        for (Map.Entry<Integer, String> entry : applied.entrySet()) {
+            Migration known = find(entry.getKey());
+
+            if (known == null)
+                logger.warn("Database has schema version {}, which this server does not know about.", entry.getKey());
+            else if (!known.checksum().equals(entry.getValue()))
+                throw new ConfigurationException(
+                    "Checksum mismatch for applied schema migration " + known.version() + " (" + known.description()
+                        + "). Applied migrations must not be edited; add a new migration instead.");
+        }
+
+        return migrations.stream()
+            .filter(migration -> !applied.containsKey(migration.version()))
+            .toList();
+    }
+
+    private Migration find(int version) {
+        for (Migration migration : migrations) {
+            if (migration.version() == version)
+                return migration;
+        }
+
+        return null;
+    }
+
+    private static Map<Integer, String> readApplied(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new TreeMap<>();
+
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(SELECT_APPLIED)) {
+            while (rs.next())
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ER_NO_SUCH_TABLE)
+                throw e;
+        }
+
+        return applied;
+    }
+
+    /**
+     * Runs one script and records it, resuming after the last statement a previous, failed run
+     * completed. Each completed statement is counted straight away, as its DDL is already
+     * committed. Only a crash between a statement and its count leaves that one statement to be
+     * undone by hand before the script can be run again.
+     */
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        List<String> statements = migration.statements();
+        int completed = readProgress(conn, migration);
+
+        if (completed > 0)
+            logger.info("Resuming schema migration {} ({}) after statement {} of {}.",
+                migration.version(), migration.description(), completed, statements.size());
+        else
+            logger.info("Applying schema migration {} ({}).", migration.version(), migration.description());
+
+        long start = System.nanoTime();
+
+        try (Statement stmt = conn.createStatement()) {
+            for (int i = completed; i < statements.size(); i++) {
+                stmt.execute(statements.get(i));
+                recordProgress(conn, migration, i + 1);
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_APPLIED)) {
+            stmt.setInt(1, migration.version());
+            stmt.setString(2, migration.description());
+            stmt.setString(3, migration.checksum());
+            stmt.setInt(4, (int) elapsedMillis);
+            stmt.executeUpdate();
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(DELETE_PROGRESS)) {
+            stmt.setInt(1, migration.version());
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * @return The number of statements of the script a previous run completed; {@code 0} if none
+     * @throws ConfigurationException If the script was edited since that run
+     */
+    private static int readProgress(Connection conn, Migration migration) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_PROGRESS)) {
+            stmt.setInt(1, migration.version());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next())
+                    return 0;
+
+                if (!migration.checksum().equals(rs.getString("checksum")))
+                    throw new ConfigurationException(
+                        "Schema migration " + migration.version() + " (" + migration.description()
+                            + ") was edited after it was partially applied. Repair the schema by hand and delete its"
+                            + " schema_version_progress row.");
+
+                return rs.getInt("statements_applied");
+            }
+        }
+    }
+
+    private static void recordProgress(Connection conn, Migration migration, int completed) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPSERT_PROGRESS)) {
+            stmt.setInt(1, migration.version());
+            stmt.setString(2, migration.checksum());
+            stmt.setInt(3, completed);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1)
+                    throw new SQLException("Timed out waiting for the schema migration lock.");
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            logger.warn("Error releasing the schema migration lock.", e);
+        }
+    }
+}
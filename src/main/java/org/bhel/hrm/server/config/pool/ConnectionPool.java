@@ -0,0 +1,396 @@
+package org.bhel.hrm.server.config.pool;
+
+import org.bhel.hrm.server.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A small, bounded JDBC connection pool.
+ * <p>
+ * The pool keeps between {@link PoolSettings#minSize()} and {@link PoolSettings#maxSize()}
+ * physical connections open. Borrowers wait at most {@link PoolSettings#acquireTimeoutMillis()}
+ * for a free connection, idle connections are validated before reuse, and surplus connections
+ * that stay idle longer than {@link PoolSettings#idleTimeoutMillis()} are closed by a background
+ * housekeeping thread.
+ * <p>
+ * Connections are handed out as {@link ManagedConnection}s; closing one returns it to the pool.
+ * Every lease is tracked together with the stack that acquired it: a connection held longer
+ * than {@link PoolSettings#leakDetectionThresholdMillis()} is logged as a suspected leak, and
+ * the time spent waiting for and holding connections is recorded in histograms exposed
+ * through {@link #getStats()}.
+ */
+public final class ConnectionPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    /** Connections returned more recently than this are trusted without a validation round trip. */
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long MAX_HOUSEKEEPING_INTERVAL_MS = 30_000;
+    private static final long MIN_LEAK_CHECK_INTERVAL_MS = 100;
+
+    private final String name;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final PoolSettings settings;
+
+    private final Semaphore permits;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final Set<PooledConnection> inUse = ConcurrentHashMap.newKeySet();
+    private final LatencyHistogram acquireWait = new LatencyHistogram();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+    private final ScheduledExecutorService housekeeper;
+
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    private volatile boolean closed;
+
+    public ConnectionPool(String name, String url, String user, String password, PoolSettings settings) {
+        this.name = name;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.maxSize(), true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "hrm-db-pool-" + name);
+            t.setDaemon(true);
+            return t;
+        });
+
+        long interval = Math.min(settings.idleTimeoutMillis(), MAX_HOUSEKEEPING_INTERVAL_MS);
+        housekeeper.scheduleWithFixedDelay(this::houseKeep, 0, interval, TimeUnit.MILLISECONDS);
+
+        long leakInterval = Math.max(MIN_LEAK_CHECK_INTERVAL_MS, settings.leakDetectionThresholdMillis() / 2);
+        housekeeper.scheduleWithFixedDelay(this::detectLeaks, leakInterval, leakInterval, TimeUnit.MILLISECONDS);
+
+        logger.info("Connection pool '{}' created (min={}, max={}, acquireTimeout={}ms, leakThreshold={}ms).",
+            name, settings.minSize(), settings.maxSize(), settings.acquireTimeoutMillis(),
+            settings.leakDetectionThresholdMillis());
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured acquire timeout for one to become free.
+     *
+     * @return A validated connection; closing it returns it to the pool
+     * @throws SQLTransientConnectionException If no connection became available in time
+     * @throws SQLException If the pool is closed or a new connection cannot be opened
+     */
+    public ManagedConnection borrow() throws SQLException {
+        if (closed)
+            throw new SQLException("Connection pool '" + name + "' is closed.");
+
+        long startNanos = System.nanoTime();
+        acquirePermit();
+        return leaseAcquired(startNanos);
+    }
+
+    /**
+     * Borrows a connection only if one is free right now, without waiting for another
+     * borrower to return theirs, so a caller with somewhere else to go can move on at once.
+     *
+     * @return A validated connection, or {@code null} if every connection is in use
+     * @throws SQLException If the pool is closed or a new connection cannot be opened
+     */
+    public ManagedConnection tryBorrow() throws SQLException {
+        if (closed)
+            throw new SQLException("Connection pool '" + name + "' is closed.");
+
+        long startNanos = System.nanoTime();
+        if (!permits.tryAcquire())
+            return null;
+
+        return leaseAcquired(startNanos);
+    }
+
+    /**
+     * Leases an idle connection, or a new one, once the caller holds a permit. The permit
+     * is given back if no connection can be had.
+     */
+    private ManagedConnection leaseAcquired(long startNanos) throws SQLException {
+        try {
+            while (true) {
+                PooledConnection pooled = pollIdle();
+
+                if (pooled == null)
+                    return lease(open(), startNanos);
+
+                if (isUsable(pooled))
+                    return lease(pooled, startNanos);
+
+                destroy(pooled);
+            }
+        } catch (SQLException | RuntimeException e) {
+            acquireWait.record(System.nanoTime() - startNanos);
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a connection to the pool. Called by {@link ManagedConnection#close()}.
+     */
+    void giveBack(PooledConnection pooled) {
+        inUse.remove(pooled);
+        long heldNanos = pooled.markReturned();
+        holdTime.record(heldNanos);
+
+        if (pooled.isLeakReported())
+            logger.info("Suspected leaked connection from pool '{}' was returned after {}ms.",
+                name, TimeUnit.NANOSECONDS.toMillis(heldNanos));
+
+        try {
+            if (closed || pooled.physical().isClosed()) {
+                destroy(pooled);
+                return;
+            }
+
+            pooled.reset();
+
+            lock.lock();
+            try {
+                idle.addFirst(pooled); // LIFO keeps the warmest connections in use
+            } finally {
+                lock.unlock();
+            }
+        } catch (SQLException e) {
+            logger.warn("Discarding connection from pool '{}' that could not be reset: {}", name, e.getMessage());
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return A snapshot of the pool's current occupancy
+     */
+    public PoolStats getStats() {
+        int idleCount;
+        lock.lock();
+        try {
+            idleCount = idle.size();
+        } finally {
+            lock.unlock();
+        }
+
+        int total = totalConnections.get();
+        return new PoolStats(
+            name,
+            settings.maxSize() - permits.availablePermits(),
+            idleCount,
+            total,
+            settings.maxSize(),
+            permits.getQueueLength(),
+            statementCacheHits.sum(),
+            statementCacheMisses.sum(),
+            statementCacheEvictions.sum(),
+            acquireWait.snapshot(),
+            holdTime.snapshot(),
+            (int) inUse.stream().filter(PooledConnection::isLeakReported).count()
+        );
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public PoolSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Closes all idle connections and stops housekeeping. Connections still borrowed
+     * are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+        housekeeper.shutdownNow();
+
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        toClose.forEach(this::destroy);
+        logger.info("Connection pool '{}' closed.", name);
+    }
+
+    void recordStatementHit() {
+        statementCacheHits.increment();
+    }
+
+    void recordStatementMiss() {
+        statementCacheMisses.increment();
+    }
+
+    void recordStatementEviction() {
+        statementCacheEvictions.increment();
+    }
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(settings.acquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                PoolStats stats = getStats();
+                throw new SQLTransientConnectionException(String.format(
+                    "Timed out after %dms waiting for a connection from pool '%s' (active=%d, idle=%d, max=%d, waiting=%d).",
+                    settings.acquireTimeoutMillis(), name,
+                    stats.active(), stats.idle(), stats.maxSize(), stats.waiting()
+                ));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection from pool '" + name + "'.", e);
+        }
+    }
+
+    private ManagedConnection lease(PooledConnection pooled, long startNanos) {
+        pooled.markBorrowed(settings.leakTrace() || logger.isDebugEnabled());
+        inUse.add(pooled);
+        acquireWait.record(System.nanoTime() - startNanos);
+        return pooled.newHandle();
+    }
+
+    private PooledConnection pollIdle() {
+        lock.lock();
+        try {
+            return idle.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        totalConnections.incrementAndGet();
+
+        logger.debug("Opened new connection for pool '{}' (total={}).", name, totalConnections.get());
+        return new PooledConnection(this, physical, settings.statementCacheSize());
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.nanoTime() - pooled.lastReturnedAtNanos() < VALIDATION_BYPASS_NANOS)
+            return true;
+
+        try {
+            return pooled.physical().isValid(settings.validationTimeoutSeconds());
+        } catch (SQLException e) {
+            logger.debug("Validation failed for a connection in pool '{}'.", name, e);
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        pooled.closePhysical();
+        totalConnections.decrementAndGet();
+    }
+
+    /**
+     * Closes connections idle for longer than the idle timeout (down to the minimum size)
+     * and then tops the pool back up to its minimum size.
+     */
+    private void houseKeep() {
+        try {
+            evictIdle();
+            fillToMinimum();
+        } catch (Exception e) {
+            logger.warn("Housekeeping failed for pool '{}': {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Logs every connection that has been held past the leak detection threshold, once per
+     * lease, with the stack trace of the code that borrowed it when borrows capture one.
+     */
+    private void detectLeaks() {
+        long threshold = TimeUnit.MILLISECONDS.toNanos(settings.leakDetectionThresholdMillis());
+        long now = System.nanoTime();
+
+        for (PooledConnection pooled : inUse) {
+            if (pooled.isLeakReported() || now - pooled.borrowedAtNanos() < threshold)
+                continue;
+
+            pooled.markLeakReported();
+            long heldMillis = TimeUnit.NANOSECONDS.toMillis(now - pooled.borrowedAtNanos());
+            Throwable acquiredAt = pooled.acquiredAt();
+
+            if (acquiredAt != null)
+                logger.warn("Connection from pool '{}' held by thread [{}] for {}ms; possible leak.",
+                    name, pooled.borrowerThread(), heldMillis, acquiredAt);
+            else
+                logger.warn("Connection from pool '{}' held by thread [{}] for {}ms; possible leak."
+                        + " Set db.pool.leak.trace=true to log where it was borrowed.",
+                    name, pooled.borrowerThread(), heldMillis);
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(settings.idleTimeoutMillis());
+        List<PooledConnection> evicted = new ArrayList<>();
+
+        lock.lock();
+        try {
+            Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+            while (oldestFirst.hasNext() && totalConnections.get() - evicted.size() > settings.minSize()) {
+                PooledConnection pooled = oldestFirst.next();
+                if (pooled.lastReturnedAtNanos() - cutoff < 0) {
+                    oldestFirst.remove();
+                    evicted.add(pooled);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        evicted.forEach(this::destroy);
+
+        if (!evicted.isEmpty())
+            logger.debug("Evicted {} idle connection(s) from pool '{}'.", evicted.size(), name);
+    }
+
+    private void fillToMinimum() throws SQLException {
+        while (!closed && totalConnections.get() < settings.minSize() && permits.tryAcquire()) {
+            try {
+                PooledConnection pooled = open();
+                lock.lock();
+                try {
+                    idle.addLast(pooled);
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
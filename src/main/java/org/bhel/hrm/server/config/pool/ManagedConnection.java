@@ -0,0 +1,24 @@
+package org.bhel.hrm.server.config.pool;
+
+import java.sql.Connection;
+
+/**
+ * A logical {@link Connection} handed out by a {@link ConnectionPool}.
+ * <p>
+ * Calling {@link #close()} returns the underlying physical connection to the pool
+ * instead of closing it. A pinned connection ignores {@code close()} entirely, which
+ * protects a transaction's connection from DAOs that close what they were given.
+ */
+public interface ManagedConnection extends Connection {
+    /**
+     * Pins or unpins this connection. While pinned, {@link #close()} is a no-op.
+     *
+     * @param pinned {@code true} to ignore close requests, {@code false} to honour them again
+     */
+    void setPinned(boolean pinned);
+
+    /**
+     * @return {@code true} if this connection currently ignores {@link #close()}
+     */
+    boolean isPinned();
+}
@@ -0,0 +1,71 @@
+package org.bhel.hrm.server.config.pool;
+
+import org.bhel.hrm.common.config.Configuration;
+
+/**
+ * Immutable sizing and timing settings for a {@link ConnectionPool}.
+ * <p>
+ * Non-positive values fall back to the defaults below, so a partially populated
+ * (or mocked) {@link Configuration} still yields a usable pool.
+ *
+ * @param minSize                      The number of connections kept open even when idle
+ * @param maxSize                      The hard upper bound on open connections
+ * @param acquireTimeoutMillis         How long a caller may wait for a free connection
+ * @param idleTimeoutMillis            How long a surplus connection may sit idle before it is closed
+ * @param validationTimeoutSeconds     The timeout passed to {@link java.sql.Connection#isValid(int)} on borrow
+ * @param statementCacheSize           The number of prepared statements cached per physical connection
+ * @param leakDetectionThresholdMillis How long a connection may be held before it is logged as a possible leak
+ * @param leakTrace                    Whether every borrow captures its stack trace, so a suspected leak
+ *                                     is logged with the code that borrowed it; costly, for debugging only
+ */
+public record PoolSettings(
+    int minSize,
+    int maxSize,
+    long acquireTimeoutMillis,
+    long idleTimeoutMillis,
+    int validationTimeoutSeconds,
+    int statementCacheSize,
+    long leakDetectionThresholdMillis,
+    boolean leakTrace
+) {
+    public static final int DEFAULT_MIN_SIZE = 2;
+    public static final int DEFAULT_MAX_SIZE = 10;
+    public static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 5_000;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600_000;
+    public static final int DEFAULT_VALIDATION_TIMEOUT_SECONDS = 2;
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    public static final long DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS = 30_000;
+
+    public PoolSettings {
+        maxSize = maxSize > 0 ? maxSize : DEFAULT_MAX_SIZE;
+        minSize = Math.clamp(minSize > 0 ? minSize : Math.min(DEFAULT_MIN_SIZE, maxSize), 0, maxSize);
+        acquireTimeoutMillis = acquireTimeoutMillis > 0 ? acquireTimeoutMillis : DEFAULT_ACQUIRE_TIMEOUT_MILLIS;
+        idleTimeoutMillis = idleTimeoutMillis > 0 ? idleTimeoutMillis : DEFAULT_IDLE_TIMEOUT_MILLIS;
+        validationTimeoutSeconds = validationTimeoutSeconds > 0
+            ? validationTimeoutSeconds
+            : DEFAULT_VALIDATION_TIMEOUT_SECONDS;
+        statementCacheSize = statementCacheSize > 0 ? statementCacheSize : DEFAULT_STATEMENT_CACHE_SIZE;
+        leakDetectionThresholdMillis = leakDetectionThresholdMillis > 0
+            ? leakDetectionThresholdMillis
+            : DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS;
+    }
+
+    /**
+     * Reads the {@code db.pool.*} settings from the application configuration.
+     *
+     * @param config The application configuration; must not be null
+     * @return The resolved pool settings
+     */
+    public static PoolSettings from(Configuration config) {
+        return new PoolSettings(
+            config.getDbPoolMinSize(),
+            config.getDbPoolMaxSize(),
+            config.getDbPoolAcquireTimeoutMillis(),
+            config.getDbPoolIdleTimeoutMillis(),
+            config.getDbPoolValidationTimeoutSeconds(),
+            config.getDbStatementCacheSize(),
+            config.getDbPoolLeakDetectionThresholdMillis(),
+            config.isDbPoolLeakTraceEnabled()
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package org.bhel.hrm.server.config.pool;
+
+import org.bhel.hrm.server.metrics.LatencyHistogram;
+
+/**
+ * A point-in-time snapshot of a {@link ConnectionPool}'s occupancy.
+ *
+ * @param poolName                The name of the pool (e.g. {@code primary})
+ * @param active                  Connections currently handed out to callers
+ * @param idle                    Open connections waiting in the pool
+ * @param total                   All open physical connections
+ * @param maxSize                 The configured upper bound
+ * @param waiting                 Threads currently blocked waiting for a connection
+ * @param statementCacheHits      Prepared statements served from a connection's statement cache
+ * @param statementCacheMisses    Prepared statements that had to be prepared on the server
+ * @param statementCacheEvictions Cached statements closed to make room for newer ones
+ * @param acquireWait             Time callers spent in {@code borrow()}, including timeouts
+ * @param holdTime                Time connections were held between borrow and close
+ * @param leakSuspects            Connections currently held past the leak detection threshold
+ */
+public record PoolStats(
+    String poolName,
+    int active,
+    int idle,
+    int total,
+    int maxSize,
+    int waiting,
+    long statementCacheHits,
+    long statementCacheMisses,
+    long statementCacheEvictions,
+    LatencyHistogram.Snapshot acquireWait,
+    LatencyHistogram.Snapshot holdTime,
+    int leakSuspects
+) {
+    /**
+     * @return The fraction of statement lookups served from cache, or {@code 0} before the first lookup
+     */
+    public double statementCacheHitRatio() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+}
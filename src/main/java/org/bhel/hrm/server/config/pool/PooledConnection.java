@@ -0,0 +1,245 @@
+package org.bhel.hrm.server.config.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A physical JDBC connection owned by a {@link ConnectionPool}, together with the
+ * bookkeeping needed to validate, reset and recycle it.
+ * <p>
+ * Callers never see this class directly; each borrow gets a fresh {@link ManagedConnection}
+ * proxy so that a stale reference kept by one caller cannot close or use the connection
+ * after it has been handed to somebody else.
+ */
+final class PooledConnection {
+    private static final Logger logger = LoggerFactory.getLogger(PooledConnection.class);
+
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final long createdAtNanos;
+    private final StatementCache statementCache;
+
+    private long lastReturnedAtNanos;
+
+    // The current lease, used for hold-time measurement and leak detection
+    private volatile long borrowedAtNanos;
+    private volatile String borrowerThread;
+    private volatile Throwable acquiredAt;
+    private volatile boolean leakReported;
+
+    // Session state touched by the current borrower, reset before the connection is reused
+    private boolean autoCommitChanged;
+    private boolean readOnlyChanged;
+    private boolean isolationChanged;
+    private int defaultIsolation = -1;
+
+    PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize) {
+        this.pool = pool;
+        this.physical = physical;
+        this.statementCache = new StatementCache(pool, statementCacheSize);
+        this.createdAtNanos = System.nanoTime();
+        this.lastReturnedAtNanos = createdAtNanos;
+    }
+
+    Connection physical() {
+        return physical;
+    }
+
+    long createdAtNanos() {
+        return createdAtNanos;
+    }
+
+    long lastReturnedAtNanos() {
+        return lastReturnedAtNanos;
+    }
+
+    long borrowedAtNanos() {
+        return borrowedAtNanos;
+    }
+
+    String borrowerThread() {
+        return borrowerThread;
+    }
+
+    Throwable acquiredAt() {
+        return acquiredAt;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void markLeakReported() {
+        leakReported = true;
+    }
+
+    /**
+     * Starts a new lease, remembering who borrowed the connection.
+     *
+     * @param captureStack Whether to also remember where from; filling in a stack trace is
+     *                     too costly to do on every borrow unless leaks are being debugged
+     */
+    void markBorrowed(boolean captureStack) {
+        borrowedAtNanos = System.nanoTime();
+        borrowerThread = Thread.currentThread().getName();
+        acquiredAt = captureStack ? new Exception("Connection acquired here") : null;
+        leakReported = false;
+    }
+
+    /**
+     * Ends the current lease.
+     *
+     * @return How long the connection was held, in nanoseconds
+     */
+    long markReturned() {
+        long held = System.nanoTime() - borrowedAtNanos;
+        acquiredAt = null;
+        return held;
+    }
+
+    /**
+     * Creates a new logical handle for one borrower.
+     */
+    ManagedConnection newHandle() {
+        return (ManagedConnection) Proxy.newProxyInstance(
+            ManagedConnection.class.getClassLoader(),
+            new Class<?>[] { ManagedConnection.class },
+            new Handle()
+        );
+    }
+
+    /**
+     * Restores session state changed by the last borrower so the next one starts clean.
+     *
+     * @throws SQLException If the connection cannot be reset; the caller should discard it
+     */
+    void reset() throws SQLException {
+        if (autoCommitChanged) {
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            autoCommitChanged = false;
+        }
+
+        if (readOnlyChanged) {
+            physical.setReadOnly(false);
+            readOnlyChanged = false;
+        }
+
+        if (isolationChanged) {
+            physical.setTransactionIsolation(defaultIsolation);
+            isolationChanged = false;
+        }
+
+        physical.clearWarnings();
+        lastReturnedAtNanos = System.nanoTime();
+    }
+
+    void closePhysical() {
+        statementCache.clear();
+
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing physical connection of pool '{}'.", pool.getName(), e);
+        }
+    }
+
+    /**
+     * The per-borrow proxy behind {@link ManagedConnection}.
+     */
+    private final class Handle implements InvocationHandler {
+        private boolean closed;
+        private boolean pinned;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (closed) {
+                        logger.warn("Connection from pool '{}' closed more than once.", pool.getName(),
+                            new Exception("Second close() called here"));
+                    } else if (!pinned) {
+                        closed = true;
+                        pool.giveBack(PooledConnection.this);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || physical.isClosed();
+                }
+                case "setPinned" -> {
+                    pinned = (Boolean) args[0];
+                    return null;
+                }
+                case "isPinned" -> {
+                    return pinned;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "ManagedConnection[pool=" + pool.getName() + ", closed=" + closed + "]";
+                }
+                default -> {
+                    // falls through to delegation below
+                }
+            }
+
+            if (closed)
+                throw new SQLException("Connection has already been returned to pool '" + pool.getName() + "'.");
+
+            trackSessionState(method);
+
+            if (isCacheablePrepare(method, args)) {
+                int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                return statementCache.prepare(physical, (String) args[0], autoGeneratedKeys);
+            }
+
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Only {@code prepareStatement(sql)} and {@code prepareStatement(sql, autoGeneratedKeys)}
+         * go through the cache; the other overloads carry cursor options we do not key on.
+         */
+        private static boolean isCacheablePrepare(Method method, Object[] args) {
+            if (!method.getName().equals("prepareStatement"))
+                return false;
+
+            Class<?>[] params = method.getParameterTypes();
+            return params.length == 1 || (params.length == 2 && params[1] == int.class);
+        }
+
+        private void trackSessionState(Method method) throws SQLException {
+            switch (method.getName()) {
+                case "setAutoCommit" -> autoCommitChanged = true;
+                case "setReadOnly" -> readOnlyChanged = true;
+                case "setTransactionIsolation" -> {
+                    if (defaultIsolation < 0)
+                        defaultIsolation = physical.getTransactionIsolation();
+                    isolationChanged = true;
+                }
+                default -> {
+                    // other calls do not change session state we need to undo
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.bhel.hrm.server.config.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads read-only work across a set of MySQL read replicas.
+ * <p>
+ * Replicas are picked round-robin. Each replica's replication status is checked once when
+ * the router is created, and then polled by a background task; a replica is out of rotation
+ * while it lags further behind the primary than the configured limit (or while it cannot be
+ * reached). When no replica is usable, or every usable one has all its connections in use,
+ * {@link #borrow()} returns {@code null} at once and the caller falls back to the primary.
+ */
+public final class ReplicaRouter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    public static final int DEFAULT_MAX_LAG_SECONDS = 5;
+    public static final long DEFAULT_LAG_CHECK_INTERVAL_MILLIS = 5_000;
+
+    private final List<Replica> replicas;
+    private final int maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagMonitor;
+
+    /**
+     * @param replicaUrls            JDBC URLs of the replicas; must not be empty
+     * @param user                   The database user shared with the primary
+     * @param password               The database password shared with the primary
+     * @param settings               Pool settings applied to every replica pool
+     * @param maxLagSeconds          Replicas further behind than this are skipped; non-positive uses the default
+     * @param lagCheckIntervalMillis How often replication lag is polled; non-positive uses the default
+     */
+    public ReplicaRouter(
+        List<String> replicaUrls,
+        String user,
+        String password,
+        PoolSettings settings,
+        int maxLagSeconds,
+        long lagCheckIntervalMillis
+    ) {
+        this.maxLagSeconds = maxLagSeconds > 0 ? maxLagSeconds : DEFAULT_MAX_LAG_SECONDS;
+
+        AtomicInteger index = new AtomicInteger(1);
+        this.replicas = replicaUrls.stream()
+            .map(url -> new Replica(new ConnectionPool("replica-" + index.getAndIncrement(), url, user, password, settings)))
+            .toList();
+
+        this.lagMonitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "hrm-db-replica-lag");
+            t.setDaemon(true);
+            return t;
+        });
+
+        // Checked once up front, so reads are routed to healthy replicas from the first query
+        for (Replica replica : replicas) {
+            replica.available = isWithinLag(replica);
+            if (!replica.available)
+                logger.warn("Replica '{}' starts out of read rotation.", replica.pool.getName());
+        }
+
+        long interval = lagCheckIntervalMillis > 0 ? lagCheckIntervalMillis : DEFAULT_LAG_CHECK_INTERVAL_MILLIS;
+        lagMonitor.scheduleWithFixedDelay(this::checkLag, interval, interval, TimeUnit.MILLISECONDS);
+
+        logger.info("Read routing enabled across {} replica(s) (maxLag={}s).", replicas.size(), this.maxLagSeconds);
+    }
+
+    /**
+     * Borrows a connection from the next healthy replica that has one free. A replica whose
+     * connections are all in use is skipped rather than waited for, since the primary can
+     * serve the read straight away.
+     *
+     * @return A replica connection, or {@code null} if every replica is stale, unreachable or busy
+     */
+    public ManagedConnection borrow() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available)
+                continue;
+
+            try {
+                ManagedConnection conn = replica.pool.tryBorrow();
+                if (conn != null)
+                    return conn;
+            } catch (SQLException e) {
+                logger.warn("Replica pool '{}' unavailable, trying the next one: {}", replica.pool.getName(), e.getMessage());
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return Occupancy snapshots for every replica pool
+     */
+    public List<PoolStats> getStats() {
+        return replicas.stream().map(r -> r.pool.getStats()).toList();
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.shutdownNow();
+        replicas.forEach(r -> r.pool.close());
+    }
+
+    private void checkLag() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            replica.available = isWithinLag(replica);
+
+            if (wasAvailable && !replica.available)
+                logger.warn("Replica '{}' taken out of read rotation.", replica.pool.getName());
+            else if (!wasAvailable && replica.available)
+                logger.info("Replica '{}' back in read rotation.", replica.pool.getName());
+        }
+    }
+
+    /**
+     * Polls {@code SHOW REPLICA STATUS}. A server that reports no replication status at all
+     * (e.g. a standalone instance used for local testing) is treated as up to date, while a
+     * replica whose SQL thread is stopped ({@code Seconds_Behind_Source} is NULL) is not.
+     */
+    private boolean isWithinLag(Replica replica) {
+        try (Connection conn = replica.pool.borrow();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SHOW REPLICA STATUS")) {
+
+            if (!rs.next())
+                return true;
+
+            long lag = rs.getLong("Seconds_Behind_Source");
+            if (rs.wasNull()) {
+                logger.debug("Replica '{}' is not replicating.", replica.pool.getName());
+                return false;
+            }
+
+            return lag <= maxLagSeconds;
+        } catch (SQLException e) {
+            logger.debug("Lag check failed for replica '{}'.", replica.pool.getName(), e);
+            return false;
+        }
+    }
+
+    private static final class Replica {
+        private final ConnectionPool pool;
+        private volatile boolean available;
+
+        Replica(ConnectionPool pool) {
+            this.pool = pool;
+        }
+    }
+}
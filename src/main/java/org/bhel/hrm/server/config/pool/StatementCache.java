@@ -0,0 +1,202 @@
+package org.bhel.hrm.server.config.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A per-connection LRU cache of {@link PreparedStatement}s keyed by SQL text and
+ * generated-keys flag.
+ * <p>
+ * The DAOs prepare the same static SQL over and over; with server-side prepared
+ * statements enabled, a cache hit skips the parse/prepare round trip entirely.
+ * Cached statements are handed out as proxies whose {@code close()} clears the
+ * bound parameters and returns the statement to the cache instead of closing it.
+ * <p>
+ * A statement that is already checked out (e.g. the same query issued again while the
+ * first result set is still being read) is never shared; the second caller gets an
+ * ordinary, uncached statement. Instances are confined to the thread currently
+ * holding the owning connection.
+ */
+final class StatementCache {
+    private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+
+    private record Key(String sql, int autoGeneratedKeys) {}
+
+    private final ConnectionPool pool;
+    private final LinkedHashMap<Key, CachedStatement> statements;
+
+    StatementCache(ConnectionPool pool, int capacity) {
+        this.pool = pool;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedStatement> eldest) {
+                if (size() <= capacity)
+                    return false;
+
+                eldest.getValue().evict();
+                pool.recordStatementEviction();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns a cached statement for the given SQL, preparing and caching it on a miss.
+     */
+    PreparedStatement prepare(Connection physical, String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        CachedStatement cached = statements.get(key);
+
+        if (cached != null && !cached.inUse) {
+            pool.recordStatementHit();
+            return cached.checkOut();
+        }
+
+        pool.recordStatementMiss();
+        PreparedStatement stmt = physical.prepareStatement(sql, autoGeneratedKeys);
+
+        if (cached != null)
+            return stmt; // the cached one is busy; hand out a private, uncached statement
+
+        CachedStatement fresh = new CachedStatement(stmt);
+        statements.put(key, fresh);
+        return fresh.checkOut();
+    }
+
+    /**
+     * Closes every cached statement. Called before the physical connection is discarded.
+     */
+    void clear() {
+        statements.values().forEach(CachedStatement::evict);
+        statements.clear();
+    }
+
+    /**
+     * A cached physical statement and the proxy that hides its real {@code close()}.
+     */
+    private final class CachedStatement implements InvocationHandler {
+        private final PreparedStatement physical;
+        private final PreparedStatement proxy;
+
+        private boolean inUse;
+        private boolean evicted;
+        private boolean fetchSizeChanged;
+        private boolean maxRowsChanged;
+        private boolean queryTimeoutChanged;
+
+        CachedStatement(PreparedStatement physical) {
+            this.physical = physical;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                this
+            );
+        }
+
+        PreparedStatement checkOut() {
+            inUse = true;
+            return proxy;
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse)
+                closeQuietly();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    checkIn();
+                    return null;
+                }
+                case "isClosed" -> {
+                    return !inUse || physical.isClosed();
+                }
+                case "setFetchSize" -> fetchSizeChanged = true;
+                case "setMaxRows" -> maxRowsChanged = true;
+                case "setQueryTimeout" -> queryTimeoutChanged = true;
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "CachedStatement[" + physical + "]";
+                }
+                default -> {
+                    // delegated below
+                }
+            }
+
+            if (!inUse)
+                throw new SQLException("Statement has already been closed.");
+
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void checkIn() {
+            if (!inUse)
+                return;
+
+            inUse = false;
+
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+
+            try {
+                ResultSet open = physical.getResultSet();
+                if (open != null)
+                    open.close();
+
+                physical.clearParameters();
+                physical.clearBatch();
+
+                if (fetchSizeChanged) {
+                    physical.setFetchSize(0);
+                    fetchSizeChanged = false;
+                }
+                if (maxRowsChanged) {
+                    physical.setMaxRows(0);
+                    maxRowsChanged = false;
+                }
+                if (queryTimeoutChanged) {
+                    physical.setQueryTimeout(0);
+                    queryTimeoutChanged = false;
+                }
+            } catch (SQLException e) {
+                logger.debug("Could not reset cached statement; dropping it from the cache.", e);
+                evicted = true;
+                statements.values().remove(this);
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing cached statement.", e);
+            }
+        }
+    }
+}
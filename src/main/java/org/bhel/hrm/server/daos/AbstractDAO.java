@@ -1,14 +1,36 @@
 package org.bhel.hrm.server.daos;
 
 import org.bhel.hrm.server.config.DatabaseManager;
+import org.bhel.hrm.server.config.TransactionContext;
+import org.bhel.hrm.server.config.UnitOfWork;
+import org.bhel.hrm.server.metrics.QueryMetrics;
 import org.bhel.hrm.common.exceptions.DataAccessException;
+import org.bhel.hrm.common.exceptions.OptimisticLockingFailureException;
+import org.bhel.hrm.server.domain.DirtyTracked;
+import org.bhel.hrm.server.domain.Versioned;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * An abstract base class for DAOs using the Template Method Pattern to encapsulate
@@ -21,6 +43,9 @@ import java.util.Optional;
 public abstract class AbstractDAO<T> {
     private static final Logger logger = LoggerFactory.getLogger(AbstractDAO.class);
 
+    /** The most ids {@link #findByIds} sends in one {@code IN} list. */
+    private static final int MAX_IN_LIST_SIZE = 512;
+
     protected final DatabaseManager dbManager;
 
     protected AbstractDAO(DatabaseManager dbManager) {
@@ -35,6 +60,52 @@ public abstract class AbstractDAO<T> {
     @FunctionalInterface
     protected interface RowMapper<R> {
         R mapRow(ResultSet result) throws SQLException;
+
+        /**
+         * Prepares this mapper for one result set, before its first row is read. The query
+         * templates call this once per result set and map every row with the mapper it returns.
+         * Mappers that read by column index override it to resolve their columns here, once.
+         *
+         * @param metaData The metadata of the result set about to be mapped.
+         * @return The mapper to use for each row of that result set.
+         * @throws SQLException if the metadata cannot be read or a required column is missing.
+         */
+        default RowMapper<R> bind(ResultSetMetaData metaData) throws SQLException {
+            return this;
+        }
+    }
+
+    /**
+     * A functional interface for building a row mapper once the columns of a result set
+     * are known: it looks up the column indexes it needs, then returns a mapper that
+     * reads each row by those indexes.
+     * @param <R> The type of the object to be mapped.
+     */
+    @FunctionalInterface
+    protected interface ColumnBinder<R> {
+        RowMapper<R> bind(Columns columns) throws SQLException;
+    }
+
+    /**
+     * Creates a row mapper that reads columns by index instead of by label. Labels are resolved
+     * to indexes once per result set by {@code binder}, so mapping a large result does not pay
+     * a label lookup for every column of every row.
+     *
+     * @param binder Resolves the column indexes and returns the per-row mapper.
+     * @return A mapper for the templates of this class.
+     */
+    protected static <R> RowMapper<R> indexed(ColumnBinder<R> binder) {
+        return new RowMapper<>() {
+            @Override
+            public R mapRow(ResultSet result) throws SQLException {
+                return bind(result.getMetaData()).mapRow(result);
+            }
+
+            @Override
+            public RowMapper<R> bind(ResultSetMetaData metaData) throws SQLException {
+                return binder.bind(new Columns(metaData));
+            }
+        };
     }
 
     /**
@@ -62,31 +133,93 @@ public abstract class AbstractDAO<T> {
             : Optional.of(results.getFirst());
     }
 
+    /**
+     * Template method for an existence probe, e.g. {@code SELECT 1 FROM t WHERE k = ? LIMIT 1}.
+     * Written against a unique or indexed key, the probe reads at most one index entry and
+     * maps nothing, so a check costs the same however many rows the table holds.
+     *
+     * @param sql The probe query; whatever it selects is ignored, only whether it returns a row.
+     * @param setter A lambda expression to set the query parameters on the PreparedStatement.
+     * @return {@code true} if the query returned at least one row.
+     */
+    protected boolean exists(String sql, StatementSetter setter) {
+        return !findMany(sql, setter, result -> Boolean.TRUE).isEmpty();
+    }
+
+    /**
+     * Template method for loading a single entity by its id.
+     * <p>
+     * Inside a transaction, the entity is kept in the transaction's identity map:
+     * looking the same id up again returns the same instance without a round trip.
+     *
+     * @param id The id of the entity, used as the identity map key.
+     * @param sql The SQL query to execute.
+     * @param setter A lambda expression to set the query parameters on the PreparedStatement.
+     * @param mapper A lambda expression to map the ResultSet row to an entity.
+     * @return An {@link Optional} containing the entity if found, otherwise an empty Optional.
+     */
+    protected Optional<T> findOneById(Object id, String sql, StatementSetter setter, RowMapper<T> mapper) {
+        Optional<TransactionContext> tx = dbManager.currentTransaction();
+
+        if (tx.isPresent()) {
+            Optional<T> cached = tx.get().findEntity(getClass(), id);
+            if (cached.isPresent())
+                return cached;
+        }
+
+        Optional<T> loaded = findOne(sql, setter, mapper);
+        loaded.ifPresent(entity -> rememberEntity(id, entity));
+        return loaded;
+    }
+
+    /**
+     * Records an entity that was just inserted or updated in the current transaction's
+     * identity map, so a later {@code findById} in the same transaction sees it.
+     * Does nothing outside a transaction.
+     *
+     * @param id The id of the entity.
+     * @param entity The entity as it was written.
+     */
+    protected void rememberEntity(Object id, T entity) {
+        dbManager.currentTransaction().ifPresent(tx -> tx.putEntity(getClass(), id, entity));
+    }
+
     /**
      * Template method for executing a query expected to return a list of entities.
+     * Outside a transaction, the query may be served by a read replica. Like every
+     * template here, its time and row count are recorded in the {@link QueryMetrics}.
+     * <p>
+     * The rows need not map to the DAO's entity type. Read-only list endpoints use this to
+     * select just a DTO's columns and map them straight into the DTO, e.g. with a
+     * {@link RecordRowMapper}, instead of building an entity per row only to copy it.
      *
      * @param sql The SQL query to execute.
      * @param setter A lambda expression to set the query parameters on the PreparedStatement.
-     * @param mapper A lambda expression to map each ResultSet row to an entity.
-     * @return A {@link List} of entities, which may be empty if no results are found.
+     * @param mapper A lambda expression to map each ResultSet row to an entity or projection.
+     * @return A {@link List} of results, which may be empty if no results are found.
      */
-    protected List<T> findMany(String sql, StatementSetter setter, RowMapper<T> mapper) {
-        List<T> results = new ArrayList<>();
+    protected <R> List<R> findMany(String sql, StatementSetter setter, RowMapper<R> mapper) {
+        List<R> results = new ArrayList<>();
         Connection conn = null;
 
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
+            long start = System.nanoTime();
 
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 setter.setValues(stmt);
 
                 try (ResultSet result = stmt.executeQuery()) {
+                    RowMapper<R> rowMapper = mapper.bind(result.getMetaData());
                     while (result.next())
-                        results.add(mapper.mapRow(result));
+                        results.add(rowMapper.mapRow(result));
                 }
-
-//                logger.info("{}", stmt);
+            } catch (SQLException e) {
+                recordFailure(sql, start, setter);
+                throw e;
             }
+
+            recordExecution(sql, start, results.size(), setter);
         } catch (SQLException e) {
             throw new DataAccessException("Error executing query: " + sql, e);
         } finally {
@@ -96,24 +229,539 @@ public abstract class AbstractDAO<T> {
         return results;
     }
 
+    /**
+     * Template method for loading many entities by id with as few round trips as possible,
+     * instead of one {@code findById} per id.
+     * <p>
+     * The ids are de-duplicated and sent as {@code WHERE idColumn IN (...)} queries of at most
+     * {@value #MAX_IN_LIST_SIZE} ids each. Each list is padded, by repeating its last id, to the
+     * next power of two, so the server sees a handful of distinct statements to prepare and
+     * cache rather than one per list length. Inside a transaction, ids already in the identity
+     * map are not queried, and the loaded entities are added to it.
+     *
+     * @param selectSql The query without a WHERE clause, e.g. {@code SELECT ... FROM employees}.
+     * @param idColumn The id column, qualified if the query joins.
+     * @param ids The ids to load; may be empty or contain duplicates.
+     * @param idOf Reads the id back from a mapped entity.
+     * @param mapper A lambda expression to map the ResultSet row to an entity.
+     * @return The entities found, keyed by id, in the order of {@code ids}; ids with no row are absent.
+     */
+    protected <K> Map<K, T> findByIds(
+        String selectSql,
+        String idColumn,
+        Collection<K> ids,
+        Function<T, K> idOf,
+        RowMapper<T> mapper
+    ) {
+        if (ids.isEmpty())
+            return Map.of();
+
+        Optional<TransactionContext> tx = dbManager.currentTransaction();
+        Map<K, T> found = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+
+        for (K id : new LinkedHashSet<>(ids)) {
+            Optional<T> cached = tx.flatMap(context -> context.<T>findEntity(getClass(), id));
+            if (cached.isPresent())
+                found.put(id, cached.get());
+            else
+                missing.add(id);
+        }
+
+        for (int from = 0; from < missing.size(); from += MAX_IN_LIST_SIZE) {
+            List<K> chunk = missing.subList(from, Math.min(from + MAX_IN_LIST_SIZE, missing.size()));
+            int listSize = Math.min(MAX_IN_LIST_SIZE, Integer.highestOneBit(chunk.size() * 2 - 1));
+            String sql = selectSql + " WHERE " + idColumn + " IN (" + String.join(", ", Collections.nCopies(listSize, "?")) + ")";
+
+            List<T> loaded = findMany(sql, stmt -> {
+                for (int i = 0; i < listSize; i++)
+                    stmt.setObject(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+            }, mapper);
+
+            for (T entity : loaded) {
+                K id = idOf.apply(entity);
+                found.put(id, entity);
+                rememberEntity(id, entity);
+            }
+        }
+
+        Map<K, T> ordered = new LinkedHashMap<>();
+        for (K id : ids) {
+            T entity = found.get(id);
+            if (entity != null)
+                ordered.put(id, entity);
+        }
+
+        return ordered;
+    }
+
+    /**
+     * A sort order that {@link #findPage} can seek into: one {@code NOT NULL} column, with the
+     * id as a tie-breaker so the order is total. An index on the column lets MySQL read a page
+     * straight from the index; InnoDB appends the primary key to secondary indexes, so the
+     * tie-breaker comes for free.
+     *
+     * @param name The sort name clients pass to {@link DAO#findPage}.
+     * @param column The sort column as written in the query, or {@code null} to sort by id alone.
+     * @param idColumn The id column as written in the query.
+     * @param descending Whether to sort from the highest value down.
+     * @param value Reads the sort column value from an entity; a String, Integer or LocalDateTime.
+     * @param id Reads the id from an entity.
+     * @param <E> The type of the entity.
+     */
+    protected record Keyset<E>(
+        String name,
+        String column,
+        String idColumn,
+        boolean descending,
+        Function<E, Object> value,
+        ToIntFunction<E> id
+    ) {
+        /**
+         * A sort on {@code column}, with the id as tie-breaker. The canonical constructor shares
+         * the record's protected access, so DAOs in other packages create keysets through here.
+         */
+        public static <E> Keyset<E> by(
+            String name,
+            String column,
+            String idColumn,
+            boolean descending,
+            Function<E, Object> value,
+            ToIntFunction<E> id
+        ) {
+            return new Keyset<>(name, column, idColumn, descending, value, id);
+        }
+
+        public static <E> Keyset<E> byId(String name, String idColumn, ToIntFunction<E> id) {
+            return new Keyset<>(name, null, idColumn, false, entity -> null, id);
+        }
+
+        String orderBy() {
+            String direction = descending ? " DESC" : " ASC";
+            return column == null
+                ? idColumn + direction
+                : column + direction + ", " + idColumn + direction;
+        }
+
+        /**
+         * The seek condition, written so MySQL can range-scan on the sort column:
+         * {@code col > ? OR (col = ? AND id > ?)} alone would not use the index.
+         */
+        String seekCondition() {
+            String past = descending ? " < ?" : " > ?";
+            return column == null
+                ? idColumn + past
+                : column + (descending ? " <= ?" : " >= ?") + " AND (" + column + past + " OR " + idColumn + past + ")";
+        }
+
+        int bind(PreparedStatement stmt, int index, PageKey key) throws SQLException {
+            if (column != null) {
+                stmt.setObject(index++, key.value());
+                stmt.setObject(index++, key.value());
+            }
+            stmt.setInt(index++, key.id());
+            return index;
+        }
+
+        PageKey keyOf(E entity) {
+            return new PageKey(name, value.apply(entity), id.applyAsInt(entity));
+        }
+    }
+
+    /**
+     * Looks up one of a DAO's page sorts by name.
+     *
+     * @param sorts The DAO's page sorts.
+     * @param name The requested sort name.
+     * @return The matching sort.
+     * @throws IllegalArgumentException If no sort has that name.
+     */
+    protected static <E> Keyset<E> keyset(List<Keyset<E>> sorts, String name) {
+        for (Keyset<E> keyset : sorts) {
+            if (keyset.name().equals(name))
+                return keyset;
+        }
+
+        throw new IllegalArgumentException("Unknown sort '" + name + "'; expected one of "
+            + sorts.stream().map(Keyset::name).toList() + ".");
+    }
+
+    /**
+     * Template method for keyset pagination. The query is extended with an optional filter,
+     * the seek condition for {@code afterKey}, the keyset's ORDER BY and a LIMIT. One row more
+     * than {@code limit} is read to tell whether another page follows. Outside a transaction,
+     * the query may be served by a read replica. Like {@link #findMany}, the rows may be
+     * mapped to a projection instead of the entity.
+     *
+     * @param selectSql The SELECT ... FROM part of the query, without WHERE or ORDER BY.
+     * @param filter A WHERE condition restricting the rows, or {@code null} for none.
+     * @param filterParameters The number of {@code ?} placeholders in the filter; the keyset's
+     *                         parameters are bound after them.
+     * @param filterSetter Sets the filter's parameters, starting at index 1.
+     * @param keyset The sort order to page through.
+     * @param afterKey The key of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of entities to return; must be positive.
+     * @param mapper A lambda expression to map each ResultSet row to an entity or projection.
+     * @return The page of results.
+     */
+    protected <R> Page<R> findPage(
+        String selectSql,
+        String filter,
+        int filterParameters,
+        StatementSetter filterSetter,
+        Keyset<R> keyset,
+        PageKey afterKey,
+        int limit,
+        RowMapper<R> mapper
+    ) {
+        if (limit < 1)
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        if (filterParameters < 0 || (filter == null && filterParameters != 0))
+            throw new IllegalArgumentException("Invalid filter parameter count: " + filterParameters);
+        if (afterKey != null && !afterKey.sort().equals(keyset.name()))
+            throw new IllegalArgumentException("Page key was issued for sort '" + afterKey.sort()
+                + "', not '" + keyset.name() + "'.");
+
+        List<String> conditions = new ArrayList<>(2);
+        if (filter != null)
+            conditions.add(filter);
+        if (afterKey != null)
+            conditions.add(keyset.seekCondition());
+
+        String sql = selectSql
+            + (conditions.isEmpty() ? "" : " WHERE (" + String.join(") AND (", conditions) + ")")
+            + " ORDER BY " + keyset.orderBy()
+            + " LIMIT ?";
+
+        List<R> rows = findMany(sql, stmt -> {
+            filterSetter.setValues(stmt);
+
+            int index = filterParameters + 1;
+            if (afterKey != null)
+                index = keyset.bind(stmt, index, afterKey);
+            stmt.setInt(index, limit + 1);
+        }, mapper);
+
+        if (rows.size() <= limit)
+            return new Page<>(rows, null);
+
+        List<R> items = rows.subList(0, limit);
+        return new Page<>(items, keyset.keyOf(items.getLast()));
+    }
+
+    /**
+     * Template method for a query built from caller-supplied {@link Criteria}. The statement for
+     * the criteria's shape comes from {@code query}, which renders it once and caches it; the
+     * filter values and limit are bound as parameters. Like {@link #findMany}, the query may be
+     * served by a read replica, and the rows may be mapped to a projection instead of the entity.
+     *
+     * @param query Maps the criteria's fields to the columns of the DAO's SELECT.
+     * @param criteria The filters, sort and limit to apply.
+     * @param mapper A lambda expression to map each ResultSet row to an entity or projection.
+     * @return The matching rows, in the criteria's order.
+     * @throws IllegalArgumentException If the criteria use a field the query does not support.
+     */
+    protected <E, R> List<R> findMatching(CriteriaQuery<E> query, Criteria<E> criteria, RowMapper<R> mapper) {
+        return findMany(query.sqlFor(criteria), stmt -> query.bind(stmt, criteria), mapper);
+    }
+
+    /**
+     * Template method for executing a query whose rows are consumed one at a time, for result
+     * sets too large to hold in memory (exports, reports, reconciliation).
+     * <p>
+     * Rows are read through a MySQL server-side cursor, {@link DatabaseManager#getStreamFetchSize()}
+     * rows per round trip, so memory use does not grow with the table. The statement and
+     * connection stay open until the stream is exhausted or closed; callers must close it,
+     * normally with try-with-resources. Outside a transaction, the query may be served by a
+     * read replica.
+     *
+     * @param sql The SQL query to execute.
+     * @param setter A lambda expression to set the query parameters on the PreparedStatement.
+     * @param mapper A lambda expression to map each ResultSet row to an entity.
+     * @return A lazily populated, sequential {@link Stream} of entities.
+     */
+    protected Stream<T> stream(String sql, StatementSetter setter, RowMapper<T> mapper) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet result = null;
+        RowMapper<T> rowMapper;
+        long start = 0;
+
+        try {
+            conn = dbManager.getReadConnection();
+            start = System.nanoTime();
+            stmt = conn.prepareStatement(sql);
+            stmt.setFetchSize(dbManager.getStreamFetchSize());
+            setter.setValues(stmt);
+            result = stmt.executeQuery();
+            rowMapper = mapper.bind(result.getMetaData());
+        } catch (SQLException e) {
+            if (conn != null)
+                recordFailure(sql, start, setter);
+            closeCursor(result, stmt, conn);
+            throw new DataAccessException("Error executing query: " + sql, e);
+        }
+
+        Cursor cursor = new Cursor(sql, setter, rowMapper, result, stmt, conn, System.nanoTime() - start);
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    /**
+     * Walks an open result set for {@link #stream}, closing it as soon as the last row is read.
+     * The time recorded for the query is the time spent fetching and mapping rows, not the
+     * time the consumer spends on them.
+     */
+    private final class Cursor extends Spliterators.AbstractSpliterator<T> {
+        private final String sql;
+        private final StatementSetter setter;
+        private final RowMapper<T> mapper;
+        private final ResultSet result;
+        private final PreparedStatement stmt;
+        private final Connection conn;
+        private long busyNanos;
+        private long rows;
+        private boolean failed;
+        private boolean closed;
+
+        Cursor(
+            String sql,
+            StatementSetter setter,
+            RowMapper<T> mapper,
+            ResultSet result,
+            PreparedStatement stmt,
+            Connection conn,
+            long executeNanos
+        ) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.sql = sql;
+            this.setter = setter;
+            this.mapper = mapper;
+            this.result = result;
+            this.stmt = stmt;
+            this.conn = conn;
+            this.busyNanos = executeNanos;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed)
+                return false;
+
+            long start = System.nanoTime();
+            T row;
+            try {
+                if (!result.next()) {
+                    busyNanos += System.nanoTime() - start;
+                    close();
+                    return false;
+                }
+
+                row = mapper.mapRow(result);
+                busyNanos += System.nanoTime() - start;
+                rows++;
+            } catch (SQLException e) {
+                busyNanos += System.nanoTime() - start;
+                failed = true;
+                close();
+                throw new DataAccessException("Error streaming query: " + sql, e);
+            }
+
+            action.accept(row);
+            return true;
+        }
+
+        void close() {
+            if (closed)
+                return;
+
+            closed = true;
+            if (failed)
+                dbManager.getQueryMetrics().recordFailure(sql, busyNanos, () -> ParameterShapes.of(setter));
+            else
+                dbManager.getQueryMetrics().record(sql, busyNanos, rows, () -> ParameterShapes.of(setter));
+            closeCursor(result, stmt, conn);
+        }
+    }
+
+    private void closeCursor(ResultSet result, PreparedStatement stmt, Connection conn) {
+        try {
+            if (result != null)
+                result.close();
+            if (stmt != null)
+                stmt.close();
+        } catch (SQLException e) {
+            logger.warn("Error closing streamed query.", e);
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
     /**
      * Template method for executing an INSERT, UPDATE, or DELETE statement.
+     * Inside a transaction, this DAO's identity map entries are dropped first, since
+     * the statement may change any of them. In unit-of-work mode the statement is
+     * queued and sent in a batch later.
+     * <p>
+     * No row count is returned. The connection reports affected rows ({@code useAffectedRows=true}),
+     * so an UPDATE that matches a row already holding the new values counts 0, the same as one
+     * matching no row; a count cannot tell "not found" apart. Check existence separately.
      *
      * @param sql The SQL statement to execute.
      * @param setter A lambda expression to set the parameters on the PreparedStatement.
      */
     protected void executeUpdate(String sql, StatementSetter setter) {
+        Optional<TransactionContext> tx = dbManager.currentTransaction();
+        tx.ifPresent(context -> context.evictEntities(getClass()));
+
+        Optional<UnitOfWork> unitOfWork = tx.flatMap(TransactionContext::unitOfWork);
+        if (unitOfWork.isPresent()) {
+            enqueue(unitOfWork.get(), sql, setter, null, "Error queueing update: " + sql);
+            return;
+        }
+
+        runUpdate(sql, setter);
+    }
+
+    /**
+     * Template method for an optimistically locked UPDATE of a {@link Versioned} entity.
+     * <p>
+     * The statement must advance the version and be conditional on the one the entity was
+     * read at, i.e. end in {@code SET ..., version = version + 1 WHERE id = ? AND version = ?},
+     * with the setter binding {@code entity.getVersion()} last. It runs as one statement with
+     * no prior read or row lock; if it affects no row, the row was changed or deleted since it
+     * was read and an {@link OptimisticLockingFailureException} is thrown. Bumping the version
+     * always changes the row, so the affected-row count is reliable here. On success the
+     * entity's version is advanced to match the row.
+     * <p>
+     * The affected row count is needed straight away, so in unit-of-work mode the statement
+     * is not queued; acquiring the connection flushes the writes queued before it.
+     *
+     * @param sql The conditional UPDATE statement.
+     * @param setter A lambda expression to set the parameters, ending with the expected version.
+     * @param entityType The entity's name for the conflict message, e.g. "Employee".
+     * @param entity The entity being saved.
+     * @throws OptimisticLockingFailureException If the row is no longer at the entity's version.
+     */
+    protected void executeVersionedUpdate(
+        String sql,
+        StatementSetter setter,
+        String entityType,
+        Versioned entity
+    ) {
+        dbManager.currentTransaction().ifPresent(context -> context.evictEntities(getClass()));
+
+        if (runUpdate(sql, setter) == 0)
+            throw new OptimisticLockingFailureException(entityType, entity.getId(), entity.getVersion());
+
+        entity.setVersion(entity.getVersion() + 1);
+    }
+
+    /**
+     * Template method for an optimistically locked UPDATE of just the fields of an entity that
+     * changed since it was loaded or last written.
+     * <p>
+     * The statement for the changed fields comes from {@code update}, which builds each variant
+     * once, and runs through {@link #executeVersionedUpdate}. If nothing changed no statement
+     * is sent. An entity the DAO has not tracked, e.g. one mapped from a DTO, counts as changed
+     * in every field. Afterwards the entity is marked clean.
+     *
+     * @param update Describes the entity's table and columns.
+     * @param entity The entity being saved.
+     * @param entityType The entity's name for the conflict message, e.g. "Employee".
+     * @throws OptimisticLockingFailureException If the row is no longer at the entity's version.
+     */
+    protected <F extends Enum<F>, E extends DirtyTracked<F> & Versioned> void executePartialUpdate(
+        PartialUpdate<F, E> update,
+        E entity,
+        String entityType
+    ) {
+        Set<F> changed = entity.changedFields();
+        if (changed.isEmpty())
+            return;
+
+        executeVersionedUpdate(
+            update.sqlFor(changed),
+            stmt -> update.bind(stmt, changed, entity),
+            entityType,
+            entity
+        );
+        entity.markClean();
+    }
+
+    /**
+     * Template method for an {@code INSERT IGNORE} that leans on a unique key to skip
+     * duplicates, e.g. enrolling an employee in a course at most once.
+     * <p>
+     * One statement both checks and inserts, so there is no extra read and no window for a
+     * concurrent insert between the two; the unique key decides. {@code IGNORE} also
+     * downgrades every other error to a warning: a missing foreign key skips the row, while a
+     * {@code NULL} for a {@code NOT NULL} column or a converted or truncated value is written
+     * anyway. Every such warning fails the call, even when a row was written, so only
+     * duplicate-key rows are skipped quietly; run in a transaction for that row to be undone.
+     * <p>
+     * Whether a row was created is needed straight away, so in unit-of-work mode the
+     * statement is not queued; acquiring the connection flushes the writes queued before it.
+     *
+     * @param sql The {@code INSERT IGNORE} statement for one row.
+     * @param setter A lambda expression to set the parameters on the PreparedStatement.
+     * @return {@code true} if the row was created, {@code false} if the unique key already held one.
+     */
+    protected boolean insertIgnore(String sql, StatementSetter setter) {
+        return runUpdate(sql, setter, SqlWarnings::rejectIgnoredErrors) == 1;
+    }
+
+    /**
+     * Template method for an {@code INSERT ... ON DUPLICATE KEY UPDATE}, which inserts a row
+     * or, if a unique key already holds one, updates that row instead, in one statement.
+     * <p>
+     * The connection reports affected rather than found rows ({@code useAffectedRows=true}),
+     * so MySQL returns 1 for an inserted row, 2 for an updated one and 0 for one left as it was.
+     * This DAO's identity map entries are dropped first, since the row may be an existing
+     * entity. As with {@link #insertIgnore}, the statement is never queued in unit-of-work mode.
+     *
+     * @param sql The upsert statement for one row.
+     * @param setter A lambda expression to set the parameters on the PreparedStatement.
+     * @return {@code true} if a new row was created, {@code false} if an existing one was kept or updated.
+     */
+    protected boolean upsert(String sql, StatementSetter setter) {
+        dbManager.currentTransaction().ifPresent(context -> context.evictEntities(getClass()));
+
+        return runUpdate(sql, setter) == 1;
+    }
+
+    /** Inspects an executed statement before its time is recorded, e.g. to check its warnings. */
+    @FunctionalInterface
+    private interface ExecutionCheck {
+        void check(PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Runs one statement straight away and returns its affected-row count. For an UPDATE that
+     * counts changed rows only, since the connection sets {@code useAffectedRows=true}.
+     */
+    private int runUpdate(String sql, StatementSetter setter) {
+        return runUpdate(sql, setter, stmt -> {});
+    }
+
+    private int runUpdate(String sql, StatementSetter setter, ExecutionCheck check) {
         Connection conn = null;
 
         try {
             conn = dbManager.getConnection();
+            long start = System.nanoTime();
+            int affectedRows;
 
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 setter.setValues(stmt);
-                stmt.executeUpdate();
-
-                logger.info("{}", stmt);
+                affectedRows = stmt.executeUpdate();
+                check.check(stmt);
+            } catch (SQLException e) {
+                recordFailure(sql, start, setter);
+                throw e;
             }
+
+            recordExecution(sql, start, affectedRows, setter);
+            return affectedRows;
         } catch (SQLException e) {
             throw new DataAccessException("Error executing update: " + sql, e);
         } finally {
@@ -121,6 +769,248 @@ public abstract class AbstractDAO<T> {
         }
     }
 
+    /**
+     * Template method for executing an INSERT that generates a key.
+     * <p>
+     * Outside unit-of-work mode the statement runs immediately and the key is passed to
+     * {@code keyConsumer} before this method returns. In unit-of-work mode the insert is
+     * queued, and the key is delivered when its batch is flushed.
+     *
+     * @param sql The INSERT statement to execute.
+     * @param setter A lambda expression to set the parameters on the PreparedStatement.
+     * @param keyConsumer Receives the generated key, typically the entity's {@code setId}.
+     * @param errorMessage The message for the {@link DataAccessException} thrown on failure.
+     */
+    protected void executeInsert(String sql, StatementSetter setter, IntConsumer keyConsumer, String errorMessage) {
+        Optional<UnitOfWork> unitOfWork = dbManager.currentTransaction().flatMap(TransactionContext::unitOfWork);
+        if (unitOfWork.isPresent()) {
+            enqueue(unitOfWork.get(), sql, setter, keyConsumer, errorMessage);
+            return;
+        }
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            long start = System.nanoTime();
+            int affectedRows;
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                setter.setValues(stmt);
+                affectedRows = stmt.executeUpdate();
+
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (!keys.next())
+                        throw new DataAccessException(errorMessage + ": no ID obtained.", null);
+
+                    keyConsumer.accept(keys.getInt(1));
+                }
+            } catch (SQLException e) {
+                recordFailure(sql, start, setter);
+                throw e;
+            }
+
+            recordExecution(sql, start, affectedRows, setter);
+        } catch (SQLException e) {
+            throw new DataAccessException(errorMessage, e);
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * A functional interface that defines the contract for binding one entity's
+     * parameters on a batched {@link PreparedStatement}.
+     *
+     * @param <E> The type of the entity being bound.
+     */
+    @FunctionalInterface
+    protected interface EntitySetter<E> {
+        void setValues(PreparedStatement stmt, E entity) throws SQLException;
+    }
+
+    /**
+     * Template method for inserting many new entities with JDBC batches.
+     * <p>
+     * Parameters are bound with {@link #setSaveParameters}, and the rows are sent in chunks of
+     * {@link DatabaseManager#getBatchSize()}; with {@code rewriteBatchedStatements=true} the driver
+     * turns each chunk into multi-row INSERTs. Generated ids are set back on the entities in order.
+     * In unit-of-work mode the inserts are queued instead, and the ids arrive when they are flushed.
+     * Outside a transaction each chunk commits on its own.
+     *
+     * @param sql The INSERT statement to execute for every entity.
+     * @param entities The entities to insert; may be empty.
+     * @param idSetter Receives each entity with its generated key, typically {@code Entity::setId}.
+     * @param errorMessage The message for the {@link DataAccessException} thrown on failure.
+     */
+    protected void insertBatch(String sql, List<T> entities, ObjIntConsumer<T> idSetter, String errorMessage) {
+        if (entities.isEmpty())
+            return;
+
+        Optional<UnitOfWork> unitOfWork = dbManager.currentTransaction().flatMap(TransactionContext::unitOfWork);
+        if (unitOfWork.isPresent()) {
+            for (T entity : entities)
+                enqueue(unitOfWork.get(), sql, stmt -> setSaveParameters(stmt, entity), id -> idSetter.accept(entity, id), errorMessage);
+            return;
+        }
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (List<T> chunk : chunks(entities)) {
+                    StatementSetter firstRow = recorder -> setSaveParameters(recorder, chunk.getFirst());
+                    long start = System.nanoTime();
+
+                    try {
+                        for (T entity : chunk) {
+                            setSaveParameters(stmt, entity);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+
+                        try (ResultSet keys = stmt.getGeneratedKeys()) {
+                            for (T entity : chunk) {
+                                if (!keys.next())
+                                    throw new DataAccessException(errorMessage + ": fewer IDs obtained than rows inserted.", null);
+
+                                idSetter.accept(entity, keys.getInt(1));
+                            }
+                        }
+                    } catch (SQLException e) {
+                        recordFailure(sql, start, firstRow);
+                        throw e;
+                    }
+
+                    recordExecution(sql, start, chunk.size(), firstRow);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException(errorMessage, e);
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Template method for updating many existing entities with JDBC batches, in chunks of
+     * {@link DatabaseManager#getBatchSize()}. Like {@link #executeUpdate}, this DAO's identity map
+     * entries are dropped first, and in unit-of-work mode the updates are queued instead.
+     * <p>
+     * {@link Versioned} entities are updated as by {@link #executeVersionedUpdate}: every row's
+     * count is checked, so they are never queued, and their versions are advanced once their
+     * chunk succeeds. A row whose version no longer matches fails the batch with an
+     * {@link OptimisticLockingFailureException}; outside a transaction, earlier chunks stay committed.
+     *
+     * @param sql The UPDATE statement to execute for every entity.
+     * @param entities The entities to update; may be empty.
+     * @param setter Binds one entity's parameters, typically {@link #setSaveParameters} plus the id.
+     * @param errorMessage The message for the {@link DataAccessException} thrown on failure.
+     */
+    protected void updateBatch(String sql, List<T> entities, EntitySetter<T> setter, String errorMessage) {
+        if (entities.isEmpty())
+            return;
+
+        Optional<TransactionContext> tx = dbManager.currentTransaction();
+        tx.ifPresent(context -> context.evictEntities(getClass()));
+
+        boolean versioned = entities.getFirst() instanceof Versioned;
+        Optional<UnitOfWork> unitOfWork = tx.flatMap(TransactionContext::unitOfWork);
+        if (unitOfWork.isPresent() && !versioned) {
+            for (T entity : entities)
+                enqueue(unitOfWork.get(), sql, stmt -> setter.setValues(stmt, entity), null, errorMessage);
+            return;
+        }
+
+        Connection conn = null;
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (List<T> chunk : chunks(entities)) {
+                    StatementSetter firstRow = recorder -> setter.setValues(recorder, chunk.getFirst());
+                    long start = System.nanoTime();
+
+                    int[] counts;
+
+                    try {
+                        for (T entity : chunk) {
+                            setter.setValues(stmt, entity);
+                            stmt.addBatch();
+                        }
+                        counts = stmt.executeBatch();
+                    } catch (SQLException e) {
+                        recordFailure(sql, start, firstRow);
+                        throw e;
+                    }
+
+                    recordExecution(sql, start, chunk.size(), firstRow);
+
+                    if (versioned)
+                        advanceVersions(chunk, counts);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException(errorMessage, e);
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Records a successful execution that started at {@code startNanos}. The parameter shapes
+     * are only worked out if the execution turns out to be slow.
+     */
+    private void recordExecution(String sql, long startNanos, long rows, StatementSetter setter) {
+        dbManager.getQueryMetrics().record(sql, System.nanoTime() - startNanos, rows, () -> ParameterShapes.of(setter));
+    }
+
+    private void recordFailure(String sql, long startNanos, StatementSetter setter) {
+        dbManager.getQueryMetrics().recordFailure(sql, System.nanoTime() - startNanos, () -> ParameterShapes.of(setter));
+    }
+
+    /**
+     * Checks a versioned batch's row counts, then advances the versions of its entities.
+     * Drivers that report {@link Statement#SUCCESS_NO_INFO} cannot reveal a conflict, so
+     * those rows are taken as updated.
+     */
+    private void advanceVersions(List<T> chunk, int[] counts) {
+        for (int i = 0; i < chunk.size(); i++) {
+            if (counts[i] == 0) {
+                Versioned stale = (Versioned) chunk.get(i);
+                throw new OptimisticLockingFailureException(
+                    stale.getClass().getSimpleName(), stale.getId(), stale.getVersion());
+            }
+        }
+
+        for (T entity : chunk) {
+            Versioned versioned = (Versioned) entity;
+            versioned.setVersion(versioned.getVersion() + 1);
+        }
+    }
+
+    private List<List<T>> chunks(List<T> entities) {
+        int size = dbManager.getBatchSize();
+        List<List<T>> chunks = new ArrayList<>();
+
+        for (int from = 0; from < entities.size(); from += size)
+            chunks.add(entities.subList(from, Math.min(from + size, entities.size())));
+
+        return chunks;
+    }
+
+    private static void enqueue(
+        UnitOfWork unitOfWork,
+        String sql,
+        StatementSetter setter,
+        IntConsumer keyConsumer,
+        String errorMessage
+    ) {
+        try {
+            unitOfWork.enqueue(sql, setter::setValues, keyConsumer);
+        } catch (SQLException e) {
+            throw new DataAccessException(errorMessage, e);
+        }
+    }
+
     /**
      * Inserts a new entity into the data store.
      *
@@ -152,14 +1042,29 @@ public abstract class AbstractDAO<T> {
         return queryForLong(sql, "total", "Error counting rows in " + tableName);
     }
 
+    /**
+     * Runs a single-value query such as a count. Outside a transaction, the query
+     * may be served by a read replica.
+     */
     protected long queryForLong(String sql, String column, String errorMessage) {
         Connection conn = null;
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
+            long start = System.nanoTime();
+            long value;
+            boolean found;
+
             try (PreparedStatement stmt = conn.prepareStatement(sql);
                  ResultSet rs = stmt.executeQuery()) {
-                return rs.next() ? rs.getLong(column) : 0L;
+                found = rs.next();
+                value = found ? rs.getLong(column) : 0L;
+            } catch (SQLException e) {
+                recordFailure(sql, start, stmt -> { /* no params */ });
+                throw e;
             }
+
+            recordExecution(sql, start, found ? 1 : 0, stmt -> { /* no params */ });
+            return value;
         } catch (SQLException e) {
             throw new DataAccessException(errorMessage, e);
         } finally {
@@ -179,21 +1084,31 @@ public abstract class AbstractDAO<T> {
         Connection conn = null;
         try {
             conn = dbManager.getConnection();
+            long start = System.nanoTime();
+            int affectedRows;
+            int key;
+
             try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 binder.accept(stmt);
 
-                int affectedRows = stmt.executeUpdate();
+                affectedRows = stmt.executeUpdate();
                 if (affectedRows == 0) {
                     throw new DataAccessException(noRowsMessage, null);
                 }
 
                 try (ResultSet keys = stmt.getGeneratedKeys()) {
-                    if (keys.next()) {
-                        return keys.getInt(1);
+                    if (!keys.next()) {
+                        throw new DataAccessException(noIdMessage, null);
                     }
-                    throw new DataAccessException(noIdMessage, null);
+                    key = keys.getInt(1);
                 }
+            } catch (SQLException e) {
+                recordFailure(sql, start, binder::accept);
+                throw e;
             }
+
+            recordExecution(sql, start, affectedRows, binder::accept);
+            return key;
         } catch (SQLException e) {
             throw new DataAccessException(errorMessage, e);
         } finally {
@@ -0,0 +1,73 @@
+package org.bhel.hrm.server.daos;
+
+import org.bhel.hrm.server.config.DatabaseExecutor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An asynchronous view of a {@link DAO}. Each call runs on the {@link DatabaseExecutor},
+ * so a service can start several independent queries and join them, instead of paying
+ * their latencies one after another on the calling thread.
+ * <p>
+ * DAO-specific queries can be run the same way through {@link DatabaseExecutor#supplyAsync}.
+ *
+ * @param <T> The type of the domain entity (e.g., Employee, User).
+ * @param <ID> The type of the entity's primary key (e.g., Integer).
+ */
+public final class AsyncDAO<T, ID> {
+    private final DAO<T, ID> dao;
+    private final DatabaseExecutor executor;
+
+    public AsyncDAO(DAO<T, ID> dao, DatabaseExecutor executor) {
+        this.dao = dao;
+        this.executor = executor;
+    }
+
+    /**
+     * @see DAO#findById(Object)
+     */
+    public CompletableFuture<Optional<T>> findById(ID id) {
+        return executor.supplyAsync(() -> dao.findById(id));
+    }
+
+    /**
+     * @see DAO#findAll()
+     */
+    public CompletableFuture<List<T>> findAll() {
+        return executor.supplyAsync(dao::findAll);
+    }
+
+    /**
+     * @see DAO#count()
+     */
+    public CompletableFuture<Long> count() {
+        return executor.supplyAsync(dao::count);
+    }
+
+    /**
+     * Saves an entity outside any transaction. Fails when called from inside one,
+     * since the write would otherwise escape it.
+     *
+     * @see DAO#save(Object)
+     */
+    public CompletableFuture<Void> save(T entity) {
+        return executor.supplyAsync(() -> {
+            dao.save(entity);
+            return null;
+        });
+    }
+
+    /**
+     * Deletes an entity outside any transaction, like {@link #save(Object)}.
+     *
+     * @see DAO#deleteById(Object)
+     */
+    public CompletableFuture<Void> deleteById(ID id) {
+        return executor.supplyAsync(() -> {
+            dao.deleteById(id);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package org.bhel.hrm.server.daos;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The column positions of one result set, looked up by label.
+ * <p>
+ * Built once per result set from its {@link ResultSetMetaData}, so a row mapper can resolve
+ * the columns it needs up front and then read every row by index, rather than having the
+ * driver search for a label on every {@code getXxx(String)} call.
+ */
+public final class Columns {
+    private final Map<String, Integer> indexes;
+
+    Columns(ResultSetMetaData metaData) throws SQLException {
+        int count = metaData.getColumnCount();
+        this.indexes = HashMap.newHashMap(count);
+
+        // Like ResultSet.findColumn, the first column with a given label wins
+        for (int i = 1; i <= count; i++)
+            indexes.putIfAbsent(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+    }
+
+    /**
+     * Returns the position of a column, ignoring case as {@link java.sql.ResultSet#findColumn} does.
+     *
+     * @param label The column label, i.e. its alias or name
+     * @return The 1-based column index
+     * @throws SQLException If the result set has no such column
+     */
+    public int index(String label) throws SQLException {
+        Integer index = indexes.get(label.toLowerCase(Locale.ROOT));
+        if (index == null)
+            throw new SQLException("Column '" + label + "' not found in result set.");
+
+        return index;
+    }
+}
@@ -0,0 +1,164 @@
+package org.bhel.hrm.server.daos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * The filters, sort and limit of a query against one kind of entity, for the DAO finders that
+ * accept them, e.g. {@link LeaveApplicationDAO#find}.
+ * <p>
+ * Criteria are written against the {@link Field}s a DAO publishes, never against columns: the
+ * DAO's {@link CriteriaQuery} maps each field to its column and rejects any field it does not
+ * support, so callers cannot inject SQL or sort on an unindexed column. The values are always
+ * bound as parameters, and criteria that differ only in their values share one SQL statement.
+ *
+ * <pre>{@code
+ * leaveDAO.find(Criteria.where(LeaveApplicationDAO.EMPLOYEE_ID, Operator.EQUALS, employeeId)
+ *     .orderBy(LeaveApplicationDAO.START_DATE_TIME, true)
+ *     .limit(50));
+ * }</pre>
+ *
+ * @param <E> The entity the criteria apply to; keeps one DAO's fields out of another's queries.
+ */
+public final class Criteria<E> {
+    /**
+     * A field of an entity that criteria can filter or sort on.
+     *
+     * @param name The field's name, as used in error messages
+     * @param <E>  The entity the field belongs to
+     * @param <V>  The type of the field's values
+     */
+    public record Field<E, V>(String name) {
+        public Field {
+            Objects.requireNonNull(name, "name");
+        }
+    }
+
+    /** How a filter compares a field with its value. */
+    public enum Operator {
+        EQUALS("= ?"),
+        NOT_EQUALS("<> ?"),
+        LESS_THAN("< ?"),
+        AT_MOST("<= ?"),
+        GREATER_THAN("> ?"),
+        AT_LEAST(">= ?"),
+        /** Matches text beginning with the value; it can still use an index on the column. */
+        STARTS_WITH("LIKE ? ESCAPE '!'");
+
+        private final String sql;
+
+        Operator(String sql) {
+            this.sql = sql;
+        }
+
+        String sql() {
+            return sql;
+        }
+    }
+
+    record Filter<E>(Field<E, ?> field, Operator operator, Object value) {}
+
+    private final List<Filter<E>> filters = new ArrayList<>();
+    private Field<E, ?> sortField;
+    private boolean descending;
+    private int limit;
+
+    private Criteria() {}
+
+    /**
+     * @return Criteria matching every entity, in the DAO's default order
+     */
+    public static <E> Criteria<E> all() {
+        return new Criteria<>();
+    }
+
+    /**
+     * Starts criteria with one filter.
+     *
+     * @param field The field to compare
+     * @param operator How to compare it
+     * @param value The value to compare it with; never {@code null}
+     * @return The new criteria
+     */
+    public static <E, V> Criteria<E> where(Field<E, V> field, Operator operator, V value) {
+        return new Criteria<E>().and(field, operator, value);
+    }
+
+    /**
+     * Adds a filter; an entity must match all of them.
+     *
+     * @param field The field to compare
+     * @param operator How to compare it
+     * @param value The value to compare it with; never {@code null}
+     * @return These criteria, for chaining
+     */
+    public <V> Criteria<E> and(Field<E, V> field, Operator operator, V value) {
+        Objects.requireNonNull(field, "field");
+        Objects.requireNonNull(operator, "operator");
+        Objects.requireNonNull(value, () -> "Value for " + field.name() + " must not be null.");
+        if (operator == Operator.STARTS_WITH && !(value instanceof String))
+            throw new IllegalArgumentException(field.name() + " is not text and cannot be matched with STARTS_WITH.");
+
+        filters.add(new Filter<>(field, operator, value));
+        return this;
+    }
+
+    /**
+     * Sorts the results by a field. Ties are broken by id, in the same direction.
+     *
+     * @param field The field to sort by; the DAO must allow sorting on it
+     * @param descending Whether to sort from the highest value down
+     * @return These criteria, for chaining
+     */
+    public Criteria<E> orderBy(Field<E, ?> field, boolean descending) {
+        this.sortField = Objects.requireNonNull(field, "field");
+        this.descending = descending;
+        return this;
+    }
+
+    /**
+     * Caps the number of results.
+     *
+     * @param limit The maximum number of entities to return; must be positive
+     * @return These criteria, for chaining
+     */
+    public Criteria<E> limit(int limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+
+        this.limit = limit;
+        return this;
+    }
+
+    List<Filter<E>> filters() {
+        return filters;
+    }
+
+    Field<E, ?> sortField() {
+        return sortField;
+    }
+
+    boolean descending() {
+        return descending;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    /**
+     * Describes everything that decides the SQL text, but none of the values, so criteria
+     * with the same shape render to the same statement.
+     */
+    String shape() {
+        StringJoiner shape = new StringJoiner(",");
+        for (Filter<E> filter : filters)
+            shape.add(filter.field().name() + " " + filter.operator());
+
+        return shape
+            + "|" + (sortField == null ? "" : sortField.name() + (descending ? " DESC" : " ASC"))
+            + "|" + (limit > 0 ? "LIMIT" : "");
+    }
+}
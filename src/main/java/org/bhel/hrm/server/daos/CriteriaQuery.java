@@ -0,0 +1,173 @@
+package org.bhel.hrm.server.daos;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the {@link Criteria.Field}s of one DAO to the columns of its SELECT, and renders
+ * {@link Criteria} against them for {@link AbstractDAO#findMatching}.
+ * <p>
+ * Only the fields registered here can be used; sorting is further limited to the fields
+ * registered with {@link #sortable}, which should be indexed. The statement for each shape of
+ * criteria (which fields are compared how, the sort, whether there is a limit) is rendered once
+ * and cached, and every value, including the limit, is a bind parameter. Each shape therefore
+ * has one stable text, which the server-side statement cache and the query metrics key on.
+ *
+ * @param <E> The entity the criteria apply to.
+ */
+public final class CriteriaQuery<E> {
+    /** Caps the cached statements; criteria beyond it are rendered on every use. */
+    private static final int MAX_CACHED_SHAPES = 256;
+
+    /**
+     * Binds one filter value at the given parameter index.
+     *
+     * @param <V> The type of the field's values.
+     */
+    @FunctionalInterface
+    public interface ValueWriter<V> {
+        void write(PreparedStatement stmt, int index, V value) throws SQLException;
+    }
+
+    private record Column<V>(String name, ValueWriter<V> writer, boolean sortable) {}
+
+    private final String selectSql;
+    private final String idColumn;
+    private final Map<Criteria.Field<E, ?>, Column<?>> columns = new LinkedHashMap<>();
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+    private CriteriaQuery(String selectSql, String idColumn) {
+        this.selectSql = selectSql;
+        this.idColumn = idColumn;
+    }
+
+    /**
+     * Starts describing the criteria a query accepts.
+     *
+     * @param selectSql The SELECT ... FROM part of the query, without WHERE or ORDER BY
+     * @param idColumn The id column as written in the query; the default order and tie-breaker
+     * @return A description without any fields, to add them to with {@link #filterable} and {@link #sortable}
+     */
+    public static <E> CriteriaQuery<E> from(String selectSql, String idColumn) {
+        return new CriteriaQuery<>(selectSql, idColumn);
+    }
+
+    /**
+     * Allows filtering on a field.
+     *
+     * @param field The field callers use
+     * @param column The column as written in the query
+     * @param writer Binds a value of the field
+     * @return This description, for chaining
+     */
+    public <V> CriteriaQuery<E> filterable(Criteria.Field<E, V> field, String column, ValueWriter<V> writer) {
+        columns.put(field, new Column<>(column, writer, false));
+        return this;
+    }
+
+    /**
+     * Allows filtering and sorting on a field.
+     *
+     * @param field The field callers use
+     * @param column The column as written in the query; it should be indexed
+     * @param writer Binds a value of the field
+     * @return This description, for chaining
+     */
+    public <V> CriteriaQuery<E> sortable(Criteria.Field<E, V> field, String column, ValueWriter<V> writer) {
+        columns.put(field, new Column<>(column, writer, true));
+        return this;
+    }
+
+    /**
+     * Returns the statement for criteria of this shape, rendering it on first use.
+     *
+     * @param criteria The criteria to render
+     * @return The SELECT statement
+     * @throws IllegalArgumentException If the criteria use a field this query does not support
+     */
+    String sqlFor(Criteria<E> criteria) {
+        String shape = criteria.shape();
+        String sql = statements.get(shape);
+        if (sql != null)
+            return sql;
+
+        sql = render(criteria);
+        if (statements.size() < MAX_CACHED_SHAPES)
+            statements.putIfAbsent(shape, sql);
+
+        return sql;
+    }
+
+    /**
+     * Binds the filter values in order, followed by the limit.
+     *
+     * @param stmt The statement returned by {@link #sqlFor} for the same criteria
+     * @param criteria The criteria to bind
+     */
+    void bind(PreparedStatement stmt, Criteria<E> criteria) throws SQLException {
+        int index = 1;
+        for (Criteria.Filter<E> filter : criteria.filters()) {
+            Object value = filter.operator() == Criteria.Operator.STARTS_WITH
+                ? escapeLike((String) filter.value()) + "%"
+                : filter.value();
+            write(columnFor(filter.field()), stmt, index++, value);
+        }
+
+        if (criteria.limit() > 0)
+            stmt.setInt(index, criteria.limit());
+    }
+
+    private String render(Criteria<E> criteria) {
+        List<String> conditions = new ArrayList<>(criteria.filters().size());
+        for (Criteria.Filter<E> filter : criteria.filters())
+            conditions.add(columnFor(filter.field()).name() + " " + filter.operator().sql());
+
+        String direction = criteria.descending() ? " DESC" : " ASC";
+        String orderBy = idColumn + direction;
+        if (criteria.sortField() != null) {
+            Column<?> sort = columnFor(criteria.sortField());
+            if (!sort.sortable())
+                throw new IllegalArgumentException("Cannot sort on " + criteria.sortField().name()
+                    + "; expected one of " + sortableNames() + ".");
+
+            orderBy = sort.name() + direction + ", " + orderBy;
+        }
+
+        return selectSql
+            + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+            + " ORDER BY " + orderBy
+            + (criteria.limit() > 0 ? " LIMIT ?" : "");
+    }
+
+    private Column<?> columnFor(Criteria.Field<E, ?> field) {
+        Column<?> column = columns.get(field);
+        if (column == null)
+            throw new IllegalArgumentException("Cannot filter on " + field.name() + "; expected one of "
+                + columns.keySet().stream().map(Criteria.Field::name).toList() + ".");
+
+        return column;
+    }
+
+    private List<String> sortableNames() {
+        return columns.entrySet().stream()
+            .filter(entry -> entry.getValue().sortable())
+            .map(entry -> entry.getKey().name())
+            .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void write(Column<V> column, PreparedStatement stmt, int index, Object value) throws SQLException {
+        // Criteria.and ties each value to its field's type, and the field to this column's
+        column.writer().write(stmt, index, (V) value);
+    }
+
+    /** Escapes the LIKE wildcards with the {@code ESCAPE '!'} character of STARTS_WITH. */
+    private static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
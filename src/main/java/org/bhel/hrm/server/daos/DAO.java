@@ -1,7 +1,11 @@
 package org.bhel.hrm.server.daos;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * A generic Data Access Object (DAO) interface defining the standard CRUD
@@ -19,6 +23,33 @@ public interface DAO<T, ID> {
      */
     Optional<T> findById(ID id);
 
+    /**
+     * Checks whether an entity with the given ID exists. DAOs override this with a
+     * {@code SELECT 1 ... LIMIT 1} probe where services only need the check, not the entity.
+     *
+     * @param id The ID of the entity.
+     * @return {@code true} if the entity exists.
+     */
+    default boolean existsById(ID id) {
+        return findById(id).isPresent();
+    }
+
+    /**
+     * Retrieves the entities with the given IDs. DAOs used to resolve lists of ids, e.g.
+     * a service turning enrollment rows into plans, override this to load them with a few
+     * {@code IN (...)} queries rather than one query per id.
+     *
+     * @param ids The IDs of the entities; may contain duplicates.
+     * @return The entities found, keyed by ID in the order of {@code ids}. IDs with no entity are absent.
+     */
+    default Map<ID, T> findByIds(Collection<ID> ids) {
+        Map<ID, T> found = new LinkedHashMap<>();
+        for (ID id : ids)
+            findById(id).ifPresent(entity -> found.put(id, entity));
+
+        return found;
+    }
+
     /**
      * Retrieves all entities of this type.
      *
@@ -26,6 +57,35 @@ public interface DAO<T, ID> {
      */
     List<T> findAll();
 
+    /**
+     * Retrieves all entities of this type as a stream, in the same order as {@link #findAll()}.
+     * DAOs over large tables override this to read through a server-side cursor, so the rows
+     * are never all held in memory. The stream holds a database connection until it is
+     * closed and must be used in a try-with-resources block.
+     *
+     * @return A {@link Stream} of all entities.
+     */
+    default Stream<T> streamAll() {
+        return findAll().stream();
+    }
+
+    /**
+     * Retrieves one page of entities using keyset pagination: each page seeks directly past
+     * the last row of the previous one, so a page costs the same however deep it is, unlike
+     * {@code OFFSET}. Rows inserted or deleted between calls do not shift later pages.
+     * DAOs over tables that are browsed page by page override this.
+     *
+     * @param afterKey The {@link Page#nextKey()} of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of entities to return; must be positive.
+     * @param sort The name of one of the DAO's page sorts; must match the sort of {@code afterKey}.
+     * @return The page of entities, with the key for the next page if there is one.
+     * @throws IllegalArgumentException If the sort is unknown, or {@code afterKey} belongs to another sort.
+     * @throws UnsupportedOperationException If this DAO does not support paging.
+     */
+    default Page<T> findPage(PageKey afterKey, int limit, String sort) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support paging.");
+    }
+
     /**
      * Saves a given entity. Use the returned instance for further operations
      * as the save operation might have changed the entity instance completely.
@@ -35,6 +95,17 @@ public interface DAO<T, ID> {
      */
     void save(T entity);
 
+    /**
+     * Saves several entities, inserting the new ones and updating the rest. DAOs used for
+     * imports and seeding override this to send the rows as JDBC batches; generated ids are
+     * set on the new entities either way.
+     *
+     * @param entities The entities to save.
+     */
+    default void saveAll(List<T> entities) {
+        entities.forEach(this::save);
+    }
+
     /**
      * Deletes an entity by its ID.
      *
@@ -48,6 +119,4 @@ public interface DAO<T, ID> {
      * @return The count of entities.
      */
     long count();
-
-
 }
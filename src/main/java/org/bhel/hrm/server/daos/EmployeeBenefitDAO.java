@@ -4,7 +4,13 @@ import java.util.List;
 
 public interface EmployeeBenefitDAO {
 
-    void enroll(int employeeId, int planId);
+    /**
+     * Enrolls an employee in a benefit plan unless they already are, in one statement that
+     * relies on the {@code uq_employee_plan} unique key, so concurrent requests cannot both enroll.
+     *
+     * @return {@code true} if the enrollment was created, {@code false} if it already existed
+     */
+    boolean enroll(int employeeId, int planId);
 
     List<Integer> findPlansForEmployee(int employeeId);
 }
@@ -1,7 +1,9 @@
 package org.bhel.hrm.server.daos;
 
+import org.bhel.hrm.common.dtos.EmployeeDTO;
 import org.bhel.hrm.server.domain.Employee;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -9,6 +11,12 @@ import java.util.Optional;
  * Inherits all standard CRUD operations from the generic DAO interface.
  */
 public interface EmployeeDAO extends DAO<Employee, Integer> {
+    /** Page sort by last name, then id; the order of the employee list. */
+    String SORT_BY_LAST_NAME = "lastName";
+
+    /** Page sort by id, i.e. by when the employee was created. */
+    String SORT_BY_ID = "id";
+
     /**
      * Finds the employee record associated with a specific system user.
      *
@@ -18,4 +26,32 @@ public interface EmployeeDAO extends DAO<Employee, Integer> {
 
 
     Optional<Employee> findByUserId(int userId);
+
+    /**
+     * Updates an employee's profile fields (names and IC/passport) in one conditional
+     * statement, without reading the row first. The user account link is left as it is.
+     *
+     * @param employee The employee's id, the version it was read at, and the new profile fields.
+     * @throws org.bhel.hrm.common.exceptions.OptimisticLockingFailureException If the employee
+     *         no longer exists or is no longer at that version.
+     */
+    void updateProfile(Employee employee);
+
+    /**
+     * Retrieves all employees as DTOs, in the same order as {@link #findAll()}, mapping each
+     * row straight into an {@link EmployeeDTO}. For read-only lists; writes go through the entity.
+     *
+     * @return A list of employee DTOs.
+     */
+    List<EmployeeDTO> findAllDtos();
+
+    /**
+     * Retrieves one page of employees as DTOs, like {@link #findPage} without the entities.
+     *
+     * @param afterKey The key of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of employees to return; must be positive.
+     * @param sort The name of one of the page sorts, e.g. {@link #SORT_BY_LAST_NAME}.
+     * @return The page of employee DTOs.
+     */
+    Page<EmployeeDTO> findDtoPage(PageKey afterKey, int limit, String sort);
 }
@@ -1,24 +1,75 @@
 package org.bhel.hrm.server.daos;
 
+import org.bhel.hrm.common.dtos.LeaveApplicationDTO;
 import org.bhel.hrm.server.domain.LeaveApplication;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Data Access Object interface for LeaveApplication entities.
  */
 public interface LeaveApplicationDAO extends DAO<LeaveApplication, Integer> {
+    /** Page sort by start date, latest first, then id; the order of the leave lists. */
+    String SORT_BY_START_DESC = "startDateDesc";
+
+    /** Page sort by id, i.e. by when the application was submitted. */
+    String SORT_BY_ID = "id";
+
+    /** The fields {@link #find} and {@link #findDtos} can filter on; the dates can also be sorted on. */
+    Criteria.Field<LeaveApplication, Integer> EMPLOYEE_ID = new Criteria.Field<>("employeeId");
+    Criteria.Field<LeaveApplication, LeaveApplicationDTO.LeaveType> TYPE = new Criteria.Field<>("type");
+    Criteria.Field<LeaveApplication, LeaveApplicationDTO.LeaveStatus> STATUS = new Criteria.Field<>("status");
+    Criteria.Field<LeaveApplication, LocalDateTime> START_DATE_TIME = new Criteria.Field<>("startDateTime");
+    Criteria.Field<LeaveApplication, LocalDateTime> END_DATE_TIME = new Criteria.Field<>("endDateTime");
+
+    /**
+     * Finds the leave applications matching the given criteria, e.g. one employee's
+     * applications starting within a date range.
+     *
+     * @param criteria Filters on the fields above, with an optional sort and limit.
+     * @return The matching applications, in the criteria's order or by id if it has none.
+     * @throws IllegalArgumentException If the criteria use a field that is not supported.
+     */
+    List<LeaveApplication> find(Criteria<LeaveApplication> criteria);
 
     /**
-     * Finds all leave applications submitted by a specific employee.
+     * Finds all leave applications submitted by a specific employee, latest start date first.
      *
      * @param employeeId The ID of the employee.
      * @return a list of leave applications for that employee (may be empty).
      */
     List<LeaveApplication> findByEmployeeId(int employeeId);
 
+    /**
+     * Finds all pending leave applications, latest start date first.
+     */
     List<LeaveApplication> findPending();
-    void updateStatus(int leaveId, int statusId, Integer decidedByUserId, String decisionReason);
+
+    /**
+     * Retrieves one page of pending leave applications, like {@link #findPage} over
+     * {@link #findPending()}.
+     *
+     * @param afterKey The key of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of applications to return; must be positive.
+     * @param sort The name of one of the page sorts, e.g. {@link #SORT_BY_START_DESC}.
+     * @return The page of pending applications.
+     */
+    Page<LeaveApplication> findPendingPage(PageKey afterKey, int limit, String sort);
+
+    /**
+     * Read-only variants of the finders above that map each row straight into a
+     * {@link LeaveApplicationDTO}, without building the entity first. Writes go through the entity.
+     */
+    List<LeaveApplicationDTO> findDtos(Criteria<LeaveApplication> criteria);
+
+    List<LeaveApplicationDTO> findDtosByEmployeeId(int employeeId);
+
+    List<LeaveApplicationDTO> findPendingDtos();
+
+    Page<LeaveApplicationDTO> findPendingDtoPage(PageKey afterKey, int limit, String sort);
+
+    void updateStatus(int leaveId, LeaveApplicationDTO.LeaveStatus status, Integer decidedByUserId, String decisionReason);
     Integer findOwnerUserIdByLeaveId(int leaveId);
 
 }
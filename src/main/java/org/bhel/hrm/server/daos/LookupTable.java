@@ -0,0 +1,90 @@
+package org.bhel.hrm.server.daos;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The rows of one lookup table (e.g. {@code leave_application_statuses}), matched to the enum
+ * that stands for them in code.
+ * <p>
+ * Rows are matched to constants by name, ignoring case, so {@code 'on_hold'} is
+ * {@code ON_HOLD}. Both directions are plain array reads: the ids are indexed by constant
+ * ordinal, and the ordinals by id. Lookup ids are small ({@code TINYINT}), so the second array
+ * stays tiny. A table is immutable; {@link ReferenceData#refresh()} swaps in new ones.
+ *
+ * @param <E> The enum the table's rows stand for.
+ */
+public final class LookupTable<E extends Enum<E>> {
+    private static final int NO_CONSTANT = -1;
+
+    private final String table;
+    private final E[] constants;
+    private final int[] idByOrdinal;
+    private final int[] ordinalById;
+
+    private LookupTable(String table, E[] constants, int[] idByOrdinal, int[] ordinalById) {
+        this.table = table;
+        this.constants = constants;
+        this.idByOrdinal = idByOrdinal;
+        this.ordinalById = ordinalById;
+    }
+
+    /**
+     * Matches the rows of a lookup table to an enum.
+     *
+     * @param table The table's name, for error messages
+     * @param type The enum the rows stand for
+     * @param namesById The table's {@code name} column, keyed by {@code id}
+     * @return The table
+     * @throws IllegalStateException If a constant has no row, or an id is negative
+     */
+    static <E extends Enum<E>> LookupTable<E> of(String table, Class<E> type, Map<Integer, String> namesById) {
+        E[] constants = type.getEnumConstants();
+        int maxId = namesById.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+        if (namesById.keySet().stream().anyMatch(id -> id < 0))
+            throw new IllegalStateException(table + " has a negative id.");
+
+        int[] idByOrdinal = new int[constants.length];
+        int[] ordinalById = new int[maxId + 1];
+        Arrays.fill(idByOrdinal, NO_CONSTANT);
+        Arrays.fill(ordinalById, NO_CONSTANT);
+
+        namesById.forEach((id, name) -> {
+            for (E constant : constants) {
+                if (constant.name().equals(name.strip().toUpperCase(Locale.ROOT).replace(' ', '_'))) {
+                    idByOrdinal[constant.ordinal()] = id;
+                    ordinalById[id] = constant.ordinal();
+                }
+            }
+        });
+
+        for (E constant : constants) {
+            if (idByOrdinal[constant.ordinal()] == NO_CONSTANT)
+                throw new IllegalStateException(table + " has no row for " + type.getSimpleName() + "." + constant);
+        }
+
+        return new LookupTable<>(table, constants, idByOrdinal, ordinalById);
+    }
+
+    /**
+     * @param value A constant of the enum
+     * @return The id of its row
+     */
+    public int idOf(E value) {
+        return idByOrdinal[value.ordinal()];
+    }
+
+    /**
+     * @param id The id of a row
+     * @return The constant the row stands for
+     * @throws IllegalArgumentException If no constant matches the id
+     */
+    public E valueOf(int id) {
+        int ordinal = id >= 0 && id < ordinalById.length ? ordinalById[id] : NO_CONSTANT;
+        if (ordinal == NO_CONSTANT)
+            throw new IllegalArgumentException("Unknown " + table + ".id=" + id);
+
+        return constants[ordinal];
+    }
+}
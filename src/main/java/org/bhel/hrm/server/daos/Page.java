@@ -0,0 +1,39 @@
+package org.bhel.hrm.server.daos;
+
+import org.bhel.hrm.common.dtos.PageDTO;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of entities returned by {@link DAO#findPage}.
+ *
+ * @param items   The entities on this page, in sort order
+ * @param nextKey The key to pass for the following page, or {@code null} if this is the last one
+ * @param <T>     The type of the entities
+ */
+public record Page<T>(List<T> items, PageKey nextKey) {
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * @return {@code true} if more entities follow this page
+     */
+    public boolean hasNext() {
+        return nextKey != null;
+    }
+
+    /**
+     * Converts this page for the client, encoding the next key as a continuation token.
+     *
+     * @param mapper Maps each entity to its DTO
+     * @return The page as a {@link PageDTO}
+     */
+    public <D> PageDTO<D> toDto(Function<? super T, D> mapper) {
+        return new PageDTO<>(
+            items.stream().<D>map(mapper).toList(),
+            hasNext() ? nextKey.toToken() : null
+        );
+    }
+}
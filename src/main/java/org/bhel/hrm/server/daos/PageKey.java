@@ -0,0 +1,92 @@
+package org.bhel.hrm.server.daos;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * The position of the last row of a page, from which {@link DAO#findPage} continues.
+ * <p>
+ * A key holds the sort it was issued for, that row's sort column value and its id; the
+ * next page starts strictly after that pair. Keys cross the RMI boundary as opaque tokens
+ * ({@link #toToken()}), so clients never build or interpret them.
+ *
+ * @param sort  The name of the sort the key was issued for
+ * @param value The row's sort column value: a {@link String}, {@link Integer} or
+ *              {@link LocalDateTime}, or {@code null} when sorting by id alone
+ * @param id    The row's id, which breaks ties between equal sort values
+ */
+public record PageKey(String sort, Object value, int id) {
+    private static final byte NONE = 'n';
+    private static final byte STRING = 's';
+    private static final byte INTEGER = 'i';
+    private static final byte DATE_TIME = 't';
+
+    /**
+     * Encodes this key as a URL-safe continuation token.
+     *
+     * @return The token; pass it to {@link #fromToken(String)} to get this key back
+     */
+    public String toToken() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(sort);
+            switch (value) {
+                case null -> out.writeByte(NONE);
+                case String text -> {
+                    out.writeByte(STRING);
+                    out.writeUTF(text);
+                }
+                case Integer number -> {
+                    out.writeByte(INTEGER);
+                    out.writeInt(number);
+                }
+                case LocalDateTime dateTime -> {
+                    out.writeByte(DATE_TIME);
+                    out.writeUTF(dateTime.toString());
+                }
+                default -> throw new IllegalStateException("Unsupported page key type: " + value.getClass().getName());
+            }
+            out.writeInt(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes a token produced by {@link #toToken()}.
+     *
+     * @param token The continuation token
+     * @return The key the token encodes
+     * @throws IllegalArgumentException If the token is malformed
+     */
+    public static PageKey fromToken(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            String sort = in.readUTF();
+            Object value = switch (in.readByte()) {
+                case NONE -> null;
+                case STRING -> in.readUTF();
+                case INTEGER -> in.readInt();
+                case DATE_TIME -> LocalDateTime.parse(in.readUTF());
+                default -> throw new IllegalArgumentException("Unknown page key type.");
+            };
+            int id = in.readInt();
+
+            if (in.available() > 0)
+                throw new IllegalArgumentException("Trailing data in page token.");
+
+            return new PageKey(sort, value, id);
+        } catch (IOException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page token.", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.bhel.hrm.server.daos;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Describes the bind parameters of a statement for the slow-query log, without their values.
+ * <p>
+ * The statement's setter is replayed against a recording stand-in for the
+ * {@link PreparedStatement}, so nothing is captured on the normal path: the replay only
+ * happens for executions that were slow. Setters only bind values, so replaying one is safe.
+ */
+final class ParameterShapes {
+    private ParameterShapes() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * @param setter The setter the statement was executed with
+     * @return One {@code index:type} entry per parameter, e.g. {@code 1:int} or {@code 2:string(12)}
+     */
+    static List<String> of(AbstractDAO.StatementSetter setter) {
+        Map<Integer, String> shapes = new TreeMap<>();
+
+        PreparedStatement recorder = (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class<?>[] { PreparedStatement.class },
+            (proxy, method, args) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index)
+                    shapes.put(index, shapeOf(method.getName(), args[1]));
+
+                Class<?> returnType = method.getReturnType();
+                return returnType.isPrimitive() && returnType != void.class
+                    ? Array.get(Array.newInstance(returnType, 1), 0)
+                    : null;
+            }
+        );
+
+        try {
+            setter.setValues(recorder);
+        } catch (SQLException | RuntimeException e) {
+            return List.of("unavailable");
+        }
+
+        return shapes.entrySet().stream()
+            .map(entry -> entry.getKey() + ":" + entry.getValue())
+            .toList();
+    }
+
+    private static String shapeOf(String setterName, Object value) {
+        if (value == null || setterName.equals("setNull"))
+            return "null";
+        if (value instanceof String text)
+            return "string(" + text.length() + ")";
+        if (value instanceof byte[] bytes)
+            return "bytes(" + bytes.length + ")";
+        if (setterName.equals("setObject"))
+            return value.getClass().getSimpleName();
+
+        return Character.toLowerCase(setterName.charAt(3)) + setterName.substring(4);
+    }
+}
@@ -0,0 +1,125 @@
+package org.bhel.hrm.server.daos;
+
+import org.bhel.hrm.server.domain.DirtyTracked;
+import org.bhel.hrm.server.domain.Versioned;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Describes how to write each persistent field of a {@link DirtyTracked} entity, so that
+ * {@link AbstractDAO#executePartialUpdate} can UPDATE only the columns that changed.
+ * <p>
+ * The statement for each combination of changed fields is built the first time it is needed
+ * and cached, so every combination keeps one stable text for the driver's statement cache
+ * and the query metrics. It has the form
+ * {@code UPDATE table SET a = ?, b = ?, version = version + 1 WHERE id = ? AND version = ?},
+ * with the columns in the order of the field enum.
+ *
+ * @param <F> The entity's enum of persistent fields.
+ * @param <E> The type of the entity.
+ */
+public final class PartialUpdate<F extends Enum<F>, E extends DirtyTracked<F> & Versioned> {
+    /**
+     * Binds one field of the entity at the given parameter index.
+     *
+     * @param <E> The type of the entity.
+     */
+    @FunctionalInterface
+    public interface ColumnWriter<E> {
+        void write(PreparedStatement stmt, int index, E entity) throws SQLException;
+    }
+
+    private record Column<E>(String name, ColumnWriter<E> writer) {}
+
+    private final String table;
+    private final String idColumn;
+    private final Class<F> fieldType;
+    private final Map<F, Column<E>> columns;
+    private final Map<Set<F>, String> statements = new ConcurrentHashMap<>();
+
+    private PartialUpdate(String table, String idColumn, Class<F> fieldType) {
+        this.table = table;
+        this.idColumn = idColumn;
+        this.fieldType = fieldType;
+        this.columns = new EnumMap<>(fieldType);
+    }
+
+    /**
+     * Starts describing the updates of one table.
+     *
+     * @param table The table to update
+     * @param idColumn The primary key column
+     * @param fieldType The entity's field enum; every constant must be given a column
+     * @return An empty description to add the columns to with {@link #set}
+     */
+    public static <F extends Enum<F>, E extends DirtyTracked<F> & Versioned> PartialUpdate<F, E> of(
+        String table,
+        String idColumn,
+        Class<F> fieldType
+    ) {
+        return new PartialUpdate<>(table, idColumn, fieldType);
+    }
+
+    /**
+     * Maps a field to its column.
+     *
+     * @param field The entity field
+     * @param column The column it is stored in
+     * @param writer Binds the field's value
+     * @return This description, for chaining
+     */
+    public PartialUpdate<F, E> set(F field, String column, ColumnWriter<E> writer) {
+        columns.put(field, new Column<>(column, writer));
+        return this;
+    }
+
+    /**
+     * Returns the statement that writes the given fields, building it on first use.
+     *
+     * @param fields The changed fields; must not be empty
+     * @return The conditional UPDATE statement
+     */
+    String sqlFor(Set<F> fields) {
+        return statements.computeIfAbsent(fields, this::render);
+    }
+
+    /**
+     * Binds the changed fields in enum order, followed by the id and the expected version.
+     *
+     * @param stmt The statement returned by {@link #sqlFor} for the same fields
+     * @param fields The changed fields
+     * @param entity The entity being saved
+     */
+    void bind(PreparedStatement stmt, Set<F> fields, E entity) throws SQLException {
+        int index = 1;
+        for (F field : fields)
+            columnFor(field).writer().write(stmt, index++, entity);
+
+        stmt.setInt(index++, entity.getId());
+        stmt.setInt(index, entity.getVersion());
+    }
+
+    private String render(Set<F> fields) {
+        StringJoiner assignments = new StringJoiner(", ");
+        for (F field : fields)
+            assignments.add(columnFor(field).name() + " = ?");
+        assignments.add("version = version + 1");
+
+        return "UPDATE " + table + " SET " + assignments + " WHERE " + idColumn + " = ? AND version = ?";
+    }
+
+    private Column<E> columnFor(F field) {
+        Column<E> column = columns.get(field);
+        if (column == null)
+            throw new IllegalStateException(
+                "No column mapped for " + fieldType.getSimpleName() + "." + field + " in " + table);
+
+        return column;
+    }
+}
@@ -0,0 +1,144 @@
+package org.bhel.hrm.server.daos;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A row mapper generated for a record type, typically a DTO read straight from a query.
+ * <p>
+ * Each record component is read from the column named after it in snake_case
+ * ({@code firstName} from {@code first_name}), so the query selects, or aliases, its columns
+ * to match. The record's canonical constructor is resolved once as a {@link MethodHandle},
+ * and the column positions once per result set; mapping a row is then a read by index per
+ * component and a constructor call, with no reflection or label lookups.
+ * <p>
+ * Supported component types are primitives and their wrappers ({@code int}, {@code long},
+ * {@code double}, {@code boolean}), {@link String}, {@link BigDecimal}, {@link LocalDate} and
+ * {@link LocalDateTime}. Records with other components, such as enums stored as lookup ids,
+ * need a hand-written mapper.
+ *
+ * @param <R> The record type.
+ */
+public final class RecordRowMapper<R extends Record> implements AbstractDAO.RowMapper<R> {
+    private final Class<R> type;
+    private final String[] labels;
+    private final ColumnReader[] readers;
+    private final MethodHandle constructor;
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object read(ResultSet result, int index) throws SQLException;
+    }
+
+    private RecordRowMapper(Class<R> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+
+        this.type = type;
+        this.labels = new String[components.length];
+        this.readers = new ColumnReader[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            parameterTypes[i] = components[i].getType();
+            labels[i] = toColumnLabel(components[i].getName());
+            readers[i] = readerFor(type, components[i]);
+        }
+
+        try {
+            this.constructor = MethodHandles.publicLookup()
+                .findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+                .asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("No accessible canonical constructor on " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Generates a row mapper for a public record type.
+     *
+     * @param type The record class
+     * @return The mapper
+     * @throws IllegalArgumentException If a component has an unsupported type, or the
+     *                                  canonical constructor is not public
+     */
+    public static <R extends Record> RecordRowMapper<R> of(Class<R> type) {
+        return new RecordRowMapper<>(type);
+    }
+
+    @Override
+    public R mapRow(ResultSet result) throws SQLException {
+        return bind(result.getMetaData()).mapRow(result);
+    }
+
+    @Override
+    public AbstractDAO.RowMapper<R> bind(ResultSetMetaData metaData) throws SQLException {
+        Columns columns = new Columns(metaData);
+        int[] indexes = new int[labels.length];
+
+        for (int i = 0; i < labels.length; i++)
+            indexes[i] = columns.index(labels[i]);
+
+        return result -> {
+            Object[] args = new Object[readers.length];
+            for (int i = 0; i < readers.length; i++)
+                args[i] = readers[i].read(result, indexes[i]);
+
+            return construct(args);
+        };
+    }
+
+    private R construct(Object[] args) throws SQLException {
+        try {
+            return type.cast((Object) constructor.invokeExact(args));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new SQLException("Error constructing " + type.getSimpleName() + " from a row.", t);
+        }
+    }
+
+    private static String toColumnLabel(String componentName) {
+        StringBuilder label = new StringBuilder(componentName.length() + 4);
+
+        for (char c : componentName.toCharArray()) {
+            if (Character.isUpperCase(c))
+                label.append('_').append(Character.toLowerCase(c));
+            else
+                label.append(c);
+        }
+
+        return label.toString();
+    }
+
+    private static ColumnReader readerFor(Class<?> type, RecordComponent component) {
+        Class<?> componentType = component.getType();
+
+        if (componentType == int.class)
+            return ResultSet::getInt;
+        if (componentType == long.class)
+            return ResultSet::getLong;
+        if (componentType == double.class)
+            return ResultSet::getDouble;
+        if (componentType == boolean.class)
+            return ResultSet::getBoolean;
+        if (componentType == String.class)
+            return ResultSet::getString;
+        if (componentType == BigDecimal.class)
+            return ResultSet::getBigDecimal;
+        if (componentType == Integer.class || componentType == Long.class || componentType == Double.class
+            || componentType == Boolean.class || componentType == LocalDate.class || componentType == LocalDateTime.class)
+            return (result, index) -> result.getObject(index, componentType);
+
+        throw new IllegalArgumentException("Unsupported type " + componentType.getSimpleName() + " for component '"
+            + component.getName() + "' of " + type.getName() + "; map it by hand instead.");
+    }
+}
@@ -0,0 +1,148 @@
+package org.bhel.hrm.server.daos;
+
+import org.bhel.hrm.common.dtos.ApplicantDTO;
+import org.bhel.hrm.common.dtos.JobOpeningDTO;
+import org.bhel.hrm.common.dtos.LeaveApplicationDTO;
+import org.bhel.hrm.common.dtos.TrainingCourseDTO;
+import org.bhel.hrm.common.dtos.TrainingEnrollmentDTO;
+import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.exceptions.DataAccessException;
+import org.bhel.hrm.server.config.DatabaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The lookup tables (roles, statuses, types, departments), held in memory so the DAOs can
+ * translate between their ids and enums without a query or a join.
+ * <p>
+ * Every table is read in one round trip when the registry is loaded, normally once at startup.
+ * The tables are immutable; {@link #refresh()} reads them again and swaps the whole set in
+ * at once, so a reader never sees tables from two different loads.
+ */
+public final class ReferenceData {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceData.class);
+
+    private static final String LOAD_SQL = """
+        SELECT 'user_roles' AS lookup, id, name FROM user_roles
+        UNION ALL SELECT 'leave_application_types', id, name FROM leave_application_types
+        UNION ALL SELECT 'leave_application_statuses', id, name FROM leave_application_statuses
+        UNION ALL SELECT 'departments', id, name FROM departments
+        UNION ALL SELECT 'training_enrollment_statuses', id, name FROM training_enrollment_statuses
+        UNION ALL SELECT 'job_opening_statuses', id, name FROM job_opening_statuses
+        UNION ALL SELECT 'applicant_statuses', id, name FROM applicant_statuses
+    """;
+
+    private record Tables(
+        LookupTable<UserDTO.Role> userRoles,
+        LookupTable<LeaveApplicationDTO.LeaveType> leaveTypes,
+        LookupTable<LeaveApplicationDTO.LeaveStatus> leaveStatuses,
+        LookupTable<TrainingCourseDTO.Department> departments,
+        LookupTable<TrainingEnrollmentDTO.Status> enrollmentStatuses,
+        LookupTable<JobOpeningDTO.JobStatus> jobStatuses,
+        LookupTable<ApplicantDTO.ApplicantStatus> applicantStatuses
+    ) {}
+
+    private final DatabaseManager dbManager;
+    private volatile Tables tables;
+
+    private ReferenceData(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Reads the lookup tables. Call this after the schema has been migrated.
+     *
+     * @param dbManager The database to read them from
+     * @return The loaded registry
+     * @throws DataAccessException If the tables cannot be read
+     * @throws IllegalStateException If a table lacks a row for one of its enum's constants
+     */
+    public static ReferenceData load(DatabaseManager dbManager) {
+        ReferenceData referenceData = new ReferenceData(dbManager);
+        referenceData.refresh();
+        return referenceData;
+    }
+
+    /**
+     * Reads the lookup tables again, e.g. after rows were added, and replaces the current ones.
+     * If reading fails, the current tables are kept.
+     *
+     * @throws DataAccessException If the tables cannot be read
+     * @throws IllegalStateException If a table lacks a row for one of its enum's constants
+     */
+    public void refresh() {
+        Map<String, Map<Integer, String>> rows = readRows();
+
+        tables = new Tables(
+            LookupTable.of("user_roles", UserDTO.Role.class, rowsOf(rows, "user_roles")),
+            LookupTable.of("leave_application_types", LeaveApplicationDTO.LeaveType.class, rowsOf(rows, "leave_application_types")),
+            LookupTable.of("leave_application_statuses", LeaveApplicationDTO.LeaveStatus.class, rowsOf(rows, "leave_application_statuses")),
+            LookupTable.of("departments", TrainingCourseDTO.Department.class, rowsOf(rows, "departments")),
+            LookupTable.of("training_enrollment_statuses", TrainingEnrollmentDTO.Status.class, rowsOf(rows, "training_enrollment_statuses")),
+            LookupTable.of("job_opening_statuses", JobOpeningDTO.JobStatus.class, rowsOf(rows, "job_opening_statuses")),
+            LookupTable.of("applicant_statuses", ApplicantDTO.ApplicantStatus.class, rowsOf(rows, "applicant_statuses"))
+        );
+        logger.info("Loaded reference data from {} lookup tables.", rows.size());
+    }
+
+    public LookupTable<UserDTO.Role> userRoles() {
+        return tables.userRoles();
+    }
+
+    public LookupTable<LeaveApplicationDTO.LeaveType> leaveTypes() {
+        return tables.leaveTypes();
+    }
+
+    public LookupTable<LeaveApplicationDTO.LeaveStatus> leaveStatuses() {
+        return tables.leaveStatuses();
+    }
+
+    public LookupTable<TrainingCourseDTO.Department> departments() {
+        return tables.departments();
+    }
+
+    public LookupTable<TrainingEnrollmentDTO.Status> enrollmentStatuses() {
+        return tables.enrollmentStatuses();
+    }
+
+    public LookupTable<JobOpeningDTO.JobStatus> jobStatuses() {
+        return tables.jobStatuses();
+    }
+
+    public LookupTable<ApplicantDTO.ApplicantStatus> applicantStatuses() {
+        return tables.applicantStatuses();
+    }
+
+    private Map<String, Map<Integer, String>> readRows() {
+        Map<String, Map<Integer, String>> rows = new HashMap<>();
+        Connection conn = null;
+
+        try {
+            conn = dbManager.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(LOAD_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.computeIfAbsent(rs.getString(1), lookup -> new HashMap<>())
+                        .put(rs.getInt(2), rs.getString(3));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error loading reference data", e);
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+
+        return rows;
+    }
+
+    private static Map<Integer, String> rowsOf(Map<String, Map<Integer, String>> rows, String table) {
+        return rows.getOrDefault(table, Map.of());
+    }
+}
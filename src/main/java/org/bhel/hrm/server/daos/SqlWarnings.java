@@ -0,0 +1,35 @@
+package org.bhel.hrm.server.daos;
+
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * Checks on the warnings MySQL leaves on a statement in place of errors.
+ */
+public final class SqlWarnings {
+    /** MySQL's {@code ER_DUP_ENTRY}, the one error an {@code INSERT IGNORE} is meant to skip. */
+    private static final int DUPLICATE_ENTRY = 1062;
+
+    private SqlWarnings() {}
+
+    /**
+     * Fails an {@code INSERT IGNORE} that MySQL downgraded any error but a duplicate key for.
+     * <p>
+     * {@code IGNORE} turns every error into a warning. A row naming a missing foreign key is
+     * skipped, but a row leaving a {@code NOT NULL} column empty, or holding a value that had
+     * to be converted or truncated, is written with the adjusted value. So the warnings are
+     * checked whether or not a row was written, and any but a duplicate key is reported as the
+     * error it would have been. A row written that way is only undone if the statement ran in
+     * a transaction, which the failure then rolls back.
+     *
+     * @param stmt The executed statement
+     * @throws SQLException The first warning other than a duplicate key
+     */
+    public static void rejectIgnoredErrors(Statement stmt) throws SQLException {
+        for (SQLWarning warning = stmt.getWarnings(); warning != null; warning = warning.getNextWarning()) {
+            if (warning.getErrorCode() != DUPLICATE_ENTRY)
+                throw new SQLException(warning.getMessage(), warning.getSQLState(), warning.getErrorCode());
+        }
+    }
+}
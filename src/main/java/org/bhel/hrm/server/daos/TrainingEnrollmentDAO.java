@@ -7,4 +7,13 @@ import java.util.List;
 public interface TrainingEnrollmentDAO extends DAO<TrainingEnrollment, Integer> {
     List<TrainingEnrollment> findByEmployeeId(int employeeId);
     List<TrainingEnrollment> findByCourseId(int courseId);
+
+    /**
+     * Inserts an enrollment unless the employee is already enrolled in the course, in one
+     * statement that relies on the {@code uk_employee_course} unique key, so concurrent
+     * requests cannot both enroll. The enrollment's id is not set.
+     *
+     * @return {@code true} if the enrollment was created, {@code false} if one already existed
+     */
+    boolean insertIfAbsent(TrainingEnrollment enrollment);
 }
\ No newline at end of file
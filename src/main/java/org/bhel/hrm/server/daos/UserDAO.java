@@ -18,4 +18,13 @@ public interface UserDAO extends DAO<User, Integer> {
      * @return An {@link Optional} containing the User if found, otherwise an empty Optional.
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Checks whether a username is taken, without loading the user. Backed by the
+     * unique index on {@code username}.
+     *
+     * @param username The username to check.
+     * @return {@code true} if a user with this username exists.
+     */
+    boolean existsByUsername(String username);
 }
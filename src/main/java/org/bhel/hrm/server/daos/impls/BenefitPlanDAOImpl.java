@@ -9,7 +9,9 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.sql.*;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class BenefitPlanDAOImpl extends AbstractDAO<BenefitPlan> implements BenefitPlanDAO {
@@ -35,6 +37,9 @@ public class BenefitPlanDAOImpl extends AbstractDAO<BenefitPlan> implements Bene
     private static final String WHERE_PROVIDER = " WHERE provider = ?";
     private static final String WHERE_PLAN_NAME = " WHERE plan_name = ?";
 
+    private static final String EXISTS_BY_ID_SQL =
+            "SELECT 1 FROM " + TABLE_NAME + WHERE_ID + " LIMIT 1";
+
     private static final String DELETE_BY_ID_SQL =
             "DELETE FROM " + TABLE_NAME + WHERE_ID;
 
@@ -58,11 +63,21 @@ public class BenefitPlanDAOImpl extends AbstractDAO<BenefitPlan> implements Bene
 
     @Override
     public Optional<BenefitPlan> findById(Integer id) {
-        return findOne(SELECT_ALL + WHERE_ID,
+        return findOneById(id, SELECT_ALL + WHERE_ID,
                 stmt -> stmt.setInt(1, id),
                 this::mapRow);
     }
 
+    @Override
+    public boolean existsById(Integer id) {
+        return exists(EXISTS_BY_ID_SQL, stmt -> stmt.setInt(1, id));
+    }
+
+    @Override
+    public Map<Integer, BenefitPlan> findByIds(Collection<Integer> ids) {
+        return findByIds(SELECT_ALL, "id", ids, BenefitPlan::getId, this::mapRow);
+    }
+
     @Override
     public List<BenefitPlan> findAll() {
         return findMany(SELECT_ALL + ORDER_BY_PLAN_NAME_ASC,
@@ -77,6 +92,8 @@ public class BenefitPlanDAOImpl extends AbstractDAO<BenefitPlan> implements Bene
         } else {
             update(entity);
         }
+
+        rememberEntity(entity.getId(), entity);
     }
 
     @Override
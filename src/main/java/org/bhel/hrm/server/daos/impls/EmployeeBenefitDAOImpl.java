@@ -3,10 +3,12 @@ package org.bhel.hrm.server.daos.impls;
 import org.bhel.hrm.common.exceptions.DataAccessException;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.daos.EmployeeBenefitDAO;
+import org.bhel.hrm.server.daos.SqlWarnings;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,9 +21,9 @@ public class EmployeeBenefitDAOImpl implements EmployeeBenefitDAO {
     }
 
     @Override
-    public void enroll(int employeeId, int planId) {
+    public boolean enroll(int employeeId, int planId) {
         String sql = """
-            INSERT INTO employee_benefits (employee_id, plan_id)
+            INSERT IGNORE INTO employee_benefits (employee_id, plan_id)
             VALUES (?, ?)
         """;
 
@@ -31,7 +33,10 @@ public class EmployeeBenefitDAOImpl implements EmployeeBenefitDAO {
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setInt(1, employeeId);
                 stmt.setInt(2, planId);
-                stmt.executeUpdate();
+
+                int affectedRows = stmt.executeUpdate();
+                SqlWarnings.rejectIgnoredErrors(stmt);
+                return affectedRows == 1;
             }
         } catch (Exception e) {
             throw new DataAccessException("Failed to enroll employee in benefit plan.", e);
@@ -53,7 +58,7 @@ public class EmployeeBenefitDAOImpl implements EmployeeBenefitDAO {
         Connection conn = null;
 
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setInt(1, employeeId);
 
@@ -1,27 +1,140 @@
 package org.bhel.hrm.server.daos.impls;
 
+import org.bhel.hrm.common.dtos.EmployeeDTO;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.daos.AbstractDAO;
 import org.bhel.hrm.server.daos.EmployeeDAO;
+import org.bhel.hrm.server.daos.Page;
+import org.bhel.hrm.server.daos.PageKey;
+import org.bhel.hrm.server.daos.PartialUpdate;
+import org.bhel.hrm.server.daos.RecordRowMapper;
 import org.bhel.hrm.server.domain.Employee;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class EmployeeDAOImpl extends AbstractDAO<Employee> implements EmployeeDAO {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeDAOImpl.class);
 
-    private final RowMapper<Employee> rowMapper = result -> new Employee(
-        result.getInt("id"),
-        result.getInt("user_id"),
-        result.getString("first_name"),
-        result.getString("last_name"),
-        result.getString("ic_passport")
+    private static final String FIND_ALL_SQL = """
+        SELECT
+            id,
+            user_id,
+            first_name,
+            last_name,
+            ic_passport,
+            version
+        FROM
+            employees
+        ORDER BY
+            last_name, first_name ASC
+    """;
+
+    private static final String SELECT_SQL = """
+        SELECT
+            id,
+            user_id,
+            first_name,
+            last_name,
+            ic_passport,
+            version
+        FROM
+            employees
+    """;
+
+    private static final List<Keyset<Employee>> PAGE_SORTS = List.of(
+        Keyset.by(SORT_BY_LAST_NAME, "last_name", "id", false, Employee::getLastName, Employee::getId),
+        Keyset.byId(SORT_BY_ID, "id", Employee::getId)
     );
 
+    private static final List<Keyset<EmployeeDTO>> DTO_PAGE_SORTS = List.of(
+        Keyset.by(SORT_BY_LAST_NAME, "last_name", "id", false, EmployeeDTO::lastName, EmployeeDTO::id),
+        Keyset.byId(SORT_BY_ID, "id", EmployeeDTO::id)
+    );
+
+    // The queries select exactly the DTO's columns, so rows map straight into the record
+    private static final RowMapper<EmployeeDTO> DTO_MAPPER = RecordRowMapper.of(EmployeeDTO.class);
+
+    private static final String INSERT_SQL = """
+        INSERT INTO
+            employees (
+                user_id,
+                first_name,
+                last_name,
+                ic_passport
+            )
+        VALUES (
+            ?,
+            ?,
+            ?,
+            ?
+        )
+    """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE
+            employees
+        SET
+            user_id = ?,
+            first_name = ?,
+            last_name = ?,
+            ic_passport = ?,
+            version = version + 1
+        WHERE
+            id = ?
+            AND version = ?
+    """;
+
+    // Single-entity saves write only the changed columns; batches keep the full UPDATE_SQL
+    private static final PartialUpdate<Employee.Field, Employee> PARTIAL_UPDATE =
+        PartialUpdate.<Employee.Field, Employee>of("employees", "id", Employee.Field.class)
+            .set(Employee.Field.USER_ID, "user_id", (stmt, i, employee) -> stmt.setInt(i, employee.getUserId()))
+            .set(Employee.Field.FIRST_NAME, "first_name", (stmt, i, employee) -> stmt.setString(i, employee.getFirstName()))
+            .set(Employee.Field.LAST_NAME, "last_name", (stmt, i, employee) -> stmt.setString(i, employee.getLastName()))
+            .set(Employee.Field.IC_PASSPORT, "ic_passport", (stmt, i, employee) -> stmt.setString(i, employee.getIcPassport()));
+
+    private static final String UPDATE_PROFILE_SQL = """
+        UPDATE
+            employees
+        SET
+            first_name = ?,
+            last_name = ?,
+            ic_passport = ?,
+            version = version + 1
+        WHERE
+            id = ?
+            AND version = ?
+    """;
+
+    private final RowMapper<Employee> rowMapper = indexed(columns -> {
+        int id = columns.index("id");
+        int userId = columns.index("user_id");
+        int firstName = columns.index("first_name");
+        int lastName = columns.index("last_name");
+        int icPassport = columns.index("ic_passport");
+        int version = columns.index("version");
+
+        return result -> {
+            Employee employee = new Employee(
+                result.getInt(id),
+                result.getInt(userId),
+                result.getString(firstName),
+                result.getString(lastName),
+                result.getString(icPassport)
+            );
+            employee.setVersion(result.getInt(version));
+            employee.markClean();
+            return employee;
+        };
+    });
+
     public EmployeeDAOImpl(DatabaseManager dbManager) {
         super(dbManager);
     }
@@ -34,50 +147,79 @@ public class EmployeeDAOImpl extends AbstractDAO<Employee> implements EmployeeDA
                 user_id,
                 first_name,
                 last_name,
-                ic_passport
+                ic_passport,
+                version
             FROM
                 employees
             WHERE
                 id = ?
         """;
 
-        return findOne(sql, stmt -> stmt.setInt(1, id), rowMapper);
+        return findOneById(id, sql, stmt -> stmt.setInt(1, id), rowMapper);
     }
 
     @Override
-    public Optional<Employee> findByUserId(int userId) {
+    public boolean existsById(Integer id) {
         String sql = """
             SELECT
-                id,
-                user_id,
-                first_name,
-                last_name,
-                ic_passport
+                1
             FROM
                 employees
             WHERE
-                user_id = ?
+                id = ?
+            LIMIT 1
         """;
 
-        return findOne(sql, stmt -> stmt.setInt(1, userId), rowMapper);
+        return exists(sql, stmt -> stmt.setInt(1, id));
     }
 
     @Override
-    public List<Employee> findAll() {
+    public Map<Integer, Employee> findByIds(Collection<Integer> ids) {
+        return findByIds(SELECT_SQL, "id", ids, Employee::getId, rowMapper);
+    }
+
+    @Override
+    public Optional<Employee> findByUserId(int userId) {
         String sql = """
             SELECT
                 id,
                 user_id,
                 first_name,
                 last_name,
-                ic_passport
+                ic_passport,
+                version
             FROM
                 employees
-            ORDER BY
-                last_name, first_name ASC
+            WHERE
+                user_id = ?
         """;
 
-        return findMany(sql, stmt -> {}, rowMapper);
+        return findOne(sql, stmt -> stmt.setInt(1, userId), rowMapper);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return findMany(FIND_ALL_SQL, stmt -> {}, rowMapper);
+    }
+
+    @Override
+    public Page<Employee> findPage(PageKey afterKey, int limit, String sort) {
+        return findPage(SELECT_SQL, null, 0, stmt -> {}, keyset(PAGE_SORTS, sort), afterKey, limit, rowMapper);
+    }
+
+    @Override
+    public List<EmployeeDTO> findAllDtos() {
+        return findMany(FIND_ALL_SQL, stmt -> {}, DTO_MAPPER);
+    }
+
+    @Override
+    public Page<EmployeeDTO> findDtoPage(PageKey afterKey, int limit, String sort) {
+        return findPage(SELECT_SQL, null, 0, stmt -> {}, keyset(DTO_PAGE_SORTS, sort), afterKey, limit, DTO_MAPPER);
+    }
+
+    @Override
+    public Stream<Employee> streamAll() {
+        return stream(FIND_ALL_SQL, stmt -> {}, rowMapper);
     }
 
     @Override
@@ -86,67 +228,57 @@ public class EmployeeDAOImpl extends AbstractDAO<Employee> implements EmployeeDA
             insert(employee);
         else
             update(employee);
+
+        rememberEntity(employee.getId(), employee);
     }
 
     @Override
     protected void insert(Employee employee) {
-        String sql = """
-            INSERT INTO
-                employees (
-                    user_id,
-                    first_name,
-                    last_name,
-                    ic_passport
-                )
-            VALUES (
-                ?,
-                ?,
-                ?,
-                ?
-            )
-        """;
-
-        Connection conn = null;
-
-        try {
-            conn = dbManager.getConnection();
+        executeInsert(
+            INSERT_SQL,
+            stmt -> setSaveParameters(stmt, employee),
+            employee::setId, // Sets the new ID back on the object
+            "Error inserting new employee: " + employee.getFirstName() + " " + employee.getLastName()
+        );
+        employee.markClean();
+    }
 
-            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                setSaveParameters(stmt, employee);
-                stmt.executeUpdate();
+    @Override
+    protected void update(Employee employee) {
+        executePartialUpdate(PARTIAL_UPDATE, employee, "Employee");
+    }
 
-                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                    if (generatedKeys.next())
-                        employee.setId(generatedKeys.getInt(1)); // Sets the new ID back on the object
-                }
-            }
-        } catch (SQLException e) {
-            logger.error("Error inserting new employee: {} {}", employee.getFirstName(), employee.getLastName(), e);
-        } finally {
-            dbManager.releaseConnection(conn);
-        }
+    @Override
+    public void updateProfile(Employee employee) {
+        executeVersionedUpdate(UPDATE_PROFILE_SQL, stmt -> {
+            stmt.setString(1, employee.getFirstName());
+            stmt.setString(2, employee.getLastName());
+            stmt.setString(3, employee.getIcPassport());
+            stmt.setInt(4, employee.getId());
+            stmt.setInt(5, employee.getVersion());
+        }, "Employee", employee);
+        employee.markClean();
     }
 
     @Override
-    protected void update(Employee employee) {
-        String sql = """
-            UPDATE
-                employees
-            SET
-                user_id = ?,
-                first_name = ?,
-                last_name = ?,
-                ic_passport = ?
-            WHERE
-                id = ?
-        """;
+    public void saveAll(List<Employee> employees) {
+        Map<Boolean, List<Employee>> byIsNew = employees.stream()
+            .collect(Collectors.partitioningBy(employee -> employee.getId() == 0));
 
-        executeUpdate(sql, stmt -> {
-            setSaveParameters(stmt, employee);
-            stmt.setInt(5, employee.getId());
+        insertBatch(INSERT_SQL, byIsNew.get(true), Employee::setId, "Error inserting employees in batch");
+        updateBatch(UPDATE_SQL, byIsNew.get(false), this::setUpdateParameters, "Error updating employees in batch");
+        employees.forEach(employee -> {
+            employee.markClean();
+            rememberEntity(employee.getId(), employee);
         });
     }
 
+    private void setUpdateParameters(PreparedStatement stmt, Employee employee) throws SQLException {
+        setSaveParameters(stmt, employee);
+        stmt.setInt(5, employee.getId());
+        stmt.setInt(6, employee.getVersion());
+    }
+
     @Override
     protected void setSaveParameters(PreparedStatement stmt, Employee employee) throws SQLException {
         stmt.setInt(1, employee.getUserId());
@@ -177,7 +309,7 @@ public class EmployeeDAOImpl extends AbstractDAO<Employee> implements EmployeeDA
         """;
 
         try (
-            Connection conn = dbManager.getConnection();
+            Connection conn = dbManager.getReadConnection();
             Statement stmt = conn.createStatement();
             ResultSet result = stmt.executeQuery(sql)
         ) {
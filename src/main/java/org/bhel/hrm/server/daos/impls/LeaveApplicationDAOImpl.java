@@ -4,7 +4,14 @@ import org.bhel.hrm.common.dtos.LeaveApplicationDTO;
 import org.bhel.hrm.common.exceptions.DataAccessException;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.daos.AbstractDAO;
+import org.bhel.hrm.server.daos.Columns;
+import org.bhel.hrm.server.daos.Criteria;
+import org.bhel.hrm.server.daos.CriteriaQuery;
 import org.bhel.hrm.server.daos.LeaveApplicationDAO;
+import org.bhel.hrm.server.daos.Page;
+import org.bhel.hrm.server.daos.PageKey;
+import org.bhel.hrm.server.daos.PartialUpdate;
+import org.bhel.hrm.server.daos.ReferenceData;
 import org.bhel.hrm.server.domain.LeaveApplication;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +19,7 @@ import org.slf4j.LoggerFactory;
 import java.sql.*;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> implements LeaveApplicationDAO {
     private static final Logger logger = LoggerFactory.getLogger(LeaveApplicationDAOImpl.class);
@@ -28,15 +36,28 @@ public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> imple
             la.end_date_time,
             la.type_id,
             la.status_id,
-            la.reason
+            la.reason,
+            la.version
         FROM %s la
         """.formatted(TABLE_NAME);
 
     private static final String ORDER_BY_START_DESC = " ORDER BY la.start_date_time DESC";
 
     private static final String WHERE_ID = " WHERE la.id = ?";
-    private static final String WHERE_EMPLOYEE_ID = " WHERE la.employee_id = ?";
-    private static final String WHERE_STATUS_ID = " WHERE la.status_id = ?";
+    private static final String STATUS_ID_FILTER = "la.status_id = ?";
+
+
+    private static final List<Keyset<LeaveApplication>> PAGE_SORTS = List.of(
+        Keyset.by(SORT_BY_START_DESC, "la.start_date_time", "la.id", true,
+            LeaveApplication::getStartDateTime, LeaveApplication::getId),
+        Keyset.byId(SORT_BY_ID, "la.id", LeaveApplication::getId)
+    );
+
+    private static final List<Keyset<LeaveApplicationDTO>> DTO_PAGE_SORTS = List.of(
+        Keyset.by(SORT_BY_START_DESC, "la.start_date_time", "la.id", true,
+            LeaveApplicationDTO::startDateTime, LeaveApplicationDTO::id),
+        Keyset.byId(SORT_BY_ID, "la.id", LeaveApplicationDTO::id)
+    );
 
     private static final String DELETE_BY_ID_SQL =
             "DELETE FROM " + TABLE_NAME + " WHERE id = ?";
@@ -50,11 +71,6 @@ public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> imple
         VALUES (?, ?, ?, ?, ?, ?)
         """.formatted(TABLE_NAME);
 
-    private static final String UPDATE_SQL = """
-        UPDATE %s
-        SET employee_id = ?, start_date_time = ?, end_date_time = ?, type_id = ?, status_id = ?, reason = ?
-        WHERE id = ?
-        """.formatted(TABLE_NAME);
 
     private static final String OWNER_USER_ID_BY_LEAVE_ID_SQL = """
         SELECT e.user_id
@@ -68,28 +84,72 @@ public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> imple
         SET status_id = ?,
             decided_by_user_id = ?,
             decision_reason = ?,
-            decided_at = CURRENT_TIMESTAMP
+            decided_at = CURRENT_TIMESTAMP,
+            version = version + 1
         WHERE id = ?
         """;
 
-    public LeaveApplicationDAOImpl(DatabaseManager dbManager) {
+    private final ReferenceData referenceData;
+
+    private final CriteriaQuery<LeaveApplication> criteriaQuery = CriteriaQuery.<LeaveApplication>from(SELECT_ALL, "la.id")
+        .filterable(EMPLOYEE_ID, "la.employee_id", PreparedStatement::setInt)
+        .filterable(TYPE, "la.type_id", (stmt, i, type) -> stmt.setInt(i, mapTypeToId(type)))
+        .filterable(STATUS, "la.status_id", (stmt, i, status) -> stmt.setInt(i, mapStatusToId(status)))
+        .sortable(START_DATE_TIME, "la.start_date_time", (stmt, i, start) -> stmt.setTimestamp(i, Timestamp.valueOf(start)))
+        .sortable(END_DATE_TIME, "la.end_date_time", (stmt, i, end) -> stmt.setTimestamp(i, Timestamp.valueOf(end)));
+
+    // update() writes only the columns that changed since the application was loaded
+    private final PartialUpdate<LeaveApplication.Field, LeaveApplication> partialUpdate =
+        PartialUpdate.<LeaveApplication.Field, LeaveApplication>of(TABLE_NAME, "id", LeaveApplication.Field.class)
+            .set(LeaveApplication.Field.EMPLOYEE_ID, "employee_id",
+                (stmt, i, leave) -> stmt.setInt(i, leave.getEmployeeId()))
+            .set(LeaveApplication.Field.START_DATE_TIME, "start_date_time",
+                (stmt, i, leave) -> stmt.setTimestamp(i, Timestamp.valueOf(leave.getStartDateTime())))
+            .set(LeaveApplication.Field.END_DATE_TIME, "end_date_time",
+                (stmt, i, leave) -> stmt.setTimestamp(i, Timestamp.valueOf(leave.getEndDateTime())))
+            .set(LeaveApplication.Field.TYPE, "type_id",
+                (stmt, i, leave) -> stmt.setInt(i, mapTypeToId(leave.getType())))
+            .set(LeaveApplication.Field.STATUS, "status_id",
+                (stmt, i, leave) -> stmt.setInt(i, mapStatusToId(leave.getStatus())))
+            .set(LeaveApplication.Field.REASON, "reason",
+                (stmt, i, leave) -> stmt.setString(i, leave.getReason()));
+
+    private final RowMapper<LeaveApplication> rowMapper = indexed(this::bindRow);
+    private final RowMapper<LeaveApplicationDTO> dtoMapper = indexed(this::bindDtoRow);
+
+    public LeaveApplicationDAOImpl(DatabaseManager dbManager, ReferenceData referenceData) {
         super(dbManager);
+        this.referenceData = referenceData;
     }
 
     // ---------------- DAO<LeaveApplication, Integer> ----------------
 
     @Override
     public Optional<LeaveApplication> findById(Integer id) {
-        return findOne(SELECT_ALL + WHERE_ID,
+        return findOneById(id, SELECT_ALL + WHERE_ID,
                 stmt -> stmt.setInt(1, id),
-                this::mapRow);
+                rowMapper);
     }
 
     @Override
     public List<LeaveApplication> findAll() {
         return findMany(SELECT_ALL + ORDER_BY_START_DESC,
                 stmt -> { /* no params */ },
-                this::mapRow);
+                rowMapper);
+    }
+
+    @Override
+    public Page<LeaveApplication> findPage(PageKey afterKey, int limit, String sort) {
+        return findPage(SELECT_ALL, null, 0, stmt -> { /* no params */ },
+                keyset(PAGE_SORTS, sort), afterKey, limit,
+                rowMapper);
+    }
+
+    @Override
+    public Stream<LeaveApplication> streamAll() {
+        return stream(SELECT_ALL + ORDER_BY_START_DESC,
+                stmt -> { /* no params */ },
+                rowMapper);
     }
 
     @Override
@@ -99,6 +159,8 @@ public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> imple
         } else {
             update(entity);
         }
+
+        rememberEntity(entity.getId(), entity);
     }
 
     @Override
@@ -115,7 +177,7 @@ public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> imple
 
     @Override
     public Integer findOwnerUserIdByLeaveId(int leaveId) {
-        try (var conn = dbManager.getConnection();
+        try (var conn = dbManager.getReadConnection();
              var ps = conn.prepareStatement(OWNER_USER_ID_BY_LEAVE_ID_SQL)) {
 
             ps.setInt(1, leaveId);
@@ -128,26 +190,65 @@ public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> imple
         }
     }
 
+    @Override
+    public List<LeaveApplication> find(Criteria<LeaveApplication> criteria) {
+        return findMatching(criteriaQuery, criteria, rowMapper);
+    }
+
     @Override
     public List<LeaveApplication> findByEmployeeId(int employeeId) {
-        return findMany(SELECT_ALL + WHERE_EMPLOYEE_ID + ORDER_BY_START_DESC,
-                stmt -> stmt.setInt(1, employeeId),
-                this::mapRow);
+        return find(byEmployeeLatestFirst(employeeId));
     }
 
     @Override
     public List<LeaveApplication> findPending() {
-        // pending = 1 (per your seed)
-        // Note: previously you had ORDER BY created_at DESC (may not exist). Using start_date_time instead.
-        return findMany(SELECT_ALL + WHERE_STATUS_ID + ORDER_BY_START_DESC,
-                stmt -> stmt.setInt(1, 1),
-                this::mapRow);
+        return find(pendingLatestFirst());
+    }
+
+    @Override
+    public Page<LeaveApplication> findPendingPage(PageKey afterKey, int limit, String sort) {
+        return findPage(SELECT_ALL, STATUS_ID_FILTER, 1, this::bindPendingStatus,
+                keyset(PAGE_SORTS, sort), afterKey, limit,
+                rowMapper);
+    }
+
+    @Override
+    public List<LeaveApplicationDTO> findDtos(Criteria<LeaveApplication> criteria) {
+        return findMatching(criteriaQuery, criteria, dtoMapper);
+    }
+
+    @Override
+    public List<LeaveApplicationDTO> findDtosByEmployeeId(int employeeId) {
+        return findDtos(byEmployeeLatestFirst(employeeId));
+    }
+
+    @Override
+    public List<LeaveApplicationDTO> findPendingDtos() {
+        return findDtos(pendingLatestFirst());
+    }
+
+    @Override
+    public Page<LeaveApplicationDTO> findPendingDtoPage(PageKey afterKey, int limit, String sort) {
+        return findPage(SELECT_ALL, STATUS_ID_FILTER, 1, this::bindPendingStatus,
+                keyset(DTO_PAGE_SORTS, sort), afterKey, limit,
+                dtoMapper);
+    }
+
+    // Shared by the entity and DTO finders, so both list the same rows in the same order
+    private static Criteria<LeaveApplication> byEmployeeLatestFirst(int employeeId) {
+        return Criteria.where(EMPLOYEE_ID, Criteria.Operator.EQUALS, employeeId)
+                .orderBy(START_DATE_TIME, true);
+    }
+
+    private static Criteria<LeaveApplication> pendingLatestFirst() {
+        return Criteria.where(STATUS, Criteria.Operator.EQUALS, LeaveApplicationDTO.LeaveStatus.PENDING)
+                .orderBy(START_DATE_TIME, true);
     }
 
     @Override
-    public void updateStatus(int leaveId, int statusId, Integer decidedByUserId, String decisionReason) {
+    public void updateStatus(int leaveId, LeaveApplicationDTO.LeaveStatus status, Integer decidedByUserId, String decisionReason) {
         executeUpdate(UPDATE_STATUS_SQL, stmt -> {
-            stmt.setInt(1, statusId);
+            stmt.setInt(1, mapStatusToId(status));
 
             if (decidedByUserId != null) {
                 stmt.setInt(2, decidedByUserId);
@@ -169,41 +270,18 @@ public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> imple
 
     @Override
     protected void insert(LeaveApplication entity) {
-        Connection conn = null;
-        try {
-            conn = dbManager.getConnection();
-
-            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
-                setSaveParameters(stmt, entity);
-
-                int affectedRows = stmt.executeUpdate();
-                logger.info("Executed insert: {}", stmt);
-
-                if (affectedRows == 0) {
-                    throw new DataAccessException("Inserting leave application failed, no rows affected.", null);
-                }
-
-                try (ResultSet keys = stmt.getGeneratedKeys()) {
-                    if (keys.next()) {
-                        entity.setId(keys.getInt(1));
-                    } else {
-                        throw new DataAccessException("Inserting leave application failed, no ID obtained.", null);
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            throw new DataAccessException("Error inserting leave application", e);
-        } finally {
-            dbManager.releaseConnection(conn);
-        }
+        executeInsert(
+            INSERT_SQL,
+            stmt -> setSaveParameters(stmt, entity),
+            entity::setId,
+            "Error inserting leave application"
+        );
+        entity.markClean();
     }
 
     @Override
     protected void update(LeaveApplication entity) {
-        executeUpdate(UPDATE_SQL, stmt -> {
-            setSaveParameters(stmt, entity);
-            stmt.setInt(7, entity.getId());
-        });
+        executePartialUpdate(partialUpdate, entity, "LeaveApplication");
     }
 
     @Override
@@ -218,10 +296,14 @@ public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> imple
 
     // ---------------- Helpers (duplication reducers) ----------------
 
+    private void bindPendingStatus(PreparedStatement stmt) throws SQLException {
+        stmt.setInt(1, mapStatusToId(LeaveApplicationDTO.LeaveStatus.PENDING));
+    }
+
     private long countWithSql(String sql, String errorMessage) {
         Connection conn = null;
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql);
                  ResultSet rs = stmt.executeQuery()) {
 
@@ -236,67 +318,81 @@ public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> imple
 
     // ---------------- Row mapping ----------------
 
-    private LeaveApplication mapRow(ResultSet rs) throws SQLException {
-        LeaveApplication leave = new LeaveApplication();
-        leave.setId(rs.getInt("id"));
-        leave.setEmployeeId(rs.getInt("employee_id"));
-
-        Timestamp startTs = rs.getTimestamp("start_date_time");
-        if (startTs != null) {
-            leave.setStartDateTime(startTs.toLocalDateTime());
-        }
-
-        Timestamp endTs = rs.getTimestamp("end_date_time");
-        if (endTs != null) {
-            leave.setEndDateTime(endTs.toLocalDateTime());
-        }
+    private RowMapper<LeaveApplication> bindRow(Columns columns) throws SQLException {
+        int id = columns.index("id");
+        int employeeId = columns.index("employee_id");
+        int startDateTime = columns.index("start_date_time");
+        int endDateTime = columns.index("end_date_time");
+        int typeId = columns.index("type_id");
+        int statusId = columns.index("status_id");
+        int reason = columns.index("reason");
+        int version = columns.index("version");
+
+        return rs -> {
+            LeaveApplication leave = new LeaveApplication();
+            leave.setId(rs.getInt(id));
+            leave.setEmployeeId(rs.getInt(employeeId));
+
+            Timestamp startTs = rs.getTimestamp(startDateTime);
+            if (startTs != null) {
+                leave.setStartDateTime(startTs.toLocalDateTime());
+            }
 
-        int typeId = rs.getInt("type_id");
-        leave.setType(mapIdToType(typeId));
+            Timestamp endTs = rs.getTimestamp(endDateTime);
+            if (endTs != null) {
+                leave.setEndDateTime(endTs.toLocalDateTime());
+            }
 
-        int statusId = rs.getInt("status_id");
-        leave.setStatus(mapIdToStatus(statusId));
+            leave.setType(mapIdToType(rs.getInt(typeId)));
+            leave.setStatus(mapIdToStatus(rs.getInt(statusId)));
+            leave.setReason(rs.getString(reason));
+            leave.setVersion(rs.getInt(version));
+            leave.markClean();
 
-        leave.setReason(rs.getString("reason"));
+            return leave;
+        };
+    }
 
-        return leave;
+    private RowMapper<LeaveApplicationDTO> bindDtoRow(Columns columns) throws SQLException {
+        int id = columns.index("id");
+        int employeeId = columns.index("employee_id");
+        int startDateTime = columns.index("start_date_time");
+        int endDateTime = columns.index("end_date_time");
+        int typeId = columns.index("type_id");
+        int statusId = columns.index("status_id");
+        int reason = columns.index("reason");
+
+        return rs -> {
+            Timestamp startTs = rs.getTimestamp(startDateTime);
+            Timestamp endTs = rs.getTimestamp(endDateTime);
+
+            return new LeaveApplicationDTO(
+                    rs.getInt(id),
+                    rs.getInt(employeeId),
+                    startTs != null ? startTs.toLocalDateTime() : null,
+                    endTs != null ? endTs.toLocalDateTime() : null,
+                    mapIdToType(rs.getInt(typeId)),
+                    mapIdToStatus(rs.getInt(statusId)),
+                    rs.getString(reason)
+            );
+        };
     }
 
     // ---------------- Enum <-> DB id helpers ----------------
 
     private int mapTypeToId(LeaveApplicationDTO.LeaveType type) {
-        // (1, 'annual'), (2, 'sick'), (3, 'unpaid')
-        return switch (type) {
-            case ANNUAL -> 1;
-            case SICK -> 2;
-            case UNPAID -> 3;
-        };
+        return referenceData.leaveTypes().idOf(type);
     }
 
     private LeaveApplicationDTO.LeaveType mapIdToType(int id) {
-        return switch (id) {
-            case 1 -> LeaveApplicationDTO.LeaveType.ANNUAL;
-            case 2 -> LeaveApplicationDTO.LeaveType.SICK;
-            case 3 -> LeaveApplicationDTO.LeaveType.UNPAID;
-            default -> throw new IllegalArgumentException("Unknown leave type id: " + id);
-        };
+        return referenceData.leaveTypes().valueOf(id);
     }
 
     private int mapStatusToId(LeaveApplicationDTO.LeaveStatus status) {
-        // (1, 'pending'), (2, 'approved'), (3, 'rejected')
-        return switch (status) {
-            case PENDING -> 1;
-            case APPROVED -> 2;
-            case REJECTED -> 3;
-        };
+        return referenceData.leaveStatuses().idOf(status);
     }
 
     private LeaveApplicationDTO.LeaveStatus mapIdToStatus(int id) {
-        return switch (id) {
-            case 1 -> LeaveApplicationDTO.LeaveStatus.PENDING;
-            case 2 -> LeaveApplicationDTO.LeaveStatus.APPROVED;
-            case 3 -> LeaveApplicationDTO.LeaveStatus.REJECTED;
-            default -> throw new IllegalArgumentException("Unknown leave status id: " + id);
-        };
+        return referenceData.leaveStatuses().valueOf(id);
     }
 }
@@ -5,40 +5,91 @@ import org.bhel.hrm.common.dtos.TrainingEnrollmentDTO;
 import org.bhel.hrm.common.exceptions.DataAccessException;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.daos.AbstractDAO;
+import org.bhel.hrm.server.daos.PartialUpdate;
+import org.bhel.hrm.server.daos.ReferenceData;
 import org.bhel.hrm.server.daos.TrainingCourseDAO;
 import org.bhel.hrm.server.domain.TrainingCourse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class TrainingCourseDAOImpl extends AbstractDAO<TrainingCourse> implements TrainingCourseDAO {
     private static final Logger logger = LoggerFactory.getLogger(TrainingCourseDAOImpl.class);
 
+    private static final String SELECT_ALL = """
+        SELECT
+            id,
+            title,
+            description,
+            duration_in_hours,
+            department_id,
+            version
+        FROM
+            training_courses
+    """;
+
+    private final ReferenceData referenceData;
+
+    // update() writes only the columns that changed since the course was loaded
+    private final PartialUpdate<TrainingCourse.Field, TrainingCourse> partialUpdate =
+        PartialUpdate.<TrainingCourse.Field, TrainingCourse>of("training_courses", "id", TrainingCourse.Field.class)
+            .set(TrainingCourse.Field.TITLE, "title", (stmt, i, course) -> stmt.setString(i, course.getTitle()))
+            .set(TrainingCourse.Field.DESCRIPTION, "description", (stmt, i, course) -> stmt.setString(i, course.getDescription()))
+            .set(TrainingCourse.Field.DURATION_IN_HOURS, "duration_in_hours", (stmt, i, course) -> stmt.setInt(i, course.getDurationInHours()))
+            .set(TrainingCourse.Field.DEPARTMENT, "department_id", (stmt, i, course) -> stmt.setInt(i, departmentIdOf(course)));
+
     // This mapper tells Java how to convert a row from the DB table into a TrainingCourse object
-    private final RowMapper<TrainingCourse> rowMapper = rs -> new TrainingCourse(
-            rs.getInt("id"),
-            rs.getString("title"),
-            rs.getString("description"),
-            rs.getInt("duration_in_hours"),
-            mapRole(rs.getObject("department_id", Integer.class))
-    );
-
-    public TrainingCourseDAOImpl(DatabaseManager dbManager) {
+    private final RowMapper<TrainingCourse> rowMapper = indexed(columns -> {
+        int id = columns.index("id");
+        int title = columns.index("title");
+        int description = columns.index("description");
+        int durationInHours = columns.index("duration_in_hours");
+        int departmentId = columns.index("department_id");
+        int version = columns.index("version");
+
+        return rs -> {
+            TrainingCourse course = new TrainingCourse(
+                    rs.getInt(id),
+                    rs.getString(title),
+                    rs.getString(description),
+                    rs.getInt(durationInHours),
+                    mapRole(rs.getObject(departmentId, Integer.class))
+            );
+            course.setVersion(rs.getInt(version));
+            course.markClean();
+            return course;
+        };
+    });
+
+    public TrainingCourseDAOImpl(DatabaseManager dbManager, ReferenceData referenceData) {
         super(dbManager);
+        this.referenceData = referenceData;
     }
 
     @Override
     public Optional<TrainingCourse> findById(Integer id) {
-        String sql = "SELECT * FROM training_courses WHERE id = ?";
-        return findOne(sql, stmt -> stmt.setInt(1, id), rowMapper);
+        String sql = SELECT_ALL + " WHERE id = ?";
+        return findOneById(id, sql, stmt -> stmt.setInt(1, id), rowMapper);
+    }
+
+    @Override
+    public boolean existsById(Integer id) {
+        return exists("SELECT 1 FROM training_courses WHERE id = ? LIMIT 1", stmt -> stmt.setInt(1, id));
+    }
+
+    @Override
+    public Map<Integer, TrainingCourse> findByIds(Collection<Integer> ids) {
+        return findByIds(SELECT_ALL, "id", ids, TrainingCourse::getId, rowMapper);
     }
 
     @Override
     public List<TrainingCourse> findAll() {
-        String sql = "SELECT * FROM training_courses ORDER BY title ASC";
+        String sql = SELECT_ALL + " ORDER BY title ASC";
         return findMany(sql, stmt -> {}, rowMapper);
     }
 
@@ -49,6 +100,8 @@ public class TrainingCourseDAOImpl extends AbstractDAO<TrainingCourse> implement
         } else {
             update(course);
         }
+
+        rememberEntity(course.getId(), course);
     }
 
     @Override
@@ -70,45 +123,14 @@ public class TrainingCourseDAOImpl extends AbstractDAO<TrainingCourse> implement
                 """;
 
 
-        // We use a manual try-catch here because we need the Generated Keys (the new ID)
-        Connection conn = null;
-
-            try {
-                conn = dbManager.getConnection();
-
-                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                    setSaveParameters(stmt, course);
-                    stmt.executeUpdate();
-
-                    // Get the new ID from the database and set it on our object
-                    try (ResultSet keys = stmt.getGeneratedKeys()) {
-                        if (keys.next()) course.setId(keys.getInt(1));
-                    }
-                }
-            } catch (SQLException e) {
-                // Now this catches errors from getConnection() AND the query execution
-                throw new DataAccessException("Error inserting new training course", e);
-            } finally {
-                dbManager.releaseConnection(conn);
-            }
-        }
+        // The generated key (the new ID) is set back on the course
+        executeInsert(sql, stmt -> setSaveParameters(stmt, course), course::setId, "Error inserting new training course");
+        course.markClean();
+    }
 
     @Override
     protected void update(TrainingCourse course) {
-        String sql = """
-                UPDATE training_courses SET title = ?,
-                    description = ?,
-                    duration_in_hours = ?,
-                    department_id = ?
-                    WHERE id = ?
-                """;
-
-        executeUpdate(sql, stmt -> {
-            // 1. Set the common fields first
-            setSaveParameters(stmt, course);
-            // 2. Set the ID (the 5th parameter) manually
-            stmt.setInt(5, course.getId());
-        });
+        executePartialUpdate(partialUpdate, course, "TrainingCourse");
     }
 
     @Override
@@ -116,22 +138,16 @@ public class TrainingCourseDAOImpl extends AbstractDAO<TrainingCourse> implement
         stmt.setString(1, course.getTitle());
         stmt.setString(2, course.getDescription());
         stmt.setInt(3, course.getDurationInHours());
+        stmt.setInt(4, departmentIdOf(course));
+    }
 
+    private int departmentIdOf(TrainingCourse course) {
+        // Courses saved without a department have always been filed under IT
+        TrainingCourseDTO.Department department = course.getDepartment() != null
+            ? course.getDepartment()
+            : TrainingCourseDTO.Department.IT;
 
-        int department = 1;
-//        if (course.getDepartment() == null) {
-//            department = 5; // Default fallback if null
-//        } else {
-//            switch (course.getDepartment()) {
-//                case TrainingCourseDTO.Department.IT -> department = 1;
-//                case TrainingCourseDTO.Department.HR -> department = 2;
-//                case TrainingCourseDTO.Department.FINANCE -> department = 3;
-//                case TrainingCourseDTO.Department.OPERATIONS -> department = 4;
-//                default -> department = 5;
-//            }
-//        }
-
-        stmt.setInt(4, department);
+        return referenceData.departments().idOf(department);
     }
 
     // Now, update your save() method to look like this.
@@ -148,7 +164,7 @@ public class TrainingCourseDAOImpl extends AbstractDAO<TrainingCourse> implement
         String sql = "SELECT COUNT(*) FROM training_courses";
         Connection conn = null;
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
             try (Statement stmt = conn.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 if (rs.next()) return rs.getLong(1);
@@ -161,19 +177,11 @@ public class TrainingCourseDAOImpl extends AbstractDAO<TrainingCourse> implement
         return 0;
     }
 
-    private static TrainingCourseDTO.Department mapRole(Integer departmentId) {
+    private TrainingCourseDTO.Department mapRole(Integer departmentId) {
         if (departmentId == null)
             throw new IllegalStateException("training_courses.department_id is NULL");
 
-        return switch (departmentId) {
-            case 1 -> TrainingCourseDTO.Department.IT;
-            case 2 -> TrainingCourseDTO.Department.HR;
-            case 3 -> TrainingCourseDTO.Department.FINANCE;
-            case 4 -> TrainingCourseDTO.Department.OPERATIONS;
-            case 5 -> TrainingCourseDTO.Department.SALES;
-
-            default -> throw new IllegalArgumentException("Unknown training_courses.department_id=" + departmentId);
-        };
+        return referenceData.departments().valueOf(departmentId);
     }
 
 }
@@ -5,56 +5,114 @@ import org.bhel.hrm.common.error.ExceptionMappingConfig;
 import org.bhel.hrm.common.exceptions.DataAccessException;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.daos.AbstractDAO;
+import org.bhel.hrm.server.daos.ReferenceData;
 import org.bhel.hrm.server.daos.TrainingEnrollmentDAO;
 import org.bhel.hrm.server.domain.TrainingEnrollment;
 
 import java.sql.*;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 public class TrainingEnrollmentDAOImpl extends AbstractDAO<TrainingEnrollment> implements TrainingEnrollmentDAO {
+    private static final String SELECT_ALL = """
+        SELECT
+            id,
+            employee_id,
+            course_id,
+            status_id,
+            enrollment_date
+        FROM
+            training_enrollments
+    """;
+    private static final String INSERT_IF_ABSENT_SQL = """
+        INSERT IGNORE INTO training_enrollments (
+            employee_id,
+            course_id,
+            status_id,
+            enrollment_date
+        ) VALUES (?, ?, ?, ?)
+    """;
+    private static final String INSERT_SQL = """
+        INSERT INTO training_enrollments (
+            employee_id,
+            course_id,
+            status_id,
+            enrollment_date
+        ) VALUES (?, ?, ?, ?)
+    """;
+    private static final String UPDATE_SQL = """
+        UPDATE training_enrollments SET
+            employee_id = ?,
+            course_id = ?,
+            status_id = ?,
+            enrollment_date = ?
+        WHERE id = ?
+    """;
 
     private ExceptionMappingConfig config;
+    private final ReferenceData referenceData;
+
+    private final RowMapper<TrainingEnrollment> rowMapper = indexed(columns -> {
+        int id = columns.index("id");
+        int employeeId = columns.index("employee_id");
+        int courseId = columns.index("course_id");
+        int enrollmentDate = columns.index("enrollment_date");
+        int statusId = columns.index("status_id");
+
+        return rs -> {
+            Date date = rs.getDate(enrollmentDate);
+
+            return new TrainingEnrollment(
+                rs.getInt(id),
+                rs.getInt(employeeId),
+                rs.getInt(courseId),
+                date != null ? date.toLocalDate().atStartOfDay() : null,
+                mapStatus(rs.getObject(statusId, Integer.class))
+            );
+        };
+    });
 
-    private final RowMapper<TrainingEnrollment> rowMapper = rs -> new TrainingEnrollment(
-        rs.getInt("id"),
-        rs.getInt("employee_id"),
-        rs.getInt("course_id"),
-
-        rs.getDate("enrollment_date") != null
-            ? rs.getDate("enrollment_date").toLocalDate().atStartOfDay()
-            : null,
-        mapStatus(rs.getObject("status_id", Integer.class))
-    );
-
-    public TrainingEnrollmentDAOImpl(DatabaseManager dbManager) {
+    public TrainingEnrollmentDAOImpl(DatabaseManager dbManager, ReferenceData referenceData) {
         super(dbManager);
+        this.referenceData = referenceData;
     }
 
     @Override
     public List<TrainingEnrollment> findByEmployeeId(int employeeId) {
-        String sql = "SELECT * FROM training_enrollments WHERE employee_id = ?";
+        String sql = SELECT_ALL + " WHERE employee_id = ?";
         return findMany(sql, stmt -> stmt.setInt(1, employeeId), rowMapper);
     }
 
     @Override
     public List<TrainingEnrollment> findByCourseId(int courseId) {
-        String sql = "SELECT * FROM training_enrollments WHERE course_id = ?";
+        String sql = SELECT_ALL + " WHERE course_id = ?";
         return findMany(sql, stmt -> stmt.setInt(1, courseId), rowMapper);
     }
 
+    @Override
+    public boolean insertIfAbsent(TrainingEnrollment enrollment) {
+        return insertIgnore(INSERT_IF_ABSENT_SQL, stmt -> setSaveParameters(stmt, enrollment));
+    }
+
     @Override
     public Optional<TrainingEnrollment> findById(Integer id) {
-        String sql = "SELECT * FROM training_enrollments WHERE id = ?";
-        return findOne(sql, stmt -> stmt.setInt(1, id), rowMapper);
+        String sql = SELECT_ALL + " WHERE id = ?";
+        return findOneById(id, sql, stmt -> stmt.setInt(1, id), rowMapper);
     }
 
     @Override
     public List<TrainingEnrollment> findAll() {
-        String sql = "SELECT * FROM training_enrollments";
-        return findMany(sql, stmt -> {
+        return findMany(SELECT_ALL, stmt -> {
         }, rowMapper);
     }
 
+    @Override
+    public Stream<TrainingEnrollment> streamAll() {
+        return stream(SELECT_ALL, stmt -> {}, rowMapper);
+    }
+
     @Override
     public void deleteById(Integer id) {
         String sql = "DELETE FROM training_enrollments WHERE id = ?";
@@ -66,7 +124,7 @@ public class TrainingEnrollmentDAOImpl extends AbstractDAO<TrainingEnrollment> i
         String sql = "SELECT COUNT(*) FROM training_enrollments";
         Connection conn = null;
         try {
-            conn = dbManager.getConnection();
+            conn = dbManager.getReadConnection();
             try (Statement stmt = conn.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 if (rs.next()) return rs.getLong(1);
@@ -84,19 +142,10 @@ public class TrainingEnrollmentDAOImpl extends AbstractDAO<TrainingEnrollment> i
         stmt.setInt(1, enrollment.getEmployeeId());
         stmt.setInt(2, enrollment.getCourseId());
 
-        int statusId;
-        if (enrollment.getStatus() == null) {
-            statusId = 4; // Default
-        } else {
-        switch (enrollment.getStatus()) {
-            case TrainingEnrollmentDTO.Status.ENROLLED -> statusId = 1;
-            case TrainingEnrollmentDTO.Status.COMPLETED -> statusId = 2;
-            case TrainingEnrollmentDTO.Status.CANCELLED -> statusId = 3;
-            case TrainingEnrollmentDTO.Status.FAILED -> statusId = 4;
-            default -> statusId = 4;
-        }
-    }
-        stmt.setInt(3, statusId);
+        TrainingEnrollmentDTO.Status status = enrollment.getStatus() != null
+            ? enrollment.getStatus()
+            : TrainingEnrollmentDTO.Status.FAILED; // Default
+        stmt.setInt(3, referenceData.enrollmentStatuses().idOf(status));
 
         if (enrollment.getEnrollmentDate() != null) {
             stmt.setTimestamp(4, Timestamp.valueOf(enrollment.getEnrollmentDate()));
@@ -105,16 +154,10 @@ public class TrainingEnrollmentDAOImpl extends AbstractDAO<TrainingEnrollment> i
         }
     }
 
-    private static TrainingEnrollmentDTO.Status mapStatus(Integer statusId) {
+    private TrainingEnrollmentDTO.Status mapStatus(Integer statusId) {
         if (statusId == null) return TrainingEnrollmentDTO.Status.FAILED ;
 
-        return switch (statusId) {
-            case 1 -> TrainingEnrollmentDTO.Status.ENROLLED;
-            case 2 -> TrainingEnrollmentDTO.Status.COMPLETED;
-            case 3 -> TrainingEnrollmentDTO.Status.CANCELLED;
-            case 4 -> TrainingEnrollmentDTO.Status.FAILED;
-            default -> TrainingEnrollmentDTO.Status.FAILED;
-        };
+        return referenceData.enrollmentStatuses().valueOf(statusId);
     }
 
     // Update your save() method to utilize it
@@ -125,62 +168,32 @@ public class TrainingEnrollmentDAOImpl extends AbstractDAO<TrainingEnrollment> i
         } else {
             update(enrollment);
         }
+
+        rememberEntity(enrollment.getId(), enrollment);
     }
 
     @Override
     protected void insert(TrainingEnrollment enrollment) {
-        String sql = """
-                INSERT INTO training_enrollments (
-                                employee_id,
-                                course_id,
-                                status_id,
-                                enrollment_date
-                            ) VALUES (?, ?, ?, ?)
-                """;
-        Connection conn = null;
-        try {
-            conn = dbManager.getConnection();
-            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                setSaveParameters(stmt, enrollment);
-                stmt.executeUpdate();
-
-                try (ResultSet keys = stmt.getGeneratedKeys()) {
-                    if (keys.next()) enrollment.setId(keys.getInt(1));
-                }
-            }
-        } catch (SQLException e) {
-            throw new DataAccessException("Error inserting enrollment", e);
-        } finally {
-            dbManager.releaseConnection(conn);
-        }
+        executeInsert(INSERT_SQL, stmt -> setSaveParameters(stmt, enrollment), enrollment::setId, "Error inserting enrollment");
     }
 
     @Override
     protected void update(TrainingEnrollment enrollment) {
-        String sql = """
-        UPDATE training_enrollments SET
-                            employee_id = ?,
-                            course_id = ?,
-                            status_id = ?,
-                            enrollment_date = ?
-                            where id = ?
-        """;
-        executeUpdate(sql, stmt -> {
-            setSaveParameters(stmt, enrollment);
-            stmt.setInt(5, enrollment.getId());
-        });
-    }
-
-    private static TrainingEnrollmentDTO.Status mapRole(Integer statusId) {
-        if (statusId == null)
-            throw new IllegalStateException("users.status_id is NULL");
-
-        return switch (statusId) {
-            case 1 -> TrainingEnrollmentDTO.Status.ENROLLED;
-            case 2 -> TrainingEnrollmentDTO.Status.COMPLETED;
-            case 3 -> TrainingEnrollmentDTO.Status.CANCELLED;
-            case 4 -> TrainingEnrollmentDTO.Status.FAILED;
-            default -> throw new IllegalArgumentException("Unknown users.status_id=" + statusId);
-        };
+        executeUpdate(UPDATE_SQL, stmt -> setUpdateParameters(stmt, enrollment));
+    }
+
+    @Override
+    public void saveAll(List<TrainingEnrollment> enrollments) {
+        Map<Boolean, List<TrainingEnrollment>> byIsNew = enrollments.stream()
+            .collect(Collectors.partitioningBy(enrollment -> enrollment.getId() == 0));
+
+        insertBatch(INSERT_SQL, byIsNew.get(true), TrainingEnrollment::setId, "Error inserting enrollments in batch");
+        updateBatch(UPDATE_SQL, byIsNew.get(false), this::setUpdateParameters, "Error updating enrollments in batch");
+        enrollments.forEach(enrollment -> rememberEntity(enrollment.getId(), enrollment));
+    }
+
+    private void setUpdateParameters(PreparedStatement stmt, TrainingEnrollment enrollment) throws SQLException {
+        setSaveParameters(stmt, enrollment);
+        stmt.setInt(5, enrollment.getId());
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import org.bhel.hrm.common.dtos.UserDTO;
 import org.bhel.hrm.common.exceptions.DataAccessException;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.daos.AbstractDAO;
+import org.bhel.hrm.server.daos.ReferenceData;
 import org.bhel.hrm.server.daos.UserDAO;
 import org.bhel.hrm.server.domain.User;
 import org.slf4j.Logger;
@@ -11,20 +12,64 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
     private static final Logger logger = LoggerFactory.getLogger(UserDAOImpl.class);
 
-    private final RowMapper<User> rowMapper = result -> new User(
-        result.getInt("id"),
-        result.getString("username"),
-        result.getString("password_hash"),
-        mapRole(result.getObject("role_id", Integer.class))
-    );
+    private static final String INSERT_SQL = """
+        INSERT INTO
+            users (
+                username,
+                password_hash,
+                role_id
+            )
+        VALUES (
+            ?,
+            ?,
+            ?
+        )
+    """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE
+            users
+        SET
+            username = ?,
+            password_hash = ?,
+            role_id = ?,
+            version = version + 1
+        WHERE
+            id = ?
+            AND version = ?
+    """;
+
+    private final ReferenceData referenceData;
+
+    private final RowMapper<User> rowMapper = indexed(columns -> {
+        int id = columns.index("id");
+        int username = columns.index("username");
+        int passwordHash = columns.index("password_hash");
+        int roleId = columns.index("role_id");
+        int version = columns.index("version");
+
+        return result -> {
+            User user = new User(
+                result.getInt(id),
+                result.getString(username),
+                result.getString(passwordHash),
+                mapRole(result.getObject(roleId, Integer.class))
+            );
+            user.setVersion(result.getInt(version));
+            return user;
+        };
+    });
 
-    public UserDAOImpl(DatabaseManager dbManager) {
+    public UserDAOImpl(DatabaseManager dbManager, ReferenceData referenceData) {
         super(dbManager);
+        this.referenceData = referenceData;
     }
 
     @Override
@@ -34,14 +79,15 @@ public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
                 id,
                 username,
                 password_hash,
-                role_id
+                role_id,
+                version
             FROM
                 users
             WHERE
                 id = ?
         """;
 
-        return findOne(sql, stmt -> stmt.setInt(1, id), rowMapper);
+        return findOneById(id, sql, stmt -> stmt.setInt(1, id), rowMapper);
     }
 
     @Override
@@ -51,7 +97,8 @@ public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
                 id,
                 username,
                 password_hash,
-                role_id
+                role_id,
+                version
             FROM
                 users
             ORDER BY
@@ -68,69 +115,46 @@ public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
             insert(user);
         else
             update(user);
+
+        rememberEntity(user.getId(), user);
     }
 
     @Override
     protected void insert(User user) {
-        String sql = """
-            INSERT INTO
-                users (
-                    username,
-                    password_hash,
-                    role_id
-                )
-            VALUES (
-                ?,
-                ?,
-                ?
-            )
-        """;
-
-        Connection conn = null;
-
-        try {
-            conn = dbManager.getConnection();
-
-            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                setSaveParameters(stmt, user);
-                stmt.executeUpdate();
-
-                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                    if (generatedKeys.next())
-                        user.setId(generatedKeys.getInt(1)); // Sets the new ID back on the object
-                }
-            }
-        } catch (SQLException e) {
-            throw new DataAccessException("Error inserting new user: " + user.getUsername(), e);
-        } finally {
-            dbManager.releaseConnection(conn);
-        }
+        executeInsert(
+            INSERT_SQL,
+            stmt -> setSaveParameters(stmt, user),
+            user::setId, // Sets the new ID back on the object
+            "Error inserting new user: " + user.getUsername()
+        );
     }
 
     @Override
     protected void update(User user) {
-        String sql = """
-            UPDATE
-                users
-            SET
-                username = ?,
-                password_hash = ?,
-                role_id = ?
-            WHERE
-                id = ?
-        """;
+        executeVersionedUpdate(UPDATE_SQL, stmt -> setUpdateParameters(stmt, user), "User", user);
+    }
+
+    @Override
+    public void saveAll(List<User> users) {
+        Map<Boolean, List<User>> byIsNew = users.stream()
+            .collect(Collectors.partitioningBy(user -> user.getId() == 0));
 
-        executeUpdate(sql, stmt -> {
-            setSaveParameters(stmt, user);
-            stmt.setInt(4, user.getId());
-        });
+        insertBatch(INSERT_SQL, byIsNew.get(true), User::setId, "Error inserting users in batch");
+        updateBatch(UPDATE_SQL, byIsNew.get(false), this::setUpdateParameters, "Error updating users in batch");
+        users.forEach(user -> rememberEntity(user.getId(), user));
+    }
+
+    private void setUpdateParameters(PreparedStatement stmt, User user) throws SQLException {
+        setSaveParameters(stmt, user);
+        stmt.setInt(4, user.getId());
+        stmt.setInt(5, user.getVersion());
     }
 
     @Override
     protected void setSaveParameters(PreparedStatement stmt, User user) throws SQLException {
         stmt.setString(1, user.getUsername());
         stmt.setString(2, user.getPasswordHash());
-        stmt.setInt(3, user.getRole() == UserDTO.Role.HR_STAFF ? 1 : 2);
+        stmt.setInt(3, referenceData.userRoles().idOf(user.getRole()));
     }
 
     @Override
@@ -155,7 +179,7 @@ public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
         """;
 
         try (
-            Connection conn = dbManager.getConnection();
+            Connection conn = dbManager.getReadConnection();
             Statement stmt = conn.createStatement();
             ResultSet result = stmt.executeQuery(sql)
         ) {
@@ -177,7 +201,8 @@ public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
                 id,
                 username,
                 password_hash,
-                role_id
+                role_id,
+                version
             FROM
                 users
             WHERE
@@ -187,14 +212,25 @@ public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
         return findOne(sql, stmt -> stmt.setString(1, username), rowMapper);
     }
 
-    private static UserDTO.Role mapRole(Integer roleId) {
+    @Override
+    public boolean existsByUsername(String username) {
+        String sql = """
+            SELECT
+                1
+            FROM
+                users
+            WHERE
+                username = ?
+            LIMIT 1
+        """;
+
+        return exists(sql, stmt -> stmt.setString(1, username));
+    }
+
+    private UserDTO.Role mapRole(Integer roleId) {
         if (roleId == null)
             throw new IllegalStateException("users.role_id is NULL");
 
-        return switch (roleId) {
-            case 1 -> UserDTO.Role.HR_STAFF;
-            case 2 -> UserDTO.Role.EMPLOYEE;
-            default -> throw new IllegalArgumentException("Unknown users.role_id=" + roleId);
-        };
+        return referenceData.userRoles().valueOf(roleId);
     }
 }
\ No newline at end of file
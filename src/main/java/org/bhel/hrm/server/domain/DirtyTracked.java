@@ -0,0 +1,55 @@
+package org.bhel.hrm.server.domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Base class for entities that record which of their persistent fields have changed, so an
+ * update can write just those columns.
+ * <p>
+ * An entity starts out untracked, with every field counted as changed: one built from a DTO
+ * or by hand may differ from its row in any column. The DAO starts tracking when it loads the
+ * entity from, or writes it to, the database by calling {@link #markClean()}; from then on,
+ * setters record the fields they change.
+ *
+ * @param <F> The entity's enum of persistent fields.
+ */
+public abstract class DirtyTracked<F extends Enum<F>> {
+    private final Class<F> fieldType;
+
+    // null while untracked, i.e. every field counts as changed
+    private EnumSet<F> changed;
+
+    protected DirtyTracked(Class<F> fieldType) {
+        this.fieldType = fieldType;
+    }
+
+    /**
+     * Records that a field was set. Setters call this for each persistent field.
+     *
+     * @param field The field that was set
+     */
+    protected void markChanged(F field) {
+        if (changed != null)
+            changed.add(field);
+    }
+
+    /**
+     * Returns the fields changed since the entity was last loaded or written.
+     *
+     * @return A copy of the changed fields; all of them while the entity is untracked
+     */
+    public Set<F> changedFields() {
+        return changed == null ? EnumSet.allOf(fieldType) : EnumSet.copyOf(changed);
+    }
+
+    /**
+     * Marks the entity as matching its row, and starts tracking changes if it was untracked.
+     */
+    public void markClean() {
+        if (changed == null)
+            changed = EnumSet.noneOf(fieldType);
+        else
+            changed.clear();
+    }
+}
@@ -1,24 +1,32 @@
 package org.bhel.hrm.server.domain;
 
-public class Employee {
+public class Employee extends DirtyTracked<Employee.Field> implements Versioned {
+    /** The persistent fields of an employee, for dirty tracking. */
+    public enum Field { USER_ID, FIRST_NAME, LAST_NAME, IC_PASSPORT }
+
     private int id;
     private int userId;
     private String firstName;
     private String lastName;
     private String icPassport;
+    private int version;
 
     // You could add complex, non-serializable fields here in the future
     // private PerformanceReview lastReview;
 
-    public Employee() {}
+    public Employee() {
+        super(Field.class);
+    }
 
     public Employee(int id, String firstName, String lastName, String icPassport) {
+        super(Field.class);
         this.userId = id;
         this.firstName = firstName;
         this.lastName = lastName;
         this.icPassport = icPassport;
     }
     public Employee(int id, int userId, String firstName, String lastName, String icPassport) {
+        super(Field.class);
         this.id = id;
         this.userId = userId;
         this.firstName = firstName;
@@ -39,6 +47,7 @@ public class Employee {
 
     public void setUserId(int userId) {
         this.userId = userId;
+        markChanged(Field.USER_ID);
     }
     public String getFirstName() {
         return firstName;
@@ -46,6 +55,7 @@ public class Employee {
 
     public void setFirstName(String firstName) {
         this.firstName = firstName;
+        markChanged(Field.FIRST_NAME);
     }
 
     public String getLastName() {
@@ -54,6 +64,7 @@ public class Employee {
 
     public void setLastName(String lastName) {
         this.lastName = lastName;
+        markChanged(Field.LAST_NAME);
     }
 
     public String getIcPassport() {
@@ -62,5 +73,16 @@ public class Employee {
 
     public void setIcPassport(String icPassport) {
         this.icPassport = icPassport;
+        markChanged(Field.IC_PASSPORT);
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public void setVersion(int version) {
+        this.version = version;
     }
 }
@@ -5,7 +5,10 @@ import org.bhel.hrm.server.daos.LeaveApplicationDAO;
 
 import java.time.LocalDateTime;
 
-public class LeaveApplication {
+public class LeaveApplication extends DirtyTracked<LeaveApplication.Field> implements Versioned {
+    /** The persistent fields of a leave application, for dirty tracking. */
+    public enum Field { EMPLOYEE_ID, START_DATE_TIME, END_DATE_TIME, TYPE, STATUS, REASON }
+
     private int id;
     private int employeeId;
     private LocalDateTime startDateTime;
@@ -13,10 +16,14 @@ public class LeaveApplication {
     private LeaveApplicationDTO.LeaveType type;
     private LeaveApplicationDTO.LeaveStatus status;
     private String reason;
+    private int version;
 
-    public LeaveApplication() {}
+    public LeaveApplication() {
+        super(Field.class);
+    }
 
     public LeaveApplication(int id, int employeeId, LocalDateTime startDateTime, LocalDateTime endDateTime, LeaveApplicationDTO.LeaveType type, LeaveApplicationDTO.LeaveStatus status, String reason) {
+        super(Field.class);
         this.id = id;
         this.employeeId = employeeId;
         this.startDateTime = startDateTime;
@@ -40,6 +47,7 @@ public class LeaveApplication {
 
     public void setEmployeeId(int employeeId) {
         this.employeeId = employeeId;
+        markChanged(Field.EMPLOYEE_ID);
     }
 
     public LocalDateTime getStartDateTime() {
@@ -48,6 +56,7 @@ public class LeaveApplication {
 
     public void setStartDateTime(LocalDateTime startDateTime) {
         this.startDateTime = startDateTime;
+        markChanged(Field.START_DATE_TIME);
     }
 
     public LocalDateTime getEndDateTime() {
@@ -56,6 +65,7 @@ public class LeaveApplication {
 
     public void setEndDateTime(LocalDateTime endDateTime) {
         this.endDateTime = endDateTime;
+        markChanged(Field.END_DATE_TIME);
     }
 
     public LeaveApplicationDTO.LeaveType getType() {
@@ -64,6 +74,7 @@ public class LeaveApplication {
 
     public void setType(LeaveApplicationDTO.LeaveType type) {
         this.type = type;
+        markChanged(Field.TYPE);
     }
 
     public LeaveApplicationDTO.LeaveStatus getStatus() {
@@ -72,6 +83,7 @@ public class LeaveApplication {
 
     public void setStatus(LeaveApplicationDTO.LeaveStatus status) {
         this.status = status;
+        markChanged(Field.STATUS);
     }
 
     public String getReason() {
@@ -80,5 +92,16 @@ public class LeaveApplication {
 
     public void setReason(String reason) {
         this.reason = reason;
+        markChanged(Field.REASON);
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public void setVersion(int version) {
+        this.version = version;
     }
 }
@@ -2,16 +2,23 @@ package org.bhel.hrm.server.domain;
 
 import org.bhel.hrm.common.dtos.TrainingCourseDTO;
 
-public class TrainingCourse {
+public class TrainingCourse extends DirtyTracked<TrainingCourse.Field> implements Versioned {
+    /** The persistent fields of a training course, for dirty tracking. */
+    public enum Field { TITLE, DESCRIPTION, DURATION_IN_HOURS, DEPARTMENT }
+
     private int id;
     private String title;
     private String description;
     private int durationInHours;
     private TrainingCourseDTO.Department department;
+    private int version;
 
-    public TrainingCourse() {}
+    public TrainingCourse() {
+        super(Field.class);
+    }
 
     public TrainingCourse(String title, String description, int durationInHours, TrainingCourseDTO.Department department) {
+        super(Field.class);
         this.title = title;
         this.description = description;
         this.durationInHours = durationInHours;
@@ -19,6 +26,7 @@ public class TrainingCourse {
     }
 
     public TrainingCourse(int id, String title, String description, int durationInHours, TrainingCourseDTO.Department department) {
+        super(Field.class);
         this.id = id;
         this.title = title;
         this.description = description;
@@ -40,6 +48,7 @@ public class TrainingCourse {
 
     public void setTitle(String title) {
         this.title = title;
+        markChanged(Field.TITLE);
     }
 
     public String getDescription() {
@@ -48,6 +57,7 @@ public class TrainingCourse {
 
     public void setDescription(String description) {
         this.description = description;
+        markChanged(Field.DESCRIPTION);
     }
 
     public int getDurationInHours() {
@@ -56,6 +66,7 @@ public class TrainingCourse {
 
     public void setDurationInHours(int durationInHours) {
         this.durationInHours = durationInHours;
+        markChanged(Field.DURATION_IN_HOURS);
     }
 
     public TrainingCourseDTO.Department getDepartment() {
@@ -64,5 +75,16 @@ public class TrainingCourse {
 
     public void setDepartment(TrainingCourseDTO.Department department) {
         this.department = department;
+        markChanged(Field.DEPARTMENT);
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public void setVersion(int version) {
+        this.version = version;
     }
 }
@@ -2,11 +2,12 @@ package org.bhel.hrm.server.domain;
 
 import org.bhel.hrm.common.dtos.UserDTO;
 
-public class User {
+public class User implements Versioned {
     private int id;
     private String username;
     private String passwordHash;
     private UserDTO.Role role;
+    private int version;
 
     public User() {}
 
@@ -60,4 +61,14 @@ public class User {
     public void setRole(UserDTO.Role role) {
         this.role = role;
     }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public void setVersion(int version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,16 @@
+package org.bhel.hrm.server.domain;
+
+/**
+ * An entity stored with a {@code version} column for optimistic locking.
+ * <p>
+ * The version is read with the row, and each update is conditional on it still matching:
+ * an update that finds the row at another version fails instead of overwriting a change it
+ * never saw. A successful update advances the version on the entity, so it can be saved again.
+ */
+public interface Versioned {
+    int getId();
+
+    int getVersion();
+
+    void setVersion(int version);
+}
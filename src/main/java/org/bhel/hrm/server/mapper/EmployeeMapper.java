@@ -20,7 +20,8 @@ public final class EmployeeMapper {
             employee.getUserId(),
             employee.getFirstName(),
             employee.getLastName(),
-            employee.getIcPassport()
+            employee.getIcPassport(),
+            employee.getVersion()
         );
     }
 
@@ -29,13 +30,15 @@ public final class EmployeeMapper {
         if (dto == null)
             return null;
 
-        return new Employee(
+        Employee employee = new Employee(
             dto.id(),
             dto.userId(),
             dto.firstName(),
             dto.lastName(),
             dto.icPassport()
         );
+        employee.setVersion(dto.version());
+        return employee;
     }
 
     // Maps a list of Domain objects to a list of unmodifiable DTOs
@@ -20,7 +20,8 @@ public final class TrainingCourseMapper {
                 domain.getTitle(),
                 domain.getDescription(),
                 domain.getDurationInHours(),
-                domain.getDepartment()
+                domain.getDepartment(),
+                domain.getVersion()
         );
     }
 
@@ -28,14 +29,15 @@ public final class TrainingCourseMapper {
         if (dto == null)
             return null;
 
-        return new TrainingCourse(
+        TrainingCourse course = new TrainingCourse(
                 dto.id(),
                 dto.title(),
                 dto.description(),
                 dto.durationInHours(),
                 dto.department()
         );
-
+        course.setVersion(dto.version());
+        return course;
     }
 
     public static List<TrainingCourseDTO> toDtoList(List<TrainingCourse> all) {
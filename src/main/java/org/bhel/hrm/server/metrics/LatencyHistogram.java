@@ -0,0 +1,118 @@
+package org.bhel.hrm.server.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with power-of-two microsecond buckets.
+ * <p>
+ * Bucket {@code i} counts samples in {@code [2^(i-1), 2^i)} microseconds (bucket 0 holds
+ * everything below one microsecond), which gives a bounded relative error of at most 2x
+ * while keeping recording down to a couple of atomic increments. Percentiles are reported
+ * as the upper bound of the bucket they fall into, capped at the observed maximum.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 40; // 2^39 µs is roughly six days
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records one sample.
+     *
+     * @param nanos The measured duration in nanoseconds; negative values are treated as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        long micros = TimeUnit.NANOSECONDS.toMicros(value);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Takes a snapshot of the samples recorded so far. Samples recorded concurrently
+     * may or may not be included.
+     *
+     * @return An immutable summary in milliseconds
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        long max = maxNanos.get();
+        if (total == 0)
+            return Snapshot.EMPTY;
+
+        return new Snapshot(
+            total,
+            toMillis(totalNanos.sum() / Math.max(1, count.sum())),
+            percentile(counts, total, 0.50, max),
+            percentile(counts, total, 0.95, max),
+            percentile(counts, total, 0.99, max),
+            toMillis(max)
+        );
+    }
+
+    /**
+     * Clears all recorded samples.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets.set(i, 0);
+
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    private static double percentile(long[] counts, long total, double quantile, long maxNanos) {
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long upperBoundNanos = TimeUnit.MICROSECONDS.toNanos(1L << i);
+                return toMillis(Math.min(upperBoundNanos, maxNanos));
+            }
+        }
+
+        return toMillis(maxNanos);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * A point-in-time summary of a {@link LatencyHistogram}. All durations are in milliseconds.
+     *
+     * @param count  The number of samples
+     * @param mean   The arithmetic mean
+     * @param p50    The median (bucket upper bound)
+     * @param p95    The 95th percentile (bucket upper bound)
+     * @param p99    The 99th percentile (bucket upper bound)
+     * @param max    The largest sample
+     */
+    public record Snapshot(long count, double mean, double p50, double p95, double p99, double max) {
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0);
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, mean=%.2fms, p50=%.2fms, p95=%.2fms, p99=%.2fms, max=%.2fms",
+                count, mean, p50, p95, p99, max);
+        }
+    }
+}
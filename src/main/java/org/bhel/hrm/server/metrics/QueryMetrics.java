@@ -0,0 +1,159 @@
+package org.bhel.hrm.server.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement latency and row counts for the SQL run through the DAO templates, plus a
+ * slow-query log.
+ * <p>
+ * Statements are grouped by their normalized text: whitespace is collapsed and {@code IN}
+ * lists of any length count as one statement. Each group keeps a {@link LatencyHistogram}
+ * and a running row total, so recording stays a map lookup and a few atomic increments.
+ * Executions at or above the slow-query threshold are also logged, one line each, to the
+ * {@code org.bhel.hrm.server.slowquery} logger, with the shape of their bind parameters
+ * (types and string lengths) but never their values.
+ */
+public final class QueryMetrics {
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger("org.bhel.hrm.server.slowquery");
+
+    private static final int MAX_STATEMENTS = 500;
+    private static final String OTHER_STATEMENTS = "(other statements)";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    private final long slowThresholdNanos;
+    private final Map<String, Statement> byRawSql = new ConcurrentHashMap<>();
+    private final Map<String, Statement> byNormalizedSql = new ConcurrentHashMap<>();
+
+    /**
+     * @param slowThresholdMillis Executions taking at least this long are logged as slow
+     */
+    public QueryMetrics(long slowThresholdMillis) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    /**
+     * Records a successful execution.
+     *
+     * @param sql             The statement as executed
+     * @param nanos           How long it took
+     * @param rows            Rows returned by a query, or affected by an update
+     * @param parameterShapes Describes the bind parameters; only called when the execution is slow
+     */
+    public void record(String sql, long nanos, long rows, Supplier<List<String>> parameterShapes) {
+        Statement statement = statementFor(sql);
+        statement.latency.record(nanos);
+        statement.rows.add(rows);
+
+        if (nanos >= slowThresholdNanos)
+            slowQueryLogger.warn("slow_query elapsed_ms={} rows={} sql=\"{}\" params={}",
+                TimeUnit.NANOSECONDS.toMillis(nanos), rows, statement.sql, parameterShapes.get());
+    }
+
+    /**
+     * Records a failed execution. Its time counts towards the statement's latency, since
+     * timeouts and lock waits are often the slowest executions of all.
+     *
+     * @param sql             The statement as executed
+     * @param nanos           How long it ran before failing
+     * @param parameterShapes Describes the bind parameters; only called when the execution is slow
+     */
+    public void recordFailure(String sql, long nanos, Supplier<List<String>> parameterShapes) {
+        Statement statement = statementFor(sql);
+        statement.latency.record(nanos);
+        statement.failures.increment();
+
+        if (nanos >= slowThresholdNanos)
+            slowQueryLogger.warn("slow_query elapsed_ms={} failed=true sql=\"{}\" params={}",
+                TimeUnit.NANOSECONDS.toMillis(nanos), statement.sql, parameterShapes.get());
+    }
+
+    /**
+     * Returns the recorded statements, the ones with the most total time first.
+     *
+     * @return A snapshot per normalized statement
+     */
+    public List<StatementStats> snapshot() {
+        return byNormalizedSql.values().stream()
+            .map(Statement::snapshot)
+            .sorted(Comparator.comparingDouble(StatementStats::totalMillis).reversed())
+            .toList();
+    }
+
+    /**
+     * Normalizes a statement for grouping: collapses whitespace and reduces {@code IN}
+     * lists and other runs of placeholders to a single {@code ?, ...}.
+     *
+     * @param sql The statement as executed
+     * @return The normalized text
+     */
+    public static String normalize(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+        return PLACEHOLDER_LIST.matcher(collapsed).replaceAll("?, ...");
+    }
+
+    /**
+     * DAO statements are mostly constants, so the raw text is looked up first and
+     * normalized only the first time it is seen.
+     */
+    private Statement statementFor(String sql) {
+        Statement statement = byRawSql.get(sql);
+        if (statement != null)
+            return statement;
+
+        String normalized = byNormalizedSql.size() < MAX_STATEMENTS ? normalize(sql) : OTHER_STATEMENTS;
+        statement = byNormalizedSql.computeIfAbsent(normalized, Statement::new);
+
+        if (byRawSql.size() < MAX_STATEMENTS)
+            byRawSql.put(sql, statement);
+
+        return statement;
+    }
+
+    private static final class Statement {
+        private final String sql;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        Statement(String sql) {
+            this.sql = sql;
+        }
+
+        StatementStats snapshot() {
+            return new StatementStats(sql, latency.snapshot(), rows.sum(), failures.sum());
+        }
+    }
+
+    /**
+     * A point-in-time summary of one normalized statement.
+     *
+     * @param sql      The normalized statement
+     * @param latency  Execution times, including failed executions
+     * @param rows     Rows returned or affected, over all successful executions
+     * @param failures Executions that failed
+     */
+    public record StatementStats(String sql, LatencyHistogram.Snapshot latency, long rows, long failures) {
+        /**
+         * @return The approximate total time spent in this statement, in milliseconds
+         */
+        public double totalMillis() {
+            return latency.mean() * latency.count();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s | %s, rows=%d, failures=%d", sql, latency, rows, failures);
+        }
+    }
+}
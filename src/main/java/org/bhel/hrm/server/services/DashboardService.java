@@ -1,23 +1,57 @@
 package org.bhel.hrm.server.services;
 
 import org.bhel.hrm.common.dtos.DashboardDTO;
+import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.server.config.DatabaseManager;
+import org.bhel.hrm.server.daos.AsyncDAO;
 import org.bhel.hrm.server.daos.EmployeeDAO;
 import org.bhel.hrm.server.daos.UserDAO;
+import org.bhel.hrm.server.domain.Employee;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class DashboardService {
+    private final DatabaseManager dbManager;
     private final UserDAO userDAO;
     private final EmployeeDAO employeeDAO;
+    private final AsyncDAO<Employee, Integer> employees;
 
-    public DashboardService(UserDAO userDAO, EmployeeDAO employeeDAO) {
+    public DashboardService(DatabaseManager dbManager, UserDAO userDAO, EmployeeDAO employeeDAO) {
+        this.dbManager = dbManager;
         this.userDAO = userDAO;
         this.employeeDAO = employeeDAO;
+        this.employees = new AsyncDAO<>(employeeDAO, dbManager.getExecutor());
     }
 
-    public DashboardDTO getDashboardData(int userId) {
-        long totalEmployeeCount = employeeDAO.count();
+    /**
+     * Builds the dashboard for a user. The counts only need to be current, not
+     * mutually consistent, so each runs on the database executor as its own
+     * read; they are started together and joined, and no snapshot is held open.
+     */
+    public DashboardDTO getDashboardData(int userId) throws HRMException {
+        CompletableFuture<Long> totalEmployeeCount = employees.count();
+
+        return buildDashboard(userId, join(totalEmployeeCount));
+    }
+
+    /**
+     * Waits for a count, rethrowing a DAO failure as the synchronous call would have.
+     */
+    private static <R> R join(CompletableFuture<R> count) throws HRMException {
+        try {
+            return count.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+
+            throw new HRMException("Failed to load dashboard counts", e.getCause());
+        }
+    }
+
+    private DashboardDTO buildDashboard(int userId, long totalEmployeeCount) {
 
         // Stubs, will be updated
         int annualLeave = 14;
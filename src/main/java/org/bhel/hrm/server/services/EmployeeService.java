@@ -2,12 +2,15 @@ package org.bhel.hrm.server.services;
 
 import org.bhel.hrm.common.dtos.EmployeeDTO;
 import org.bhel.hrm.common.dtos.EmployeeReportDTO;
+import org.bhel.hrm.common.dtos.PageDTO;
 import org.bhel.hrm.common.error.ErrorCode;
 import org.bhel.hrm.common.exceptions.HRMException;
 import org.bhel.hrm.common.exceptions.InvalidInputException;
+import org.bhel.hrm.common.exceptions.OptimisticLockingFailureException;
 import org.bhel.hrm.common.exceptions.ResourceNotFoundException;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.daos.EmployeeDAO;
+import org.bhel.hrm.server.daos.Page;
 import org.bhel.hrm.server.daos.UserDAO;
 import org.bhel.hrm.server.domain.Employee;
 import org.bhel.hrm.server.mapper.EmployeeMapper;
@@ -18,6 +21,7 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Service class containing business logic for employee profile management.
@@ -46,10 +50,29 @@ public class EmployeeService {
      * @return A list of EmployeeDTOs; never null
      */
     public List<EmployeeDTO> getAllEmployees() {
-        List<Employee> employees = employeeDAO.findAll();
+        List<EmployeeDTO> employees = employeeDAO.findAllDtos();
 
         logger.info("Successfully retrieved all employees.");
-        return EmployeeMapper.mapToDtoList(employees);
+        return employees;
+    }
+
+    /**
+     * Retrieves one page of employees, sorted by last name.
+     *
+     * @param pageToken The token from the previous page, or {@code null} for the first page
+     * @param pageSize  The maximum number of employees to return; capped to {@link Paging#MAX_PAGE_SIZE}
+     * @return The page, with a token for the next one if more employees follow
+     * @throws InvalidInputException If the token is malformed or the page size is not positive
+     */
+    public PageDTO<EmployeeDTO> getEmployeesPage(String pageToken, int pageSize) throws InvalidInputException {
+        Page<EmployeeDTO> page = employeeDAO.findDtoPage(
+            Paging.afterKey(pageToken),
+            Paging.pageSize(pageSize),
+            EmployeeDAO.SORT_BY_LAST_NAME
+        );
+
+        logger.debug("Retrieved a page of {} employees.", page.items().size());
+        return page.toDto(Function.identity());
     }
 
     /**
@@ -93,29 +116,28 @@ public class EmployeeService {
     }
 
     /**
-     * Updates an employee's profile information within a transaction.
+     * Updates an employee's profile information with optimistic locking.
+     * <p>
+     * The update is a single conditional statement on the version the DTO was read at, so
+     * no row is read or locked first. If someone else has updated the employee since, the
+     * update fails with {@link ErrorCode#DB_CONCURRENT_UPDATE} and the client should reload.
      *
-     * @param employeeDTO The DTO containing updated data; must not be null and must have a valid ID
-     * @throws HRMException If validation fails, employee not found, or business rule violation occurs
-     * @throws SQLException If a database transaction error occurs
+     * @param employeeDTO The DTO containing updated data and the version it was read at; must not be null and must have a valid ID
+     * @throws HRMException If validation fails, employee not found, the employee was changed concurrently, or business rule violation occurs
+     * @throws SQLException If a database error occurs
      */
     public void updateEmployeeProfile(EmployeeDTO employeeDTO) throws SQLException, HRMException {
         validateEmployeeDTO(employeeDTO);
 
-        dbManager.executeInTransaction(() -> {
-            Employee existingEmployee = employeeDAO.findById(employeeDTO.id())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                    ErrorCode.EMPLOYEE_NOT_FOUND,
-                    RESOURCE_TYPE,
-                    employeeDTO.id()
-                ));
-
-            existingEmployee.setFirstName(employeeDTO.firstName());
-            existingEmployee.setLastName(employeeDTO.lastName());
-            existingEmployee.setIcPassport(employeeDTO.icPassport());
+        try {
+            employeeDAO.updateProfile(EmployeeMapper.mapToDomain(employeeDTO));
+        } catch (OptimisticLockingFailureException e) {
+            // Only on failure: tell a deleted employee apart from a concurrent update
+            if (!employeeDAO.existsById(employeeDTO.id()))
+                throw new ResourceNotFoundException(ErrorCode.EMPLOYEE_NOT_FOUND, RESOURCE_TYPE, employeeDTO.id());
 
-            employeeDAO.save(existingEmployee);
-        });
+            throw e.toHRMException();
+        }
 
         logger.info("Successfully updated profile for employee ID: {}",
             employeeDTO.id());
@@ -130,7 +152,7 @@ public class EmployeeService {
      * @throws ResourceNotFoundException   If no employee exists with the given ID
      */
     public void deleteEmployeeById(int employeeId) throws SQLException, HRMException {
-        dbManager.executeInTransaction(() -> {
+        dbManager.executeInTransaction("employee.delete", () -> {
             Employee employee = employeeDAO.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                     ErrorCode.EMPLOYEE_NOT_FOUND,
@@ -162,13 +184,21 @@ public class EmployeeService {
      * <strong>Note:</strong> Leave, training, and benefits summaries are currently
      * stub implementations returning placeholder data. These sections will be populated
      * with actual data from their respective services in future iterations.
+     * <p>
+     * All sections are read in one read-only {@code REPEATABLE READ} transaction so they
+     * describe the same point in time.
      *
      * @param employeeId The unique identifier of the employee for whom to generate the report
      * @return An {@link EmployeeReportDTO} containing the complete yearly report with timestamp
      * @throws HRMException              If a business rule violation occurs
      * @throws ResourceNotFoundException If no employee exists with the given ID
+     * @throws SQLException              If a database transaction error occurs
      */
-    public EmployeeReportDTO generateYearlyReport(int employeeId) throws HRMException {
+    public EmployeeReportDTO generateYearlyReport(int employeeId) throws SQLException, HRMException {
+        return dbManager.executeReadOnly(() -> buildYearlyReport(employeeId));
+    }
+
+    private EmployeeReportDTO buildYearlyReport(int employeeId) throws HRMException {
         Employee employee = employeeDAO.findById(employeeId).
             orElseThrow(() -> new ResourceNotFoundException(
                 ErrorCode.EMPLOYEE_NOT_FOUND,
@@ -102,8 +102,6 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
             userService.changePassword(userId, oldPassword, newPassword);
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
-        } finally {
-            if (dbManager.isTransactionActive()) dbManager.rollbackTransaction();
         }
     }
 
@@ -116,8 +114,6 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
             userService.registerNewEmployee(registrationData);
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
-        } finally {
-            if (dbManager.isTransactionActive()) dbManager.rollbackTransaction();
         }
     }
 
@@ -135,6 +131,21 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
         }
     }
 
+    @Override
+    public PageDTO<EmployeeDTO> getEmployeesPage(String pageToken, int pageSize)
+            throws RemoteException, HRMException {
+        logger.debug("RMI Call: getEmployeesPage(pageSize={}) received.", pageSize);
+        ErrorContext context = ErrorContext.forOperation(
+                "getEmployeesPage");
+
+        try {
+            return employeeService.getEmployeesPage(pageToken, pageSize);
+        } catch (Exception e) {
+            exceptionHandler.handle(e, context);
+            throw new AssertionError("unreachable code");
+        }
+    }
+
     @Override
     public EmployeeDTO getEmployeeById(int employeeId)
             throws RemoteException, HRMException {
@@ -188,8 +199,6 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
             throw new AssertionError("unreachable");
-        } finally {
-            if (dbManager.isTransactionActive()) dbManager.rollbackTransaction();
         }
     }
 
@@ -203,8 +212,6 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
             throw new AssertionError("unreachable");
-        } finally {
-            if (dbManager.isTransactionActive()) dbManager.rollbackTransaction();
         }
     }
 
@@ -256,8 +263,6 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
             throw new AssertionError("unreachable");
-        } finally {
-            if (dbManager.isTransactionActive()) dbManager.rollbackTransaction();
         }
     }
 
@@ -271,8 +276,6 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
             throw new AssertionError("unreachable");
-        } finally {
-            if (dbManager.isTransactionActive()) dbManager.rollbackTransaction();
         }
     }
 
@@ -288,8 +291,6 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
             throw new AssertionError("unreachable");
-        } finally {
-            if (dbManager.isTransactionActive()) dbManager.rollbackTransaction();
         }
     }
 
@@ -331,6 +332,18 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
         }
     }
 
+    @Override
+    public PageDTO<LeaveApplicationDTO> getPendingLeaveRequestsPage(String pageToken, int pageSize)
+            throws RemoteException, HRMException {
+
+        try {
+            return leaveService.getPendingLeavesPage(pageToken, pageSize);
+        } catch (Exception e) {
+            exceptionHandler.handle(e, "getPendingLeaveRequestsPage");
+            throw new AssertionError("unreachable");
+        }
+    }
+
     @Override
     public void saveTrainingCourse(TrainingCourseDTO courseDTO) throws RemoteException, HRMException {
         logger.info("RMI Call: saveTrainingCourse for '{}'", courseDTO.title());
@@ -341,9 +354,6 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
             throw new AssertionError("unreachable code");
-        } finally {
-            if (dbManager.isTransactionActive())
-                dbManager.rollbackTransaction();
         }
     }
 
@@ -356,9 +366,6 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
             trainingService.deleteCourse(courseId);
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
-            } finally {
-                if (dbManager.isTransactionActive())
-                      dbManager.rollbackTransaction();
         }
     }
 
@@ -371,23 +378,18 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
             trainingService.enrollEmployee(employeeId, courseId);
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
-        } finally {
-            if (dbManager.isTransactionActive())
-                dbManager.rollbackTransaction();
         }
     }
 
     @Override
-    public void enrollMultipleEmployees(int courseId, List<Integer> employeeIds) throws RemoteException, HRMException {
+    public BulkOperationResultDTO enrollMultipleEmployees(int courseId, List<Integer> employeeIds) throws RemoteException, HRMException {
         logger.info("RMI Call: enrollMultipleEmployees (Course: {}, Count: {})", courseId, employeeIds.size());
         ErrorContext context = ErrorContext.forOperation("enrollMultipleEmployees");
         try {
-            trainingService.enrollMultipleEmployees(courseId, employeeIds);
+            return trainingService.enrollMultipleEmployees(courseId, employeeIds);
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
-        } finally {
-            if (dbManager.isTransactionActive())
-                dbManager.rollbackTransaction();
+            throw new AssertionError("unreachable");
         }
     }
 
@@ -400,8 +402,6 @@ public class HRMServer extends UnicastRemoteObject implements HRMService {
         } catch (Exception e) {
             exceptionHandler.handle(e, context);
             throw new AssertionError("unreachable");
-        } finally {
-            if (dbManager.isTransactionActive()) dbManager.rollbackTransaction();
         }
     }
 
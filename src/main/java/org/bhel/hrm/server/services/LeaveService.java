@@ -1,6 +1,8 @@
 package org.bhel.hrm.server.services;
 
 import org.bhel.hrm.common.dtos.LeaveApplicationDTO;
+import org.bhel.hrm.common.dtos.PageDTO;
+import org.bhel.hrm.common.exceptions.InvalidInputException;
 
 import java.util.List;
 
@@ -8,6 +10,17 @@ public interface LeaveService {
     void applyForLeave(LeaveApplicationDTO dto);
     List<LeaveApplicationDTO> getLeaveHistory(int employeeId);
     List<LeaveApplicationDTO> getPendingLeaves();
+
+    /**
+     * Retrieves one page of pending leave applications, latest start date first.
+     *
+     * @param pageToken The token from the previous page, or {@code null} for the first page
+     * @param pageSize  The maximum number of applications to return; capped to {@link Paging#MAX_PAGE_SIZE}
+     * @return The page, with a token for the next one if more applications follow
+     * @throws InvalidInputException If the token is malformed or the page size is not positive
+     */
+    PageDTO<LeaveApplicationDTO> getPendingLeavesPage(String pageToken, int pageSize) throws InvalidInputException;
+
     void decideLeave(int leaveId, boolean approve, int hrUserId, String decisionReason);
 
 }
@@ -0,0 +1,49 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.exceptions.InvalidInputException;
+import org.bhel.hrm.server.daos.PageKey;
+
+/**
+ * Validates the paging arguments of paged service calls, which arrive from clients
+ * as a continuation token and a requested page size.
+ */
+public final class Paging {
+    /** The largest page a client can request; larger requests are capped to it. */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private Paging() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Decodes a continuation token.
+     *
+     * @param pageToken The token from the previous page, or {@code null} for the first page
+     * @return The key to continue after, or {@code null} for the first page
+     * @throws InvalidInputException If the token is malformed
+     */
+    public static PageKey afterKey(String pageToken) throws InvalidInputException {
+        if (pageToken == null || pageToken.isEmpty())
+            return null;
+
+        try {
+            return PageKey.fromToken(pageToken);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("pageToken", pageToken, "Invalid page token.");
+        }
+    }
+
+    /**
+     * Validates a requested page size, capping it to {@link #MAX_PAGE_SIZE}.
+     *
+     * @param requested The page size the client asked for
+     * @return The page size to use
+     * @throws InvalidInputException If the requested size is not positive
+     */
+    public static int pageSize(int requested) throws InvalidInputException {
+        if (requested < 1)
+            throw new InvalidInputException("pageSize", requested, "Page size must be positive.");
+
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+}
@@ -1,5 +1,6 @@
 package org.bhel.hrm.server.services;
 
+import org.bhel.hrm.common.dtos.BulkOperationResultDTO;
 import org.bhel.hrm.common.dtos.TrainingCourseDTO;
 import org.bhel.hrm.common.dtos.TrainingEnrollmentDTO;
 import org.bhel.hrm.common.error.ErrorCode;
@@ -20,7 +21,12 @@ import org.slf4j.LoggerFactory;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 public class TrainingService {
@@ -66,7 +72,7 @@ public class TrainingService {
     public void createOrUpdateCourse(TrainingCourseDTO dto) throws Exception {
         validateCourse(dto);
 
-        dbManager.executeInTransaction(() -> {
+        dbManager.executeInTransaction("training.course.save", () -> {
             // Check if update or create based on ID
             TrainingCourse domain = TrainingCourseMapper.toDomain(dto);
             trainingCourseDAO.save(domain); // Save handles both insert and update in your DAO implementation
@@ -74,17 +80,21 @@ public class TrainingService {
     }
 
     public void enrollEmployee(int employeeId, int courseId) throws SQLException, HRMException {
-        dbManager.executeInTransaction(() -> {
+        dbManager.executeInTransaction("training.enroll", () -> {
             // 1. Validate Course Exists
-            if (trainingCourseDAO.findById(courseId).isEmpty()) {
+            if (!trainingCourseDAO.existsById(courseId)) {
                 throw new ResourceNotFoundException(ErrorCode.TRAINING_COURSE_NOT_FOUND, "TrainingCourse", courseId);
             }
 
-            // 2. Check for Duplicate Enrollment
-            boolean alreadyEnrolled = trainingEnrollmentDAO.findByEmployeeId(employeeId).stream()
-                    .anyMatch(e -> e.getCourseId() == courseId);
+            // 2. Create Enrollment; the uk_employee_course key rejects duplicates, even from concurrent requests
+            TrainingEnrollment enrollment = new TrainingEnrollment(
+                employeeId,
+                courseId,
+                LocalDateTime.now(),
+                TrainingEnrollmentDTO.Status.ENROLLED
+            );
 
-            if (alreadyEnrolled) {
+            if (!trainingEnrollmentDAO.insertIfAbsent(enrollment)) {
                 throw new EnrollmentException(
                         String.valueOf(employeeId),
                         String.valueOf(courseId),
@@ -93,21 +103,12 @@ public class TrainingService {
                 );
             }
 
-            // 3. Create Enrollment
-            TrainingEnrollment enrollment = new TrainingEnrollment(
-                employeeId,
-                courseId,
-                LocalDateTime.now(),
-                TrainingEnrollmentDTO.Status.ENROLLED
-            );
-
-            trainingEnrollmentDAO.save(enrollment);
             logger.info("Employee {} successfully enrolled in course {}", employeeId, courseId);
         });
     }
 
     public void updateEnrollmentStatus(int enrollmentId, TrainingEnrollmentDTO.Status newStatus) throws SQLException, HRMException {
-        dbManager.executeInTransaction(() -> {
+        dbManager.executeInTransaction("training.enrollment.update", () -> {
             TrainingEnrollment enrollment = trainingEnrollmentDAO.findById(enrollmentId)
                     .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.TRAINING_ENROLLMENT_NOT_FOUND, "TrainingEnrollment", enrollmentId));
 
@@ -134,51 +135,82 @@ public class TrainingService {
     }
 
     /**
-     * Enrolls multiple employees in a course transactionally.
+     * Enrolls multiple employees in a course.
      * Skips employees who are already enrolled (idempotent).
+     * <p>
+     * Runs as a unit of work: the existing enrollments are read once up front and the
+     * new enrollments are sent in batches. Each batch runs under a savepoint, so an
+     * employee whose enrollment fails (e.g. an unknown id) is rolled back on its own
+     * and reported, while the rest of the batch is kept.
+     *
+     * @return Which employees were enrolled, skipped, or failed, and why
      */
-    public void enrollMultipleEmployees(int courseId, List<Integer> employeeIds) throws SQLException, HRMException {
-        dbManager.executeInTransaction(() -> {
+    public BulkOperationResultDTO enrollMultipleEmployees(int courseId, List<Integer> employeeIds) throws SQLException, HRMException {
+        AtomicReference<BulkOperationResultDTO> result = new AtomicReference<>();
+
+        dbManager.executeInUnitOfWork("training.enroll.bulk", () -> {
             // 1. Validate Course Exists
-            if (trainingCourseDAO.findById(courseId).isEmpty()) {
+            if (!trainingCourseDAO.existsById(courseId)) {
                 throw new ResourceNotFoundException(ErrorCode.TRAINING_COURSE_NOT_FOUND, "TrainingCourse", courseId);
             }
 
-            int successCount = 0;
+            // 2. Collect who is already enrolled, so duplicates can be skipped without a query per employee
+            Set<Integer> alreadyEnrolled = trainingEnrollmentDAO.findByCourseId(courseId).stream()
+                    .map(TrainingEnrollment::getEmployeeId)
+                    .collect(Collectors.toCollection(HashSet::new));
+
+            List<Integer> toEnroll = new ArrayList<>();
+            List<Integer> skipped = new ArrayList<>();
             for (Integer empId : employeeIds) {
-                // 2. Check for Duplicate Enrollment (Skipping if exists)
-                boolean alreadyEnrolled = trainingEnrollmentDAO.findByEmployeeId(empId).stream()
-                        .anyMatch(e -> e.getCourseId() == courseId);
-
-                if (!alreadyEnrolled) {
-                    TrainingEnrollment enrollment = new TrainingEnrollment(
-                            empId,
-                            courseId,
-                            LocalDateTime.now(),
-                            TrainingEnrollmentDTO.Status.ENROLLED
-                    );
-                    trainingEnrollmentDAO.save(enrollment);
-                    successCount++;
-                }
+                if (alreadyEnrolled.add(empId))
+                    toEnroll.add(empId);
+                else
+                    skipped.add(empId);
             }
-            logger.info("Bulk enrollment completed for Course {}. Enrolled {} new employees.", courseId, successCount);
+
+            // 3. Enroll, rolling back only the employees that fail
+            Map<Integer, Exception> failed = dbManager.executeEachInSavepoint(toEnroll, empId ->
+                trainingEnrollmentDAO.save(new TrainingEnrollment(
+                        empId,
+                        courseId,
+                        LocalDateTime.now(),
+                        TrainingEnrollmentDTO.Status.ENROLLED
+                ))
+            );
+
+            List<Integer> enrolled = toEnroll.stream()
+                    .filter(empId -> !failed.containsKey(empId))
+                    .toList();
+            List<BulkOperationResultDTO.ItemFailure> failures = failed.entrySet().stream()
+                    .map(entry -> new BulkOperationResultDTO.ItemFailure(
+                            entry.getKey(),
+                            dbManager.resolveErrorCode(entry.getValue(), "training.enroll.bulk"),
+                            entry.getValue().getMessage()
+                    ))
+                    .toList();
+
+            result.set(new BulkOperationResultDTO(enrolled, skipped, failures));
+            logger.info("Bulk enrollment completed for Course {}. Enrolled {} new employees, skipped {}, failed {}.",
+                    courseId, enrolled.size(), skipped.size(), failures.size());
         });
+
+        return result.get();
     }
 
 public void saveCourse(TrainingCourseDTO courseDTO) throws SQLException, HRMException {
     validateCourse(courseDTO);
 
-    dbManager.executeInTransaction(() -> {
+    dbManager.executeInTransaction("training.course.save", () -> {
         TrainingCourse domain = TrainingCourseMapper.toDomain(courseDTO);
         trainingCourseDAO.save(domain);
         logger.info("Training course '{}' saved successfully.", courseDTO.title());
     });
 }
 public void deleteCourse(int courseId) throws SQLException, HRMException {
-    dbManager.executeInTransaction(() -> {
+    dbManager.executeInTransaction("training.course.delete", () -> {
         // Optional: Check if anyone is enrolled?
         // For now, we rely on DB Cascade Delete or allow it.
-        if (trainingCourseDAO.findById(courseId).isEmpty()) {
+        if (!trainingCourseDAO.existsById(courseId)) {
             throw new ResourceNotFoundException(ErrorCode.TRAINING_COURSE_NOT_FOUND, "TrainingCourse", courseId);
         }
         trainingCourseDAO.deleteById(courseId);
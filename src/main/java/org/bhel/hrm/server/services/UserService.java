@@ -82,8 +82,8 @@ public class UserService {
 
         final Employee newEmployee = new Employee();
 
-        dbManager.executeInTransaction(() -> {
-            if (userDAO.findByUsername(registrationData.username()).isPresent())
+        dbManager.executeInTransaction("registration", () -> {
+            if (userDAO.existsByUsername(registrationData.username()))
                 throw new DuplicateUserException(registrationData.username());
 
             User newUser = new User(
@@ -93,6 +93,7 @@ public class UserService {
             );
             userDAO.save(newUser);
 
+            newEmployee.setId(0); // A retried attempt must insert again, not update the rolled-back row
             newEmployee.setUserId(newUser.getId());
             newEmployee.setFirstName(registrationData.firstName());
             newEmployee.setLastName(registrationData.lastName());
@@ -128,7 +129,7 @@ public class UserService {
      * @throws UserNotFoundException   If no user exists with the given ID.
      * @throws AuthenticationException If the old password does not match.
      * @throws DataAccessException     If a database access error occurs.
-     * @throws HRMException            If validation fails or a business rule is violated.
+     * @throws HRMException            If validation fails, the user was changed concurrently, or a business rule is violated.
      * @throws SQLException            If a database transaction error occurs.
      */
     public void changePassword(
@@ -155,20 +156,26 @@ public class UserService {
         if (!containsUpperCase(newPassword))
             throw new InvalidInputException("New password must contain at least one uppercase letter.");
 
-        dbManager.executeInTransaction(() -> {
-            User user = userDAO.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User ID: " + userId));
+        // No write transaction: the save is conditional on the version read here, so the slow
+        // password hashing below holds no connection or row lock. The read goes to the primary,
+        // as a lagging replica could return the version from before a password change just made.
+        User user = dbManager.executeReadOnlyOnPrimary(() -> userDAO.findById(userId))
+            .orElseThrow(() -> new UserNotFoundException("User ID: " + userId));
 
-            // Verifies the old password first
-            if (!PasswordService.checkPassword(oldPassword, user.getPasswordHash()))
-                throw new AuthenticationException(user.getUsername());
+        // Verifies the old password first
+        if (!PasswordService.checkPassword(oldPassword, user.getPasswordHash()))
+            throw new AuthenticationException(user.getUsername());
 
-            // Hash and set new password
-            user.setPasswordHash(PasswordService.hashPassword(newPassword));
+        // Hash and set new password
+        user.setPasswordHash(PasswordService.hashPassword(newPassword));
+
+        try {
             userDAO.save(user);
+        } catch (OptimisticLockingFailureException e) {
+            throw e.toHRMException();
+        }
 
-            logger.info("Password successfully updated for user ID: {}", userId);
-        });
+        logger.info("Password successfully updated for user ID: {}", userId);
     }
 
     private boolean containsUpperCase(String s) {
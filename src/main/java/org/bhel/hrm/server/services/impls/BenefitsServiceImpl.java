@@ -13,7 +13,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 public class BenefitsServiceImpl implements BenefitsService {
 
@@ -49,18 +49,17 @@ public class BenefitsServiceImpl implements BenefitsService {
                         employeeId
                 ));
 
-        return employeeBenefitDAO.findPlansForEmployee(employeeId).stream()
-                .map(planId -> {
-                    Optional<BenefitPlan> opt = benefitPlanDAO.findById(planId);
-                    if (opt.isEmpty()) {
-                        logger.warn(
-                                "Orphaned benefit enrollment detected: employeeId={}, planId={} not found in benefit_plans",
-                                employeeId, planId
-                        );
-                    }
-                    return opt;
-                })
-                .flatMap(Optional::stream)
+        List<Integer> planIds = employeeBenefitDAO.findPlansForEmployee(employeeId);
+        Map<Integer, BenefitPlan> plans = benefitPlanDAO.findByIds(planIds);
+
+        planIds.stream()
+                .filter(planId -> !plans.containsKey(planId))
+                .forEach(planId -> logger.warn(
+                        "Orphaned benefit enrollment detected: employeeId={}, planId={} not found in benefit_plans",
+                        employeeId, planId
+                ));
+
+        return plans.values().stream()
                 .map(this::toDTO)
                 .toList();
     }
@@ -68,22 +67,19 @@ public class BenefitsServiceImpl implements BenefitsService {
 
     @Override
     public void enrollInBenefitPlan(int employeeId, int planId) {
-        employeeDAO.findById(employeeId)
-                .orElseThrow(() -> new IllegalArgumentException("Employee not found: " + employeeId));
-
-        BenefitPlan plan = benefitPlanDAO.findById(planId)
-                .orElseThrow(() -> new IllegalArgumentException("Benefit plan not found: " + planId));
+        if (!employeeDAO.existsById(employeeId)) {
+            throw new IllegalArgumentException("Employee not found: " + employeeId);
+        }
 
-        // Duplicate enrollment validation (server-side)
-        boolean alreadyEnrolled = employeeBenefitDAO.findPlansForEmployee(employeeId).stream()
-                .anyMatch(id -> id == plan.getId());
+        if (!benefitPlanDAO.existsById(planId)) {
+            throw new IllegalArgumentException("Benefit plan not found: " + planId);
+        }
 
-        if (alreadyEnrolled) {
+        // The uq_employee_plan key rejects duplicates, even from concurrent requests
+        if (!employeeBenefitDAO.enroll(employeeId, planId)) {
             throw new IllegalArgumentException(
-                    "Employee " + employeeId + " is already enrolled in benefit plan " + plan.getId());
+                    "Employee " + employeeId + " is already enrolled in benefit plan " + planId);
         }
-
-        employeeBenefitDAO.enroll(employeeId, plan.getId());
     }
 
 
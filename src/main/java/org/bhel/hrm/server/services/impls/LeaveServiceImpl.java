@@ -1,13 +1,17 @@
 package org.bhel.hrm.server.services.impls;
 
 import org.bhel.hrm.common.dtos.LeaveApplicationDTO;
+import org.bhel.hrm.common.dtos.PageDTO;
+import org.bhel.hrm.common.exceptions.InvalidInputException;
 import org.bhel.hrm.server.daos.EmployeeDAO;
 import org.bhel.hrm.server.daos.LeaveApplicationDAO;
 import org.bhel.hrm.server.domain.LeaveApplication;
 import org.bhel.hrm.server.services.LeaveService;
+import org.bhel.hrm.server.services.Paging;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 
 public class LeaveServiceImpl implements LeaveService {
 
@@ -59,16 +63,21 @@ public class LeaveServiceImpl implements LeaveService {
             throw new IllegalArgumentException("Invalid employeeId: " + employeeId);
         }
 
-        return leaveDAO.findByEmployeeId(employeeId).stream()
-                .map(this::toDTO)
-                .toList();
+        return leaveDAO.findDtosByEmployeeId(employeeId);
     }
 
     @Override
     public List<LeaveApplicationDTO> getPendingLeaves() {
-        return leaveDAO.findPending().stream()
-                .map(this::toDTO)
-                .toList();
+        return leaveDAO.findPendingDtos();
+    }
+
+    @Override
+    public PageDTO<LeaveApplicationDTO> getPendingLeavesPage(String pageToken, int pageSize) throws InvalidInputException {
+        return leaveDAO.findPendingDtoPage(
+                Paging.afterKey(pageToken),
+                Paging.pageSize(pageSize),
+                LeaveApplicationDAO.SORT_BY_START_DESC
+        ).toDto(Function.identity());
     }
 
     @Override
@@ -88,19 +97,9 @@ public class LeaveServiceImpl implements LeaveService {
             throw new IllegalArgumentException("You cannot approve/reject your own leave request.");
         }
 
-        int newStatusId = approve ? 2 : 3; // approved=2, rejected=3 (your seed)
-        leaveDAO.updateStatus(leaveId, newStatusId, hrUserId, decisionReason);
-    }
-
-    private LeaveApplicationDTO toDTO(LeaveApplication leave) {
-        return new LeaveApplicationDTO(
-                leave.getId(),
-                leave.getEmployeeId(),
-                leave.getStartDateTime(),
-                leave.getEndDateTime(),
-                leave.getType(),
-                leave.getStatus(),
-                leave.getReason()
-        );
+        LeaveApplicationDTO.LeaveStatus newStatus = approve
+                ? LeaveApplicationDTO.LeaveStatus.APPROVED
+                : LeaveApplicationDTO.LeaveStatus.REJECTED;
+        leaveDAO.updateStatus(leaveId, newStatus, hrUserId, decisionReason);
     }
 }
@@ -0,0 +1,241 @@
+-- Baseline schema: the tables and lookup rows that DatabaseManager used to create on every start.
+-- Every statement is idempotent, so applying it to a database created by that code is a no-op.
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20) NOT NULL UNIQUE,
+    sort_order TINYINT NOT NULL DEFAULT 0
+);
+
+INSERT IGNORE INTO user_roles (id, name, sort_order) VALUES
+(1, 'hr_staff', 1),
+(2, 'employee', 2);
+
+CREATE TABLE IF NOT EXISTS users (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    role_id TINYINT UNSIGNED NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_users_role_id
+        FOREIGN KEY (role_id) REFERENCES user_roles(id)
+        ON UPDATE CASCADE
+        ON DELETE RESTRICT
+);
+
+CREATE TABLE IF NOT EXISTS employees (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    ic_passport VARCHAR(255) NOT NULL UNIQUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_employees_first_last UNIQUE (first_name, last_name),
+
+    CONSTRAINT fk_employees_employee_id
+        FOREIGN KEY (user_id) REFERENCES users(id)
+        ON UPDATE CASCADE
+        ON DELETE RESTRICT
+);
+
+CREATE TABLE IF NOT EXISTS leave_application_types (
+    id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20) NOT NULL UNIQUE,
+    sort_order TINYINT NOT NULL DEFAULT 0
+);
+
+INSERT IGNORE INTO leave_application_types (id, name, sort_order) VALUES
+(1, 'annual', 1),
+(2, 'sick', 2),
+(3, 'unpaid', 3);
+
+CREATE TABLE IF NOT EXISTS leave_application_statuses (
+    id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20) NOT NULL UNIQUE,
+    sort_order TINYINT NOT NULL DEFAULT 0
+);
+
+INSERT IGNORE INTO leave_application_statuses (id, name, sort_order) VALUES
+(1, 'pending', 1),
+(2, 'approved', 2),
+(3, 'rejected', 3);
+
+CREATE TABLE IF NOT EXISTS leave_applications (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    employee_id INT NOT NULL,
+    start_date_time DATETIME NOT NULL,
+    end_date_time DATETIME NOT NULL,
+    type_id TINYINT UNSIGNED NOT NULL,
+    status_id TINYINT UNSIGNED NOT NULL,
+    reason TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_leave_applications_employee_id
+        FOREIGN KEY (employee_id) REFERENCES employees(id)
+        ON UPDATE CASCADE
+        ON DELETE CASCADE,
+
+    CONSTRAINT fk_leave_applications_type_id
+        FOREIGN KEY (type_id) REFERENCES leave_application_types(id)
+        ON UPDATE CASCADE
+        ON DELETE RESTRICT,
+
+    CONSTRAINT fk_leave_applications_status_id
+        FOREIGN KEY (status_id) REFERENCES leave_application_statuses(id)
+        ON UPDATE CASCADE
+        ON DELETE RESTRICT
+);
+
+CREATE TABLE IF NOT EXISTS departments (
+    id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE,
+    sort_order TINYINT NOT NULL DEFAULT 0
+);
+
+INSERT IGNORE INTO departments (name, sort_order) VALUES
+('IT', 1), ('HR', 2), ('Finance', 3), ('Operations', 4), ('Sales', 5);
+
+CREATE TABLE IF NOT EXISTS training_courses (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    duration_in_hours INT,
+    department_id TINYINT UNSIGNED NOT NULL,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_courses_department_id
+        FOREIGN KEY (department_id) REFERENCES departments(id)
+        ON UPDATE CASCADE ON DELETE RESTRICT
+);
+
+CREATE TABLE IF NOT EXISTS benefit_plans (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    plan_name VARCHAR(255) NOT NULL,
+    provider VARCHAR(255),
+    description TEXT,
+    cost_per_month DECIMAL(10, 2),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS employee_benefits (
+     id INT AUTO_INCREMENT PRIMARY KEY,
+     employee_id INT NOT NULL,
+     plan_id INT NOT NULL,
+     enrolled_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+     UNIQUE KEY uq_employee_plan (employee_id, plan_id),
+
+     CONSTRAINT fk_employee_benefits_employee
+         FOREIGN KEY (employee_id) REFERENCES employees(id)
+         ON DELETE CASCADE,
+
+     CONSTRAINT fk_employee_benefits_plan
+         FOREIGN KEY (plan_id) REFERENCES benefit_plans(id)
+         ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS job_opening_statuses (
+    id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20) NOT NULL UNIQUE,
+    sort_order TINYINT NOT NULL DEFAULT 0
+);
+
+INSERT IGNORE INTO job_opening_statuses (id, name, sort_order) VALUES
+(1, 'open', 1),
+(2, 'closed', 2),
+(3, 'on_hold', 3);
+
+CREATE TABLE IF NOT EXISTS job_openings (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    department_id TINYINT UNSIGNED NOT NULL,
+    status_id TINYINT UNSIGNED NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_job_openings_status_id
+        FOREIGN KEY (status_id) REFERENCES job_opening_statuses(id)
+        ON UPDATE CASCADE
+        ON DELETE RESTRICT,
+
+    CONSTRAINT fk_job_openings_department_id
+        FOREIGN KEY (department_id) REFERENCES departments(id)
+        ON UPDATE CASCADE
+        ON DELETE RESTRICT
+);
+
+CREATE TABLE IF NOT EXISTS applicant_statuses (
+    id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20) NOT NULL UNIQUE,
+    sort_order TINYINT NOT NULL DEFAULT 0
+);
+
+INSERT IGNORE INTO applicant_statuses (id, name, sort_order) VALUES
+(1, 'new', 1),
+(2, 'screening', 2),
+(3, 'interviewing', 3),
+(4, 'offered', 4),
+(5, 'hired', 5),
+(6, 'rejected', 6);
+
+CREATE TABLE IF NOT EXISTS applicants (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    job_opening_id INT NOT NULL,
+    full_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone VARCHAR(50),
+    status_id TINYINT UNSIGNED NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_applicants_job_opening_id
+        FOREIGN KEY (job_opening_id) REFERENCES job_openings(id)
+        ON UPDATE CASCADE
+        ON DELETE CASCADE,
+
+    CONSTRAINT fk_applicants_status_id
+        FOREIGN KEY (status_id) REFERENCES applicant_statuses(id)
+        ON UPDATE CASCADE
+        ON DELETE RESTRICT
+);
+
+CREATE TABLE IF NOT EXISTS training_enrollment_statuses (
+    id TINYINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20) NOT NULL UNIQUE,
+    sort_order TINYINT NOT NULL DEFAULT 0
+);
+
+INSERT IGNORE INTO training_enrollment_statuses (name, sort_order) VALUES
+('ENROLLED', 1), ('COMPLETED', 2), ('CANCELLED', 3), ('FAILED', 4);
+
+CREATE TABLE IF NOT EXISTS training_enrollments (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    employee_id INT NOT NULL,
+    course_id INT NOT NULL,
+    status_id TINYINT UNSIGNED NOT NULL,
+    enrollment_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_enrollment_employee_id
+        FOREIGN KEY (employee_id) REFERENCES employees(id)
+        ON UPDATE CASCADE ON DELETE CASCADE,
+    CONSTRAINT fk_enrollment_course_id
+        FOREIGN KEY (course_id) REFERENCES training_courses(id)
+        ON UPDATE CASCADE ON DELETE CASCADE,
+    CONSTRAINT fk_enrollment_status_id
+        FOREIGN KEY (status_id) REFERENCES training_enrollment_statuses(id)
+        ON UPDATE CASCADE ON DELETE RESTRICT,
+
+    UNIQUE KEY uk_employee_course (employee_id, course_id)
+);
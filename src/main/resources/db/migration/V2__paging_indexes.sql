@@ -0,0 +1,9 @@
+-- Indexes for keyset pagination of the employee and leave lists. InnoDB appends the primary
+-- key to every secondary index, so each one also covers the id tie-breaker of its sort.
+
+ALTER TABLE employees
+    ADD INDEX idx_employees_last_name (last_name);
+
+ALTER TABLE leave_applications
+    ADD INDEX idx_leave_applications_start (start_date_time),
+    ADD INDEX idx_leave_applications_status_start (status_id, start_date_time);
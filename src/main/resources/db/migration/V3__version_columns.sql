@@ -0,0 +1,15 @@
+-- Row versions for optimistic locking. Versioned updates run as one conditional statement,
+-- UPDATE ... SET ..., version = version + 1 WHERE id = ? AND version = ?, and affect no row
+-- when someone else has updated the row since it was read.
+
+ALTER TABLE employees
+    ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+ALTER TABLE users
+    ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+ALTER TABLE training_courses
+    ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+ALTER TABLE leave_applications
+    ADD COLUMN version INT NOT NULL DEFAULT 0;
@@ -1,4 +1,542 @@
 package org.bhel.hrm.server;
 
+import org.bhel.hrm.common.config.Configuration;
+import org.bhel.hrm.common.dtos.TrainingCourseDTO;
+import org.bhel.hrm.common.dtos.TrainingEnrollmentDTO;
+import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.server.config.DatabaseManager;
+import org.bhel.hrm.server.config.RetryPolicy;
+import org.bhel.hrm.server.config.TransactionContext;
+import org.bhel.hrm.server.daos.EmployeeDAO;
+import org.bhel.hrm.server.daos.ReferenceData;
+import org.bhel.hrm.server.daos.TrainingCourseDAO;
+import org.bhel.hrm.server.daos.TrainingEnrollmentDAO;
+import org.bhel.hrm.server.daos.UserDAO;
+import org.bhel.hrm.server.daos.impls.EmployeeDAOImpl;
+import org.bhel.hrm.server.daos.impls.TrainingCourseDAOImpl;
+import org.bhel.hrm.server.daos.impls.TrainingEnrollmentDAOImpl;
+import org.bhel.hrm.server.daos.impls.UserDAOImpl;
+import org.bhel.hrm.server.domain.Employee;
+import org.bhel.hrm.server.domain.TrainingCourse;
+import org.bhel.hrm.server.domain.TrainingEnrollment;
+import org.bhel.hrm.server.domain.User;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Testcontainers
+@DisplayName("DatabaseManager tests")
 public class DatabaseManagerTest {
+    private static final int MISSING_EMPLOYEE_ID = 99999;
+
+    @Container
+    private static final MySQLContainer mysql = new MySQLContainer("mysql:8.4.0")
+        .withUrlParam("rewriteBatchedStatements", "true");
+
+    private static DatabaseManager dbManager;
+    private static UserDAO userDAO;
+    private static EmployeeDAO employeeDAO;
+    private static TrainingCourseDAO trainingCourseDAO;
+    private static TrainingEnrollmentDAO trainingEnrollmentDAO;
+
+    @BeforeAll
+    static void setup() {
+        Configuration mockConfig = mock(Configuration.class);
+
+        when(mockConfig.getDbUrl()).thenReturn(mysql.getJdbcUrl());
+        when(mockConfig.getDbUser()).thenReturn(mysql.getUsername());
+        when(mockConfig.getDbPassword()).thenReturn(mysql.getPassword());
+
+        dbManager = new DatabaseManager(mockConfig);
+        ReferenceData referenceData = ReferenceData.load(dbManager);
+        userDAO = new UserDAOImpl(dbManager, referenceData);
+        employeeDAO = new EmployeeDAOImpl(dbManager);
+        trainingCourseDAO = new TrainingCourseDAOImpl(dbManager, referenceData);
+        trainingEnrollmentDAO = new TrainingEnrollmentDAOImpl(dbManager, referenceData);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Enrollments are removed along with their employees and courses
+        trainingCourseDAO.findAll().forEach(course -> trainingCourseDAO.deleteById(course.getId()));
+        employeeDAO.findAll().forEach(employee -> employeeDAO.deleteById(employee.getId()));
+        userDAO.findAll().forEach(user -> userDAO.deleteById(user.getId()));
+    }
+
+    @Nested
+    @DisplayName("executeEachInSavepoint in a unit of work")
+    class BulkSavepointTests {
+        @Test
+        @DisplayName("should keep the other items, report the failing one and set generated IDs")
+        void executeEachInSavepoint_shouldRollBackOnlyTheFailingItem() throws Exception {
+            // Given: Two employees, with an unknown employee ID between them
+            List<Integer> employeeIds = createAndSaveTestEmployees(2);
+            List<Integer> items = List.of(employeeIds.get(0), MISSING_EMPLOYEE_ID, employeeIds.get(1));
+            TrainingCourse course = createAndSaveTestCourse();
+
+            // When: Each is enrolled in the course under its own savepoint
+            Map<Integer, TrainingEnrollment> saved = new LinkedHashMap<>();
+            Map<Integer, Exception> failures = enrollEach(items, course.getId(), saved);
+
+            // Then: Only the unknown employee failed, as a foreign key violation
+            assertThat(failures).containsOnlyKeys(MISSING_EMPLOYEE_ID);
+            assertThat(dbManager.resolveErrorCode(failures.get(MISSING_EMPLOYEE_ID), "test.enroll"))
+                .isEqualTo(ErrorCode.DB_FOREIGN_KEY_VIOLATION);
+
+            // Then: The other enrollments were committed, and received the IDs of their rows
+            assertEnrolledWithGeneratedIds(saved, employeeIds);
+        }
+
+        @Test
+        @DisplayName("should replay only the failing chunk when items span several savepoint chunks")
+        void executeEachInSavepoint_shouldReplayOnlyTheFailingChunk() throws Exception {
+            // Given: More employees than one savepoint chunk holds, with an unknown ID in the second chunk
+            List<Integer> employeeIds = createAndSaveTestEmployees(150);
+            List<Integer> items = new ArrayList<>(employeeIds);
+            items.add(120, MISSING_EMPLOYEE_ID);
+            TrainingCourse course = createAndSaveTestCourse();
+
+            // When: Each is enrolled in the course
+            Map<Integer, TrainingEnrollment> saved = new LinkedHashMap<>();
+            Map<Integer, Exception> failures = enrollEach(items, course.getId(), saved);
+
+            // Then: Both chunks' other items are committed with their IDs, and only the unknown ID failed
+            assertThat(failures).containsOnlyKeys(MISSING_EMPLOYEE_ID);
+            assertEnrolledWithGeneratedIds(saved, employeeIds);
+        }
+    }
+
+    @Nested
+    @DisplayName("executeReadOnly with an isolation level")
+    class ReadOnlyTests {
+        @Test
+        @DisplayName("should reject a DAO write made inside it")
+        void executeReadOnly_shouldRejectWrites() {
+            // When / Then: A user is saved inside a read-only transaction
+            assertThatThrownBy(() -> dbManager.executeReadOnly(Connection.TRANSACTION_READ_COMMITTED, () -> {
+                userDAO.save(new User(0, "read_only_writer", "password", UserDTO.Role.EMPLOYEE));
+                return null;
+            })).hasStackTraceContaining("READ ONLY transaction");
+
+            assertThat(userDAO.findAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should return the connection to the pool with read-only, isolation and auto-commit reset")
+        void executeReadOnly_shouldResetConnectionOnReturn() throws Exception {
+            // Given: A read-only READ COMMITTED transaction that notes which server session it ran in
+            long readOnlySession = dbManager.executeReadOnly(Connection.TRANSACTION_READ_COMMITTED, () -> {
+                Connection conn = dbManager.getReadConnection();
+                try {
+                    return connectionId(conn);
+                } finally {
+                    dbManager.releaseConnection(conn);
+                }
+            });
+
+            // When: The next connection is borrowed, which the LIFO pool hands out first
+            Connection conn = dbManager.getConnection();
+            try {
+                // Then: It is the same session, back to the defaults on both the driver and the server
+                assertThat(connectionId(conn)).isEqualTo(readOnlySession);
+                assertThat(conn.getAutoCommit()).isTrue();
+                assertThat(conn.isReadOnly()).isFalse();
+                assertThat(conn.getTransactionIsolation()).isEqualTo(Connection.TRANSACTION_REPEATABLE_READ);
+
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT @@session.transaction_read_only, @@session.transaction_isolation");
+                     ResultSet rs = stmt.executeQuery()) {
+                    assertThat(rs.next()).isTrue();
+                    assertThat(rs.getInt(1)).isZero();
+                    assertThat(rs.getString(2)).isEqualTo("REPEATABLE-READ");
+                }
+            } finally {
+                dbManager.releaseConnection(conn);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("executeInTransaction retries")
+    class RetryTests {
+        @Test
+        @DisplayName("should re-run the deadlock victim in a fresh transaction until both commit")
+        void executeInTransaction_shouldRetryDeadlockVictim() throws Exception {
+            // Given: Two users, and two transactions that lock them in opposite order
+            List<Integer> userIds = createAndSaveTestUsers(2);
+            Phaser bothHoldFirstLock = new Phaser(2);
+            Map<String, List<TransactionContext>> attempts = new ConcurrentHashMap<>();
+
+            // When: They run at the same time, each waiting until the other holds its first row
+            try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+                Future<?> forward = executor.submit(() -> lockInOrder(
+                    "test.deadlockForward", userIds.get(0), userIds.get(1), bothHoldFirstLock, attempts));
+                Future<?> backward = executor.submit(() -> lockInOrder(
+                    "test.deadlockBackward", userIds.get(1), userIds.get(0), bothHoldFirstLock, attempts));
+
+                forward.get(30, TimeUnit.SECONDS);
+                backward.get(30, TimeUnit.SECONDS);
+            }
+
+            // Then: InnoDB rolled back one of them (1213), which was re-run once in a new context
+            List<TransactionContext> victim = attempts.values().stream()
+                .filter(contexts -> contexts.size() > 1)
+                .findFirst()
+                .orElseThrow();
+            assertThat(attempts.values()).extracting(List::size).containsExactlyInAnyOrder(1, 2);
+            assertThat(victim.get(1)).isNotSameAs(victim.get(0));
+
+            String victimOperation = attempts.get("test.deadlockForward") == victim
+                ? "test.deadlockForward"
+                : "test.deadlockBackward";
+            assertThat(dbManager.getTransactionRetryCounts()).containsEntry(victimOperation, 1L);
+        }
+
+        @ParameterizedTest
+        @MethodSource("org.bhel.hrm.server.DatabaseManagerTest#lockConflicts")
+        @DisplayName("should stop after the policy's attempts and rethrow the last lock conflict")
+        void executeInTransaction_shouldHonourAttemptLimit(SQLException conflict) {
+            // Given: A task that always loses a lock conflict
+            String operation = "test.alwaysConflicts." + conflict.getErrorCode() + "." + conflict.getSQLState();
+            List<TransactionContext> attempts = new ArrayList<>();
+
+            // When / Then: It is attempted the default number of times, each in a fresh context
+            assertThatThrownBy(() -> dbManager.executeInTransaction(operation, () -> {
+                attempts.add(dbManager.currentTransaction().orElseThrow());
+                throw conflict;
+            })).isSameAs(conflict);
+
+            assertThat(attempts).hasSize(RetryPolicy.DEFAULT_MAX_ATTEMPTS).doesNotHaveDuplicates();
+            assertThat(dbManager.getTransactionRetryCounts())
+                .containsEntry(operation, (long) RetryPolicy.DEFAULT_MAX_ATTEMPTS - 1);
+        }
+
+        @Test
+        @DisplayName("should not retry a failure that is not a lock conflict")
+        void executeInTransaction_shouldNotRetryOtherErrors() {
+            // Given: A task failing on a duplicate key
+            SQLException duplicate = new SQLException("Duplicate entry 'x' for key 'users.username'", "23000", 1062);
+            List<TransactionContext> attempts = new ArrayList<>();
+
+            // When / Then: It runs once and its failure is rethrown
+            assertThatThrownBy(() -> dbManager.executeInTransaction("test.duplicate", () -> {
+                attempts.add(dbManager.currentTransaction().orElseThrow());
+                throw duplicate;
+            })).isSameAs(duplicate);
+
+            assertThat(attempts).hasSize(1);
+            assertThat(dbManager.getTransactionRetryCounts()).doesNotContainKey("test.duplicate");
+        }
+    }
+
+    @Nested
+    @DisplayName("executeInUnitOfWork")
+    class UnitOfWorkTests {
+        @Test
+        @DisplayName("should set generated IDs on the entities when the queued inserts are flushed")
+        void executeInUnitOfWork_shouldSetGeneratedIdsOnFlush() throws Exception {
+            // Given: Two new users
+            List<User> users = List.of(
+                new User(0, "uow_first", "password", UserDTO.Role.EMPLOYEE),
+                new User(0, "uow_second", "password", UserDTO.Role.EMPLOYEE));
+            List<Integer> idsWhileQueued = new ArrayList<>();
+
+            // When: They are saved in a unit of work
+            dbManager.executeInUnitOfWork("test.saveUsers", () -> {
+                users.forEach(userDAO::save);
+                users.forEach(user -> idsWhileQueued.add(user.getId()));
+            });
+
+            // Then: The inserts were only queued during the task, and the commit's flush set the rows' IDs
+            assertThat(idsWhileQueued).containsOnly(0);
+            assertThat(users).extracting(User::getId).doesNotContain(0).doesNotHaveDuplicates();
+            assertThat(userDAO.findAll())
+                .extracting(User::getId, User::getUsername)
+                .containsExactlyInAnyOrder(
+                    tuple(users.get(0).getId(), "uow_first"),
+                    tuple(users.get(1).getId(), "uow_second"));
+        }
+
+        @Test
+        @DisplayName("should write nothing when the task throws, including writes already flushed")
+        void executeInUnitOfWork_shouldWriteNothing_whenTaskThrows() {
+            // Given: A task that saves a user, reads (which flushes it), queues another, then fails
+            HRMException failure = new HRMException("Rejected after saving");
+
+            // When: It runs in a unit of work
+            assertThatThrownBy(() -> dbManager.executeInUnitOfWork("test.failingSave", () -> {
+                userDAO.save(new User(0, "uow_flushed", "password", UserDTO.Role.EMPLOYEE));
+                assertThat(userDAO.count()).isEqualTo(1);
+                userDAO.save(new User(0, "uow_queued", "password", UserDTO.Role.EMPLOYEE));
+                throw failure;
+            })).isSameAs(failure);
+
+            // Then: Neither user was written
+            assertThat(userDAO.findAll()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("forkReadOnly and inheritReadOnly")
+    class ForkReadOnlyTests {
+        @Test
+        @DisplayName("a forked task should not get the transaction's write connection")
+        void forkReadOnly_shouldRefuseWriteConnection() {
+            // When / Then: A task forked from a transaction asks for a connection to write with
+            assertThatThrownBy(() -> dbManager.executeInTransaction(() ->
+                    dbManager.forkReadOnly(List.of(dbManager::getConnection))))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("Writes are not allowed in a task forked from a transaction");
+        }
+
+        @Test
+        @DisplayName("each forked task should run under its own child context and connection")
+        void forkReadOnly_shouldGiveEachTaskItsOwnContextAndConnection() throws Exception {
+            // Given: Two tasks that hold a read connection until both have one
+            Phaser bothHolding = new Phaser(2);
+            DatabaseManager.ReadOnlyTask<Forked> task = () -> {
+                Connection conn = dbManager.getReadConnection();
+                try {
+                    bothHolding.arriveAndAwaitAdvance();
+                    return new Forked(dbManager.currentTransaction().orElseThrow(), conn);
+                } finally {
+                    dbManager.releaseConnection(conn);
+                }
+            };
+
+            // When: They are forked from a transaction
+            AtomicReference<TransactionContext> parent = new AtomicReference<>();
+            AtomicReference<List<Forked>> forked = new AtomicReference<>();
+            dbManager.executeInTransaction(() -> {
+                parent.set(dbManager.currentTransaction().orElseThrow());
+                forked.set(dbManager.forkReadOnly(List.of(task, task)));
+            });
+
+            // Then: Each ran under a distinct read-only child, on a connection of its own
+            Forked first = forked.get().get(0);
+            Forked second = forked.get().get(1);
+            assertThat(List.of(first.context(), second.context())).allSatisfy(context -> {
+                assertThat(context.isChild()).isTrue();
+                assertThat(context.isReadOnly()).isTrue();
+                assertThat(context).isNotSameAs(parent.get());
+            });
+            assertThat(first.context()).isNotSameAs(second.context());
+            assertThat(first.connection())
+                .isNotSameAs(second.connection())
+                .isNotSameAs(parent.get().connection());
+            assertThat(second.connection()).isNotSameAs(parent.get().connection());
+        }
+
+        @Test
+        @DisplayName("an inherited task should restore the running thread's own binding afterwards")
+        void inheritReadOnly_shouldRestoreCallersBinding() throws Exception {
+            // Given: A task inheriting a transaction that has since ended
+            AtomicReference<Callable<TransactionContext>> inherited = new AtomicReference<>();
+            dbManager.executeInTransaction(() ->
+                inherited.set(dbManager.inheritReadOnly(() -> dbManager.currentTransaction().orElseThrow())));
+
+            // When: It runs on a thread with no transaction
+            TransactionContext seen = inherited.get().call();
+
+            // Then: It saw the child context, and the thread is unbound again
+            assertThat(seen.isChild()).isTrue();
+            assertThat(dbManager.currentTransaction()).isEmpty();
+
+            // When / Then: It runs on a thread inside another transaction, which stays bound
+            dbManager.executeInTransaction(() -> {
+                TransactionContext own = dbManager.currentTransaction().orElseThrow();
+                assertThat(callInherited(inherited.get())).isSameAs(seen);
+                assertThat(dbManager.currentTransaction()).containsSame(own);
+            });
+        }
+
+        @ParameterizedTest
+        @MethodSource("org.bhel.hrm.server.DatabaseManagerTest#taskFailures")
+        @DisplayName("a failing task should cancel its siblings and be rethrown unchanged")
+        void forkReadOnly_shouldCancelSiblingsAndRethrow(Exception failure) {
+            // Given: A task that fails once its sibling is running, and a sibling that would run for a minute
+            CompletableFuture<Void> siblingStarted = new CompletableFuture<>();
+            AtomicBoolean siblingInterrupted = new AtomicBoolean();
+
+            DatabaseManager.ReadOnlyTask<Object> failing = () -> {
+                siblingStarted.join();
+                if (failure instanceof SQLException sqlException)
+                    throw sqlException;
+                throw (HRMException) failure;
+            };
+            DatabaseManager.ReadOnlyTask<Object> sibling = () -> {
+                siblingStarted.complete(null);
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    siblingInterrupted.set(true);
+                }
+                return null;
+            };
+
+            // When / Then: The failure itself is rethrown, and the sibling was interrupted
+            assertThatThrownBy(() -> dbManager.forkReadOnly(List.of(failing, sibling))).isSameAs(failure);
+            assertThat(siblingInterrupted).isTrue();
+        }
+    }
+
+    private record Forked(TransactionContext context, Connection connection) {}
+
+    static Stream<SQLException> lockConflicts() {
+        return Stream.of(
+            new SQLException("Deadlock found when trying to get lock", "40001", 1213),
+            new SQLException("Lock wait timeout exceeded", "HY000", 1205),
+            new SQLException("Serialization failure", "40001"));
+    }
+
+    /**
+     * Locks two user rows in the given order in one transaction. The first attempt waits, holding
+     * the first row, until the other transaction holds its own first row.
+     */
+    private Void lockInOrder(
+        String operation,
+        int firstUserId,
+        int secondUserId,
+        Phaser bothHoldFirstLock,
+        Map<String, List<TransactionContext>> attempts
+    ) throws SQLException, HRMException {
+        dbManager.executeInTransaction(operation, () -> {
+            List<TransactionContext> contexts = attempts.computeIfAbsent(operation, k -> new CopyOnWriteArrayList<>());
+            contexts.add(dbManager.currentTransaction().orElseThrow());
+
+            lockUser(firstUserId);
+            if (contexts.size() == 1)
+                bothHoldFirstLock.arriveAndAwaitAdvance();
+            lockUser(secondUserId);
+        });
+        return null;
+    }
+
+    private void lockUser(int userId) throws SQLException {
+        Connection conn = dbManager.getConnection();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM users WHERE id = ? FOR UPDATE")) {
+            stmt.setInt(1, userId);
+            stmt.executeQuery().close();
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+    }
+
+    private static long connectionId(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT CONNECTION_ID()");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private List<Integer> createAndSaveTestUsers(int count) {
+        List<Integer> userIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User(0, "locking_user_" + i, "password", UserDTO.Role.EMPLOYEE);
+            userDAO.save(user);
+            userIds.add(user.getId());
+        }
+
+        return userIds;
+    }
+
+    static Stream<Exception> taskFailures() {
+        return Stream.of(new SQLException("Replica read failed"), new HRMException("Report rule violated"));
+    }
+
+    private static <R> R callInherited(Callable<R> inherited) throws HRMException {
+        try {
+            return inherited.call();
+        } catch (Exception e) {
+            throw new HRMException("Inherited task failed", e);
+        }
+    }
+
+    /**
+     * Enrolls every employee in a unit of work, as bulk enrollment does. The entity is created
+     * inside the task, so a replayed item starts afresh; {@code saved} keeps each item's last one.
+     */
+    private Map<Integer, Exception> enrollEach(
+        List<Integer> employeeIds,
+        int courseId,
+        Map<Integer, TrainingEnrollment> saved
+    ) throws Exception {
+        AtomicReference<Map<Integer, Exception>> failures = new AtomicReference<>();
+
+        dbManager.executeInUnitOfWork("test.enroll", () ->
+            failures.set(dbManager.executeEachInSavepoint(employeeIds, employeeId -> {
+                TrainingEnrollment enrollment = new TrainingEnrollment(
+                    employeeId, courseId, LocalDateTime.now(), TrainingEnrollmentDTO.Status.ENROLLED);
+                saved.put(employeeId, enrollment);
+                trainingEnrollmentDAO.save(enrollment);
+            }))
+        );
+
+        return failures.get();
+    }
+
+    private void assertEnrolledWithGeneratedIds(Map<Integer, TrainingEnrollment> saved, List<Integer> employeeIds) {
+        List<TrainingEnrollment> kept = employeeIds.stream().map(saved::get).toList();
+
+        assertThat(kept).extracting(TrainingEnrollment::getId).doesNotContain(0).doesNotHaveDuplicates();
+        assertThat(trainingEnrollmentDAO.findAll())
+            .extracting(TrainingEnrollment::getId, TrainingEnrollment::getEmployeeId)
+            .containsExactlyInAnyOrderElementsOf(kept.stream()
+                .map(enrollment -> tuple(enrollment.getId(), enrollment.getEmployeeId()))
+                .toList());
+    }
+
+    private List<Integer> createAndSaveTestEmployees(int count) {
+        List<Integer> employeeIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User(0, "bulk_user_" + i, "password", UserDTO.Role.EMPLOYEE);
+            userDAO.save(user);
+
+            Employee employee = new Employee(0, user.getId(), "Bulk", "Employee", user.getUsername());
+            employeeDAO.save(employee);
+            employeeIds.add(employee.getId());
+        }
+
+        return employeeIds;
+    }
+
+    private TrainingCourse createAndSaveTestCourse() {
+        TrainingCourse course = new TrainingCourse("Bulk Course", "A test course", 8, TrainingCourseDTO.Department.IT);
+        trainingCourseDAO.save(course);
+        return course;
+    }
 }
@@ -0,0 +1,151 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.common.config.Configuration;
+import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.exceptions.DataAccessException;
+import org.bhel.hrm.server.daos.AsyncDAO;
+import org.bhel.hrm.server.daos.ReferenceData;
+import org.bhel.hrm.server.daos.UserDAO;
+import org.bhel.hrm.server.daos.impls.UserDAOImpl;
+import org.bhel.hrm.server.domain.User;
+import org.junit.jupiter.api.*;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Testcontainers
+@DisplayName("DatabaseExecutor tests")
+class DatabaseExecutorTest {
+    @Container
+    private static final MySQLContainer mysql = new MySQLContainer("mysql:8.4.0");
+
+    private static DatabaseManager dbManager;
+    private static UserDAO userDAO;
+
+    private DatabaseExecutor executor;
+
+    @BeforeAll
+    static void setup() {
+        Configuration mockConfig = mock(Configuration.class);
+
+        when(mockConfig.getDbUrl()).thenReturn(mysql.getJdbcUrl());
+        when(mockConfig.getDbUser()).thenReturn(mysql.getUsername());
+        when(mockConfig.getDbPassword()).thenReturn(mysql.getPassword());
+
+        dbManager = new DatabaseManager(mockConfig);
+        userDAO = new UserDAOImpl(dbManager, ReferenceData.load(dbManager));
+    }
+
+    @BeforeEach
+    void createExecutor() {
+        executor = new DatabaseExecutor(dbManager, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+        userDAO.findAll().forEach(user -> userDAO.deleteById(user.getId()));
+    }
+
+    @Nested
+    @DisplayName("supplyAsync")
+    class SupplyAsyncTests {
+        @Test
+        @DisplayName("should complete the future with the call's result")
+        void supplyAsync_shouldCompleteWithResult() {
+            // Given: A saved user
+            userDAO.save(new User(0, "async_reader", "password", UserDTO.Role.EMPLOYEE));
+
+            // When: The users are counted asynchronously
+            CompletableFuture<Long> count = new AsyncDAO<>(userDAO, executor).count();
+
+            // Then: The future holds the count
+            assertThat(count.join()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("should complete the future exceptionally with the call's exception")
+        void supplyAsync_shouldCompleteExceptionally_whenCallFails() {
+            // Given: A call that fails
+            IllegalStateException failure = new IllegalStateException("query failed");
+
+            // When: It runs asynchronously
+            CompletableFuture<Object> future = executor.supplyAsync(() -> {
+                throw failure;
+            });
+
+            // Then: The future fails with that exception, unwrapped
+            assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCause(failure);
+        }
+
+        @Test
+        @DisplayName("should reject a write submitted from inside a transaction")
+        void supplyAsync_shouldRejectWrite_whenSubmittedInsideTransaction() throws Exception {
+            // Given: A user to save
+            User user = new User(0, "async_writer", "password", UserDTO.Role.EMPLOYEE);
+            AtomicReference<CompletableFuture<Void>> save = new AtomicReference<>();
+
+            // When: It is saved asynchronously from inside a transaction
+            dbManager.executeInTransaction(() -> {
+                save.set(new AsyncDAO<>(userDAO, executor).save(user));
+                save.get().exceptionally(e -> null).join();
+            });
+
+            // Then: The write failed instead of escaping the transaction, and nothing was written
+            assertThatThrownBy(save.get()::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DataAccessException.class)
+                .hasStackTraceContaining("Writes are not allowed in a task forked from a transaction");
+            assertThat(userDAO.findAll()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("getStats() should report the current and the peak queue depth")
+    void getStats_shouldTrackQueueDepthAndPeak() {
+        // Given: The only thread is busy until released
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        CompletableFuture<Integer> blocker = executor.supplyAsync(() -> {
+            started.complete(null);
+            release.join();
+            return 1;
+        });
+        started.join();
+
+        // When: Two more tasks are submitted
+        CompletableFuture<Integer> second = executor.supplyAsync(() -> 2);
+        CompletableFuture<Integer> third = executor.supplyAsync(() -> 3);
+
+        // Then: Both wait in the queue
+        DatabaseExecutor.Stats queued = executor.getStats();
+        assertThat(queued.threads()).isEqualTo(1);
+        assertThat(queued.active()).isEqualTo(1);
+        assertThat(queued.queueDepth()).isEqualTo(2);
+        assertThat(queued.peakQueueDepth()).isEqualTo(2);
+
+        // When: The first task is released and every task finishes
+        release.complete(null);
+        CompletableFuture.allOf(blocker, second, third).join();
+        executor.close();
+
+        // Then: The queue is empty, but its peak is kept
+        DatabaseExecutor.Stats drained = executor.getStats();
+        assertThat(drained.queueDepth()).isZero();
+        assertThat(drained.peakQueueDepth()).isEqualTo(2);
+        assertThat(drained.completed()).isEqualTo(3);
+        assertThat(drained.queueWait().count()).isEqualTo(3);
+        assertThat(drained.executionTime().count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,61 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.common.error.ExceptionMappingConfig;
+import org.bhel.hrm.common.exceptions.DataAccessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RetryPolicy unit tests")
+class RetryPolicyTest {
+
+    @Test
+    @DisplayName("non-positive settings should fall back to the defaults")
+    void constructor_shouldApplyDefaults() {
+        RetryPolicy policy = new RetryPolicy(0, 0, 0);
+
+        assertThat(policy.maxAttempts()).isEqualTo(RetryPolicy.DEFAULT_MAX_ATTEMPTS);
+        assertThat(policy.initialBackoffMillis()).isEqualTo(RetryPolicy.DEFAULT_INITIAL_BACKOFF_MILLIS);
+        assertThat(policy.maxBackoffMillis()).isEqualTo(RetryPolicy.DEFAULT_MAX_BACKOFF_MILLIS);
+    }
+
+    @Test
+    @DisplayName("canRetry() should allow exactly maxAttempts attempts in total")
+    void canRetry_shouldStopAtMaxAttempts() {
+        RetryPolicy policy = new RetryPolicy(3, 10, 100);
+
+        assertThat(policy.canRetry(1)).isTrue();
+        assertThat(policy.canRetry(2)).isTrue();
+        assertThat(policy.canRetry(3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("backoffMillis() should stay within the exponential ceiling and the maximum")
+    void backoffMillis_shouldBeBounded() {
+        RetryPolicy policy = new RetryPolicy(10, 10, 100);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(policy.backoffMillis(1)).isBetween(0L, 10L);
+            assertThat(policy.backoffMillis(2)).isBetween(0L, 20L);
+            assertThat(policy.backoffMillis(9)).isBetween(0L, 100L);
+        }
+    }
+
+    @Test
+    @DisplayName("deadlocks and lock wait timeouts wrapped by a DAO should be retryable")
+    void isRetryable_shouldSearchCauseChain() {
+        ExceptionMappingConfig mapping = new ExceptionMappingConfig();
+
+        SQLException deadlock = new SQLException("Deadlock found", "40001", 1213);
+        SQLException lockTimeout = new SQLException("Lock wait timeout exceeded", "HY000", 1205);
+        SQLException duplicate = new SQLException("Duplicate entry", "23000", 1062);
+
+        assertThat(mapping.isRetryable(new DataAccessException("Error executing update", deadlock))).isTrue();
+        assertThat(mapping.isRetryable(lockTimeout)).isTrue();
+        assertThat(mapping.isRetryable(new DataAccessException("Error executing update", duplicate))).isFalse();
+        assertThat(mapping.isRetryable(null)).isFalse();
+    }
+}
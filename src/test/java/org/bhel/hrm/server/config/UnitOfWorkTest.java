@@ -0,0 +1,108 @@
+package org.bhel.hrm.server.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("UnitOfWork unit tests")
+class UnitOfWorkTest {
+    private static final String INSERT_SQL = "INSERT INTO users (username) VALUES (?)";
+    private static final String UPDATE_SQL = "UPDATE users SET username = ? WHERE id = ?";
+
+    @Test
+    @DisplayName("flush() should send consecutive writes of one SQL as one batch, in queue order")
+    void flush_shouldBatchConsecutiveWritesWithSameSql() throws Exception {
+        // Given: Two inserts, then two updates, then another insert
+        Connection conn = mock(Connection.class);
+        PreparedStatement insert = mock(PreparedStatement.class);
+        PreparedStatement update = mock(PreparedStatement.class);
+        when(conn.prepareStatement(INSERT_SQL, Statement.NO_GENERATED_KEYS)).thenReturn(insert);
+        when(conn.prepareStatement(UPDATE_SQL, Statement.NO_GENERATED_KEYS)).thenReturn(update);
+
+        UnitOfWork unitOfWork = new UnitOfWork();
+        unitOfWork.enqueue(INSERT_SQL, stmt -> stmt.setString(1, "alice"), null);
+        unitOfWork.enqueue(INSERT_SQL, stmt -> stmt.setString(1, "bob"), null);
+        unitOfWork.enqueue(UPDATE_SQL, stmt -> { stmt.setString(1, "carol"); stmt.setInt(2, 1); }, null);
+        unitOfWork.enqueue(UPDATE_SQL, stmt -> { stmt.setString(1, "dave"); stmt.setInt(2, 2); }, null);
+        unitOfWork.enqueue(INSERT_SQL, stmt -> stmt.setString(1, "erin"), null);
+
+        // When: The queue is flushed
+        unitOfWork.flush(conn);
+
+        // Then: Each run of the same SQL went out as one batch, replaying its bindings in order
+        InOrder order = inOrder(conn, insert, update);
+        order.verify(insert).setString(1, "alice");
+        order.verify(insert).setString(1, "bob");
+        order.verify(insert).executeBatch();
+        order.verify(update).setString(1, "carol");
+        order.verify(update).setString(1, "dave");
+        order.verify(update).executeBatch();
+        order.verify(insert).setString(1, "erin");
+        order.verify(insert).executeBatch();
+
+        verify(conn, times(2)).prepareStatement(INSERT_SQL, Statement.NO_GENERATED_KEYS);
+        verify(conn, times(1)).prepareStatement(UPDATE_SQL, Statement.NO_GENERATED_KEYS);
+        verify(insert, times(3)).addBatch();
+        verify(update, times(2)).addBatch();
+        assertThat(unitOfWork.hasPendingWrites()).isFalse();
+    }
+
+    @Test
+    @DisplayName("flush() should hand each write the key generated for its row")
+    void flush_shouldDeliverGeneratedKeysInOrder() throws Exception {
+        // Given: Three inserts that want their generated key, which the batch returns as 41, 42, 43
+        Connection conn = mock(Connection.class);
+        PreparedStatement insert = mock(PreparedStatement.class);
+        ResultSet keys = mock(ResultSet.class);
+        when(conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)).thenReturn(insert);
+        when(insert.getGeneratedKeys()).thenReturn(keys);
+        when(keys.next()).thenReturn(true, true, true, false);
+        when(keys.getInt(1)).thenReturn(41, 42, 43);
+
+        List<Integer> received = new ArrayList<>();
+        UnitOfWork unitOfWork = new UnitOfWork();
+        for (String username : List.of("alice", "bob", "carol"))
+            unitOfWork.enqueue(INSERT_SQL, stmt -> stmt.setString(1, username), received::add);
+
+        // When / Then: No key is delivered before the flush, and each write gets its own after it
+        assertThat(received).isEmpty();
+        unitOfWork.flush(conn);
+
+        assertThat(received).containsExactly(41, 42, 43);
+        verify(insert, times(1)).executeBatch();
+    }
+
+    @Test
+    @DisplayName("discard() should drop queued writes without sending them")
+    void discard_shouldDropQueuedWrites() throws Exception {
+        // Given: A queued write
+        Connection conn = mock(Connection.class);
+        UnitOfWork unitOfWork = new UnitOfWork();
+        unitOfWork.enqueue(INSERT_SQL, stmt -> stmt.setString(1, "alice"), null);
+
+        // When: It is discarded, as on rollback, and the queue is flushed
+        unitOfWork.discard();
+        unitOfWork.flush(conn);
+
+        // Then: Nothing reached the connection
+        assertThat(unitOfWork.hasPendingWrites()).isFalse();
+        verify(conn, never()).prepareStatement(anyString(), anyInt());
+    }
+}
@@ -0,0 +1,58 @@
+package org.bhel.hrm.server.config.migration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Migration unit tests")
+class MigrationTest {
+
+    @Test
+    @DisplayName("the baseline script should split into statements without comments or trailing semicolons")
+    void load_shouldSplitBaselineScript() {
+        Migration baseline = Migration.load(1, "baseline", "db/migration/V1__baseline.sql");
+
+        assertThat(baseline.statements()).isNotEmpty();
+        assertThat(baseline.statements()).allSatisfy(sql -> {
+            assertThat(sql).doesNotStartWith("--");
+            assertThat(sql).doesNotEndWith(";");
+        });
+        assertThat(baseline.statements()).anyMatch(sql -> sql.startsWith("CREATE TABLE IF NOT EXISTS employee_benefits"));
+    }
+
+    @Test
+    @DisplayName("loading the same script twice should yield the same checksum")
+    void load_shouldProduceStableChecksum() {
+        Migration first = Migration.load(1, "baseline", "db/migration/V1__baseline.sql");
+        Migration second = Migration.load(1, "baseline", "db/migration/V1__baseline.sql");
+
+        assertThat(first.checksum()).hasSize(64).isEqualTo(second.checksum());
+    }
+
+    @Test
+    @DisplayName("a script checked out with CRLF line endings should keep its LF checksum")
+    void parse_shouldIgnoreLineEndings() {
+        String script = "-- users\nCREATE TABLE a (id INT);\nCREATE TABLE b (id INT);\n";
+
+        Migration lf = Migration.parse(1, "baseline", script);
+        Migration crlf = Migration.parse(1, "baseline", script.replace("\n", "\r\n"));
+
+        assertThat(crlf.checksum()).isEqualTo(lf.checksum());
+        assertThat(crlf.statements()).isEqualTo(lf.statements());
+    }
+
+    @Test
+    @DisplayName("SchemaMigrator should reject duplicate versions and report the highest one")
+    void schemaMigrator_shouldValidateVersions() {
+        Migration v1 = new Migration(1, "one", List.of("SELECT 1"), "a");
+        Migration v2 = new Migration(2, "two", List.of("SELECT 2"), "b");
+
+        assertThat(new SchemaMigrator(List.of(v2, v1)).currentVersion()).isEqualTo(2);
+        assertThatThrownBy(() -> new SchemaMigrator(List.of(v1, v1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
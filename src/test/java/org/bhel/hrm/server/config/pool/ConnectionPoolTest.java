@@ -0,0 +1,192 @@
+package org.bhel.hrm.server.config.pool;
+
+import org.junit.jupiter.api.*;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+@DisplayName("ConnectionPool tests")
+class ConnectionPoolTest {
+    @Container
+    private static final MySQLContainer mysql = new MySQLContainer("mysql:8.4.0");
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setup() {
+        pool = new ConnectionPool(
+            "test",
+            mysql.getJdbcUrl(),
+            mysql.getUsername(),
+            mysql.getPassword(),
+            new PoolSettings(1, 2, 200, 60_000, 1, 2, 200, true)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("close() should return the physical connection to the pool for reuse")
+    void close_shouldReturnConnectionToPool() throws SQLException {
+        // Given: A connection is borrowed and its session id is recorded
+        long firstSessionId;
+        try (Connection conn = pool.borrow()) {
+            firstSessionId = connectionId(conn);
+        }
+
+        // When: Another connection is borrowed
+        try (Connection conn = pool.borrow()) {
+            // Then: The same physical session should be reused
+            assertThat(connectionId(conn)).isEqualTo(firstSessionId);
+        }
+
+        assertThat(pool.getStats().active()).isZero();
+    }
+
+    @Test
+    @DisplayName("borrow() should time out once the maximum size is reached")
+    void borrow_shouldTimeOut_whenPoolIsExhausted() throws SQLException {
+        // Given: Every connection in the pool is borrowed
+        try (Connection first = pool.borrow(); Connection second = pool.borrow()) {
+            assertThat(pool.getStats().active()).isEqualTo(2);
+
+            // When, Then: A third borrower gives up after the acquire timeout
+            assertThatThrownBy(pool::borrow).isInstanceOf(SQLTransientConnectionException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("tryBorrow() should return null at once, rather than wait, when the pool is exhausted")
+    void tryBorrow_shouldReturnNullImmediately_whenPoolIsExhausted() throws SQLException {
+        // Given: Every connection in the pool is borrowed
+        try (Connection first = pool.borrow(); Connection second = pool.borrow()) {
+            // When: A third borrower only tries
+            long start = System.nanoTime();
+            ManagedConnection third = pool.tryBorrow();
+
+            // Then: It gets nothing, without waiting out the acquire timeout
+            assertThat(third).isNull();
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(200));
+        }
+
+        // Then: Once connections are returned, trying succeeds again
+        try (Connection conn = pool.tryBorrow()) {
+            assertThat(conn).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("a pinned connection should ignore close() until it is unpinned")
+    void pinnedConnection_shouldIgnoreClose() throws SQLException {
+        // Given: A pinned connection
+        ManagedConnection conn = pool.borrow();
+        conn.setPinned(true);
+
+        // When: A caller closes it
+        conn.close();
+
+        // Then: It stays usable and borrowed
+        assertThat(conn.isClosed()).isFalse();
+        assertThat(pool.getStats().active()).isEqualTo(1);
+
+        conn.setPinned(false);
+        conn.close();
+        assertThat(conn.isClosed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("session changes should be reset before a connection is reused")
+    void giveBack_shouldResetSessionState() throws SQLException {
+        // Given: A borrower leaves auto-commit off
+        try (Connection conn = pool.borrow()) {
+            conn.setAutoCommit(false);
+        }
+
+        // When, Then: The next borrower sees the default auto-commit mode
+        try (Connection conn = pool.borrow()) {
+            assertThat(conn.getAutoCommit()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("re-preparing the same SQL on a connection should be served from the statement cache")
+    void prepareStatement_shouldReuseCachedStatement() throws SQLException {
+        // Given: A statement is prepared, executed and closed
+        try (Connection conn = pool.borrow()) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT ?")) {
+                stmt.setInt(1, 1);
+                stmt.executeQuery().close();
+            }
+
+            // When: The same SQL is prepared again
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT ?")) {
+                stmt.setInt(1, 2);
+                try (var rs = stmt.executeQuery()) {
+                    rs.next();
+
+                    // Then: The cached statement is reused with freshly bound parameters
+                    assertThat(rs.getInt(1)).isEqualTo(2);
+                }
+            }
+        }
+
+        PoolStats stats = pool.getStats();
+        assertThat(stats.statementCacheMisses()).isEqualTo(1);
+        assertThat(stats.statementCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("the least recently used statement should be evicted once the cache is full")
+    void prepareStatement_shouldEvictLeastRecentlyUsed() throws SQLException {
+        // Given: A cache holding two statements
+        try (Connection conn = pool.borrow()) {
+            conn.prepareStatement("SELECT 1").close();
+            conn.prepareStatement("SELECT 2").close();
+
+            // When: A third distinct statement is prepared
+            conn.prepareStatement("SELECT 3").close();
+        }
+
+        // Then: The oldest one is closed to make room
+        assertThat(pool.getStats().statementCacheEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a connection held past the leak threshold should be reported as a leak suspect")
+    void heldConnection_shouldBeFlaggedAsLeakSuspect() throws Exception {
+        // Given: A connection that is borrowed and not returned
+        try (Connection conn = pool.borrow()) {
+            // When: It is held well past the 200ms threshold
+            Thread.sleep(600);
+
+            // Then: The pool reports it as a leak suspect
+            assertThat(pool.getStats().leakSuspects()).isEqualTo(1);
+        }
+
+        PoolStats stats = pool.getStats();
+        assertThat(stats.leakSuspects()).isZero();
+        assertThat(stats.holdTime().count()).isEqualTo(1);
+        assertThat(stats.holdTime().max()).isGreaterThanOrEqualTo(600.0);
+        assertThat(stats.acquireWait().count()).isEqualTo(1);
+    }
+
+    private static long connectionId(Connection conn) throws SQLException {
+        try (var stmt = conn.createStatement(); var rs = stmt.executeQuery("SELECT CONNECTION_ID()")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
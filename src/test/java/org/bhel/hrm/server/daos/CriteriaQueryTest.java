@@ -0,0 +1,81 @@
+package org.bhel.hrm.server.daos;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("CriteriaQuery tests")
+class CriteriaQueryTest {
+    private static final Criteria.Field<Object, Integer> OWNER = new Criteria.Field<>("owner");
+    private static final Criteria.Field<Object, String> NAME = new Criteria.Field<>("name");
+    private static final Criteria.Field<Object, String> NOTE = new Criteria.Field<>("note");
+
+    private final CriteriaQuery<Object> query = CriteriaQuery.from("SELECT * FROM t", "t.id")
+        .filterable(OWNER, "t.owner_id", PreparedStatement::setInt)
+        .filterable(NOTE, "t.note", PreparedStatement::setString)
+        .sortable(NAME, "t.name", PreparedStatement::setString);
+
+    @Test
+    @DisplayName("sqlFor() should render filters, sort and limit as one parameterised statement")
+    void sqlFor_shouldRenderParameterisedStatement() {
+        // Given: Criteria with two filters, a sort and a limit
+        Criteria<Object> criteria = Criteria.where(OWNER, Criteria.Operator.EQUALS, 7)
+            .and(NAME, Criteria.Operator.STARTS_WITH, "Ja")
+            .orderBy(NAME, true)
+            .limit(20);
+
+        // When / Then: Every value is a placeholder, and ties are broken by id
+        assertThat(query.sqlFor(criteria)).isEqualTo(
+            "SELECT * FROM t WHERE t.owner_id = ? AND t.name LIKE ? ESCAPE '!'"
+                + " ORDER BY t.name DESC, t.id DESC LIMIT ?");
+    }
+
+    @Test
+    @DisplayName("sqlFor() should reuse the statement for criteria differing only in their values")
+    void sqlFor_shouldCacheByShape() {
+        // Given: Two criteria of the same shape with different values and limits
+        Criteria<Object> first = Criteria.where(OWNER, Criteria.Operator.EQUALS, 1).limit(5);
+        Criteria<Object> second = Criteria.where(OWNER, Criteria.Operator.EQUALS, 2).limit(50);
+
+        // When / Then: Both get the very same statement text
+        assertThat(query.sqlFor(second)).isSameAs(query.sqlFor(first));
+    }
+
+    @Test
+    @DisplayName("bind() should escape LIKE wildcards and bind the limit last")
+    void bind_shouldEscapeWildcardsAndBindLimit() throws SQLException {
+        // Given: A prefix containing LIKE wildcards
+        Criteria<Object> criteria = Criteria.where(NAME, Criteria.Operator.STARTS_WITH, "50%_off!")
+            .and(OWNER, Criteria.Operator.AT_LEAST, 3)
+            .limit(10);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+
+        // When: The criteria are bound
+        query.bind(stmt, criteria);
+
+        // Then: The wildcards match literally, and the parameters follow the filters' order
+        verify(stmt).setString(1, "50!%!_off!!%");
+        verify(stmt).setInt(2, 3);
+        verify(stmt).setInt(3, 10);
+    }
+
+    @Test
+    @DisplayName("sqlFor() should reject fields that are not registered or not sortable")
+    void sqlFor_shouldRejectUnsupportedFields() {
+        Criteria.Field<Object, Integer> unknown = new Criteria.Field<>("salary");
+
+        assertThatThrownBy(() -> query.sqlFor(Criteria.where(unknown, Criteria.Operator.EQUALS, 1)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("salary");
+        assertThatThrownBy(() -> query.sqlFor(Criteria.all().orderBy(NOTE, false)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Cannot sort on note");
+    }
+}
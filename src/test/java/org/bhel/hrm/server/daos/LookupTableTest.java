@@ -0,0 +1,51 @@
+package org.bhel.hrm.server.daos;
+
+import org.bhel.hrm.common.dtos.JobOpeningDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LookupTable tests")
+class LookupTableTest {
+    @Test
+    @DisplayName("of() should match rows to constants by name in both directions")
+    void of_shouldMapIdsAndConstantsBothWays() {
+        // Given: Rows in a different order and case than the enum, with a gap in the ids
+        Map<Integer, String> rows = Map.of(7, "on_hold", 1, "open", 2, "CLOSED");
+
+        // When: The table is built
+        LookupTable<JobOpeningDTO.JobStatus> table =
+            LookupTable.of("job_opening_statuses", JobOpeningDTO.JobStatus.class, rows);
+
+        // Then: Every constant maps to its row's id, and back
+        assertThat(table.idOf(JobOpeningDTO.JobStatus.ON_HOLD)).isEqualTo(7);
+        assertThat(table.idOf(JobOpeningDTO.JobStatus.OPEN)).isEqualTo(1);
+        assertThat(table.valueOf(2)).isEqualTo(JobOpeningDTO.JobStatus.CLOSED);
+        assertThat(table.valueOf(7)).isEqualTo(JobOpeningDTO.JobStatus.ON_HOLD);
+    }
+
+    @Test
+    @DisplayName("valueOf() should reject ids without a matching constant")
+    void valueOf_shouldRejectUnknownIds() {
+        LookupTable<JobOpeningDTO.JobStatus> table = LookupTable.of("job_opening_statuses",
+            JobOpeningDTO.JobStatus.class, Map.of(1, "open", 2, "closed", 3, "on_hold", 4, "archived"));
+
+        assertThatThrownBy(() -> table.valueOf(4))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Unknown job_opening_statuses.id=4");
+        assertThatThrownBy(() -> table.valueOf(99)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("of() should fail when a constant has no row")
+    void of_shouldFailWhenConstantHasNoRow() {
+        assertThatThrownBy(() -> LookupTable.of("job_opening_statuses",
+                JobOpeningDTO.JobStatus.class, Map.of(1, "open", 2, "closed")))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("JobStatus.ON_HOLD");
+    }
+}
@@ -0,0 +1,80 @@
+package org.bhel.hrm.server.daos;
+
+import org.bhel.hrm.common.dtos.EmployeeDTO;
+import org.bhel.hrm.common.dtos.LeaveApplicationDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RecordRowMapper tests")
+class RecordRowMapperTest {
+    @Test
+    @DisplayName("bind() should resolve snake_case columns once and map each row by index")
+    void bind_shouldMapRowsByResolvedIndexes() throws SQLException {
+        // Given: A result set whose columns are in a different order from the record's components
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(6);
+        when(metaData.getColumnLabel(1)).thenReturn("ic_passport");
+        when(metaData.getColumnLabel(2)).thenReturn("ID");
+        when(metaData.getColumnLabel(3)).thenReturn("last_name");
+        when(metaData.getColumnLabel(4)).thenReturn("first_name");
+        when(metaData.getColumnLabel(5)).thenReturn("user_id");
+        when(metaData.getColumnLabel(6)).thenReturn("version");
+
+        ResultSet result = mock(ResultSet.class);
+        when(result.getString(1)).thenReturn("S1234567A", "S7654321B");
+        when(result.getInt(2)).thenReturn(1, 2);
+        when(result.getString(3)).thenReturn("Doe", "Tan");
+        when(result.getString(4)).thenReturn("Jane", "Wei");
+        when(result.getInt(5)).thenReturn(10, 20);
+        when(result.getInt(6)).thenReturn(0, 4);
+
+        // When: The mapper is bound once and maps two rows
+        AbstractDAO.RowMapper<EmployeeDTO> mapper = RecordRowMapper.of(EmployeeDTO.class).bind(metaData);
+        EmployeeDTO first = mapper.mapRow(result);
+        EmployeeDTO second = mapper.mapRow(result);
+
+        // Then: Each row is mapped to the matching components
+        assertThat(first).isEqualTo(new EmployeeDTO(1, 10, "Jane", "Doe", "S1234567A", 0));
+        assertThat(second).isEqualTo(new EmployeeDTO(2, 20, "Wei", "Tan", "S7654321B", 4));
+
+        // And: The column labels were only read while binding
+        verify(metaData, times(1)).getColumnLabel(1);
+    }
+
+    @Test
+    @DisplayName("bind() should fail when a component has no matching column")
+    void bind_shouldFail_whenColumnIsMissing() throws SQLException {
+        // Given: A result set without the ic_passport column
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(4);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnLabel(2)).thenReturn("user_id");
+        when(metaData.getColumnLabel(3)).thenReturn("first_name");
+        when(metaData.getColumnLabel(4)).thenReturn("last_name");
+
+        // When / Then: Binding reports the missing column
+        assertThatThrownBy(() -> RecordRowMapper.of(EmployeeDTO.class).bind(metaData))
+            .isInstanceOf(SQLException.class)
+            .hasMessageContaining("ic_passport");
+    }
+
+    @Test
+    @DisplayName("of() should reject records with component types it cannot read")
+    void of_shouldRejectUnsupportedComponentTypes() {
+        // When / Then: The enum components of LeaveApplicationDTO are rejected up front
+        assertThatThrownBy(() -> RecordRowMapper.of(LeaveApplicationDTO.class))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("LeaveType");
+    }
+}
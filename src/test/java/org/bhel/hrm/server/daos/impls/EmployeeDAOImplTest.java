@@ -1,9 +1,14 @@
 package org.bhel.hrm.server.daos.impls;
 
+import org.bhel.hrm.common.dtos.EmployeeDTO;
 import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.exceptions.OptimisticLockingFailureException;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.common.config.Configuration;
 import org.bhel.hrm.server.daos.EmployeeDAO;
+import org.bhel.hrm.server.daos.Page;
+import org.bhel.hrm.server.daos.PageKey;
+import org.bhel.hrm.server.daos.ReferenceData;
 import org.bhel.hrm.server.daos.UserDAO;
 import org.bhel.hrm.server.domain.Employee;
 import org.bhel.hrm.server.domain.User;
@@ -12,10 +17,14 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.mysql.MySQLContainer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -27,6 +36,7 @@ class EmployeeDAOImplTest {
     @Container
     private static final MySQLContainer mysql = new MySQLContainer("mysql:8.4.0");
 
+    private static DatabaseManager dbManager;
     private static UserDAO userDAO;
     private static EmployeeDAO employeeDAO;
 
@@ -38,8 +48,8 @@ class EmployeeDAOImplTest {
         when(mockConfig.getDbUser()).thenReturn(mysql.getUsername());
         when(mockConfig.getDbPassword()).thenReturn(mysql.getPassword());
 
-        DatabaseManager dbManager = new DatabaseManager(mockConfig);
-        userDAO = new UserDAOImpl(dbManager);
+        dbManager = new DatabaseManager(mockConfig);
+        userDAO = new UserDAOImpl(dbManager, ReferenceData.load(dbManager));
         employeeDAO = new EmployeeDAOImpl(dbManager);
     }
 
@@ -128,6 +138,51 @@ class EmployeeDAOImplTest {
             });
         }
 
+        @Test
+        @DisplayName("save() should reject an update based on a stale version")
+        void save_shouldRejectStaleUpdate() {
+            // Given: Two copies of the same employee, read at the same version
+            Employee employee = createAndSaveTestEmployee(createAndSaveTestUser("stale"), "First", "Reader", "V1");
+            Employee staleCopy = employeeDAO.findById(employee.getId()).orElseThrow();
+
+            // When: One copy is saved, advancing the row's version
+            employee.setFirstName("Winner");
+            employeeDAO.save(employee);
+
+            // Then: Saving the other copy fails instead of overwriting the first update
+            staleCopy.setFirstName("Loser");
+            assertThatThrownBy(() -> employeeDAO.save(staleCopy))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+            assertThat(employee.getVersion()).isEqualTo(1);
+            assertThat(employeeDAO.findById(employee.getId()))
+                .hasValueSatisfying(e -> assertThat(e.getFirstName()).isEqualTo("Winner"));
+        }
+
+        @Test
+        @DisplayName("save() should only write an employee's changed columns, and skip unchanged employees")
+        void save_shouldWriteOnlyChangedColumns() {
+            // Given: An employee loaded from the database
+            Employee saved = createAndSaveTestEmployee(createAndSaveTestUser("partial"), "Before", "Same", "P1");
+            Employee loaded = employeeDAO.findById(saved.getId()).orElseThrow();
+            assertThat(loaded.changedFields()).isEmpty();
+
+            // When: One field is changed and the employee is saved twice
+            loaded.setFirstName("After");
+            assertThat(loaded.changedFields()).containsExactly(Employee.Field.FIRST_NAME);
+            employeeDAO.save(loaded);
+            employeeDAO.save(loaded);
+
+            // Then: Only the first save wrote the row, and the other columns were kept
+            assertThat(loaded.getVersion()).isEqualTo(1);
+            assertThat(loaded.changedFields()).isEmpty();
+            assertThat(employeeDAO.findById(saved.getId())).hasValueSatisfying(e -> {
+                assertThat(e.getFirstName()).isEqualTo("After");
+                assertThat(e.getLastName()).isEqualTo("Same");
+                assertThat(e.getIcPassport()).isEqualTo("P1");
+                assertThat(e.getVersion()).isEqualTo(1);
+            });
+        }
+
         @Test
         @DisplayName("deleteById() should permanently remove an employee")
         void deleteById_shouldRemoveEmployee() {
@@ -171,6 +226,93 @@ class EmployeeDAOImplTest {
                 );
         }
 
+        @Test
+        @DisplayName("findAllDtos() should project the same employees, in the same order, as findAll()")
+        void findAllDtos_shouldMatchFindAll() {
+            // Given: Multiple employees are saved
+            User user1 = createAndSaveTestUser("dto_b");
+            User user2 = createAndSaveTestUser("dto_a");
+            createAndSaveTestEmployee(user1, "Bob", "Ng", "DB1");
+            createAndSaveTestEmployee(user2, "Alice", "Ng", "DA2");
+
+            // When: We read them straight into DTOs
+            List<EmployeeDTO> dtos = employeeDAO.findAllDtos();
+
+            // Then: Each DTO carries the columns of the matching domain object
+            assertThat(dtos)
+                .extracting(EmployeeDTO::id, EmployeeDTO::userId, EmployeeDTO::firstName, EmployeeDTO::icPassport)
+                .containsExactlyElementsOf(employeeDAO.findAll().stream()
+                    .map(e -> tuple(e.getId(), e.getUserId(), e.getFirstName(), e.getIcPassport()))
+                    .toList());
+        }
+
+        @Test
+        @DisplayName("streamAll() should stream the same employees in the same order as findAll()")
+        void streamAll_shouldMatchFindAll() {
+            // Given: Multiple employees are saved
+            User user1 = createAndSaveTestUser("stream_b");
+            User user2 = createAndSaveTestUser("stream_a");
+            createAndSaveTestEmployee(user1, "Bob", "Jones", "SB1");
+            createAndSaveTestEmployee(user2, "Alice", "Jones", "SA2");
+
+            // When: We stream all employees
+            List<Employee> streamed;
+            try (Stream<Employee> employees = employeeDAO.streamAll()) {
+                streamed = employees.toList();
+            }
+
+            // Then: The streamed rows should match findAll(), in order
+            assertThat(streamed)
+                .extracting(Employee::getId)
+                .containsExactlyElementsOf(employeeDAO.findAll().stream().map(Employee::getId).toList());
+        }
+
+        @Test
+        @DisplayName("findPage() should walk every employee once, in last name order, across pages")
+        void findPage_shouldWalkAllEmployeesAcrossPages() {
+            // Given: More employees than fit on one page, two sharing a last name
+            createAndSaveTestEmployee(createAndSaveTestUser("page_a"), "Ann", "Lee", "P1");
+            createAndSaveTestEmployee(createAndSaveTestUser("page_b"), "Ben", "Lee", "P2");
+            createAndSaveTestEmployee(createAndSaveTestUser("page_c"), "Cat", "Kim", "P3");
+            createAndSaveTestEmployee(createAndSaveTestUser("page_d"), "Dan", "Tan", "P4");
+            createAndSaveTestEmployee(createAndSaveTestUser("page_e"), "Eve", "Ong", "P5");
+
+            // When: We page through them two at a time, passing each key on as a token
+            List<Employee> walked = new ArrayList<>();
+            PageKey afterKey = null;
+            Page<Employee> page;
+            do {
+                page = employeeDAO.findPage(afterKey, 2, EmployeeDAO.SORT_BY_LAST_NAME);
+                walked.addAll(page.items());
+                afterKey = page.hasNext() ? PageKey.fromToken(page.nextKey().toToken()) : null;
+            } while (page.hasNext());
+
+            // Then: Every employee appears exactly once, in last name then id order
+            assertThat(walked)
+                .extracting(Employee::getLastName)
+                .containsExactly("Kim", "Lee", "Lee", "Ong", "Tan");
+            assertThat(walked.subList(1, 3))
+                .extracting(Employee::getFirstName)
+                .containsExactly("Ann", "Ben");
+        }
+
+        @Test
+        @DisplayName("findByIds() should load the requested employees in one pass, skipping unknown ids")
+        void findByIds_shouldReturnFoundEmployeesInRequestOrder() {
+            // Given: Three saved employees
+            Employee first = createAndSaveTestEmployee(createAndSaveTestUser("ids_a"), "Ann", "Ong", "I1");
+            Employee second = createAndSaveTestEmployee(createAndSaveTestUser("ids_b"), "Ben", "Ong", "I2");
+            Employee third = createAndSaveTestEmployee(createAndSaveTestUser("ids_c"), "Cat", "Ong", "I3");
+
+            // When: We ask for them out of order, with a duplicate and an unknown id
+            Map<Integer, Employee> found = employeeDAO.findByIds(
+                List.of(third.getId(), first.getId(), -1, third.getId(), second.getId()));
+
+            // Then: Each known employee is returned once, in the order first asked for
+            assertThat(found.keySet()).containsExactly(third.getId(), first.getId(), second.getId());
+            assertThat(found.get(first.getId()).getFirstName()).isEqualTo("Ann");
+        }
+
         @Test
         @DisplayName("count() should return the total number of employees")
         void count_shouldReturnTotalNumberOfEmployees() {
@@ -188,6 +330,31 @@ class EmployeeDAOImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("transaction identity map")
+    class IdentityMapTests {
+        @Test
+        @DisplayName("findById() should return the same instance when called twice in one transaction")
+        void findById_shouldReturnSameInstance_withinTransaction() throws Exception {
+            // Given: An employee exists
+            User testUser = createAndSaveTestUser("identity");
+            Employee saved = createAndSaveTestEmployee(testUser, "Ida", "Entity", "I123");
+
+            // When: It is looked up twice inside one transaction
+            Employee[] found = new Employee[2];
+            dbManager.executeInTransaction(() -> {
+                found[0] = employeeDAO.findById(saved.getId()).orElseThrow();
+                found[1] = employeeDAO.findById(saved.getId()).orElseThrow();
+            });
+
+            // Then: The second lookup is served from the identity map
+            assertThat(found[1]).isSameAs(found[0]);
+
+            // And: Outside the transaction, a fresh instance is loaded
+            assertThat(employeeDAO.findById(saved.getId()).orElseThrow()).isNotSameAs(found[0]);
+        }
+    }
+
     // Helper methods
     private User createAndSaveTestUser(String username) {
         User user = new User(0, username, "password", UserDTO.Role.EMPLOYEE);
@@ -0,0 +1,162 @@
+package org.bhel.hrm.server.daos.impls;
+
+import org.bhel.hrm.common.config.Configuration;
+import org.bhel.hrm.common.dtos.TrainingCourseDTO;
+import org.bhel.hrm.common.dtos.TrainingEnrollmentDTO;
+import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.exceptions.DataAccessException;
+import org.bhel.hrm.server.config.DatabaseManager;
+import org.bhel.hrm.server.daos.EmployeeDAO;
+import org.bhel.hrm.server.daos.ReferenceData;
+import org.bhel.hrm.server.daos.TrainingCourseDAO;
+import org.bhel.hrm.server.daos.TrainingEnrollmentDAO;
+import org.bhel.hrm.server.daos.UserDAO;
+import org.bhel.hrm.server.domain.Employee;
+import org.bhel.hrm.server.domain.TrainingCourse;
+import org.bhel.hrm.server.domain.TrainingEnrollment;
+import org.bhel.hrm.server.domain.User;
+import org.junit.jupiter.api.*;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Testcontainers
+@DisplayName("TrainingEnrollmentDAO implementation tests")
+class TrainingEnrollmentDAOImplTest {
+    // Matches the connection options Configuration builds for the application
+    @Container
+    private static final MySQLContainer mysql = new MySQLContainer("mysql:8.4.0")
+        .withUrlParam("useAffectedRows", "true");
+
+    private static DatabaseManager dbManager;
+    private static UserDAO userDAO;
+    private static EmployeeDAO employeeDAO;
+    private static TrainingCourseDAO trainingCourseDAO;
+    private static TrainingEnrollmentDAO trainingEnrollmentDAO;
+
+    @BeforeAll
+    static void setup() {
+        Configuration mockConfig = mock(Configuration.class);
+
+        when(mockConfig.getDbUrl()).thenReturn(mysql.getJdbcUrl());
+        when(mockConfig.getDbUser()).thenReturn(mysql.getUsername());
+        when(mockConfig.getDbPassword()).thenReturn(mysql.getPassword());
+
+        dbManager = new DatabaseManager(mockConfig);
+        ReferenceData referenceData = ReferenceData.load(dbManager);
+        userDAO = new UserDAOImpl(dbManager, referenceData);
+        employeeDAO = new EmployeeDAOImpl(dbManager);
+        trainingCourseDAO = new TrainingCourseDAOImpl(dbManager, referenceData);
+        trainingEnrollmentDAO = new TrainingEnrollmentDAOImpl(dbManager, referenceData);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Enrollments are removed along with their employees and courses
+        trainingCourseDAO.findAll().forEach(course -> trainingCourseDAO.deleteById(course.getId()));
+        employeeDAO.findAll().forEach(employee -> employeeDAO.deleteById(employee.getId()));
+        userDAO.findAll().forEach(user -> userDAO.deleteById(user.getId()));
+    }
+
+    @Nested
+    @DisplayName("insertIfAbsent operations")
+    class InsertIfAbsentTests {
+        @Test
+        @DisplayName("insertIfAbsent() should insert a new enrollment and report it as created")
+        void insertIfAbsent_shouldReturnTrue_whenEnrollmentIsNew() {
+            // Given: An employee and a course with no enrollment between them
+            Employee employee = createAndSaveTestEmployee("new_enrollee");
+            TrainingCourse course = createAndSaveTestCourse("Java Basics");
+
+            // When: The employee is enrolled
+            boolean created = trainingEnrollmentDAO.insertIfAbsent(
+                new TrainingEnrollment(employee.getId(), course.getId(), TrainingEnrollmentDTO.Status.ENROLLED));
+
+            // Then: The row was created
+            assertThat(created).isTrue();
+            assertThat(trainingEnrollmentDAO.findAll())
+                .singleElement()
+                .satisfies(enrollment -> {
+                    assertThat(enrollment.getEmployeeId()).isEqualTo(employee.getId());
+                    assertThat(enrollment.getCourseId()).isEqualTo(course.getId());
+                    assertThat(enrollment.getStatus()).isEqualTo(TrainingEnrollmentDTO.Status.ENROLLED);
+                });
+        }
+
+        @Test
+        @DisplayName("insertIfAbsent() should skip a duplicate enrollment and report it as not created")
+        void insertIfAbsent_shouldReturnFalse_whenEnrollmentExists() {
+            // Given: An employee already enrolled in a course
+            Employee employee = createAndSaveTestEmployee("repeat_enrollee");
+            TrainingCourse course = createAndSaveTestCourse("SQL Tuning");
+            trainingEnrollmentDAO.insertIfAbsent(
+                new TrainingEnrollment(employee.getId(), course.getId(), TrainingEnrollmentDTO.Status.ENROLLED));
+
+            // When: The same enrollment is inserted again
+            boolean created = trainingEnrollmentDAO.insertIfAbsent(
+                new TrainingEnrollment(employee.getId(), course.getId(), TrainingEnrollmentDTO.Status.COMPLETED));
+
+            // Then: Nothing was created, and the first enrollment is untouched
+            assertThat(created).isFalse();
+            assertThat(trainingEnrollmentDAO.findAll())
+                .singleElement()
+                .satisfies(enrollment ->
+                    assertThat(enrollment.getStatus()).isEqualTo(TrainingEnrollmentDTO.Status.ENROLLED));
+        }
+
+        @Test
+        @DisplayName("insertIfAbsent() should fail instead of skipping an enrollment for a missing course")
+        void insertIfAbsent_shouldThrow_whenForeignKeyIsMissing() {
+            // Given: An employee, and a course ID that does not exist
+            Employee employee = createAndSaveTestEmployee("orphan_enrollee");
+
+            // When / Then: The foreign key error (1452) is reported rather than ignored like a duplicate
+            assertThatThrownBy(() -> trainingEnrollmentDAO.insertIfAbsent(
+                    new TrainingEnrollment(employee.getId(), 99999, TrainingEnrollmentDTO.Status.ENROLLED)))
+                .isInstanceOf(DataAccessException.class)
+                .hasCauseInstanceOf(SQLException.class)
+                .satisfies(e -> assertThat(((SQLException) e.getCause()).getErrorCode()).isEqualTo(1452));
+            assertThat(trainingEnrollmentDAO.findAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("insertIfAbsent() should fail when IGNORE wrote the row with an adjusted value")
+        void insertIfAbsent_shouldThrow_whenRowWasWrittenWithWarning() {
+            // Given: An enrollment dated past the TIMESTAMP range, which IGNORE stores as a zero date
+            Employee employee = createAndSaveTestEmployee("late_enrollee");
+            TrainingCourse course = createAndSaveTestCourse("Y2038");
+            TrainingEnrollment enrollment = new TrainingEnrollment(employee.getId(), course.getId(),
+                LocalDateTime.of(2040, 1, 1, 0, 0), TrainingEnrollmentDTO.Status.ENROLLED);
+
+            // When / Then: The conversion warning fails the call although a row was written,
+            // and the transaction it ran in is rolled back
+            assertThatThrownBy(() -> dbManager.executeInTransaction(() ->
+                    trainingEnrollmentDAO.insertIfAbsent(enrollment)))
+                .hasStackTraceContaining("enrollment_date");
+            assertThat(trainingEnrollmentDAO.findAll()).isEmpty();
+        }
+    }
+
+    private Employee createAndSaveTestEmployee(String username) {
+        User user = new User(0, username, "password", UserDTO.Role.EMPLOYEE);
+        userDAO.save(user);
+
+        Employee employee = new Employee(0, user.getId(), "Test", "Employee", username);
+        employeeDAO.save(employee);
+        return employee;
+    }
+
+    private TrainingCourse createAndSaveTestCourse(String title) {
+        TrainingCourse course = new TrainingCourse(title, "A test course", 8, TrainingCourseDTO.Department.IT);
+        trainingCourseDAO.save(course);
+        return course;
+    }
+}
@@ -3,6 +3,7 @@ package org.bhel.hrm.server.daos.impls;
 import org.bhel.hrm.common.dtos.UserDTO;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.common.config.Configuration;
+import org.bhel.hrm.server.daos.ReferenceData;
 import org.bhel.hrm.server.daos.UserDAO;
 import org.bhel.hrm.server.domain.User;
 import org.junit.jupiter.api.*;
@@ -23,9 +24,12 @@ import static org.mockito.Mockito.when;
 @DisplayName("UserDAO implementation tests")
 class UserDAOImplTest {
 
+    // Matches the connection options Configuration builds, which upsert() relies on
     @Container
-    private static final MySQLContainer mysql = new MySQLContainer("mysql:8.4.0");
+    private static final MySQLContainer mysql = new MySQLContainer("mysql:8.4.0")
+        .withUrlParam("useAffectedRows", "true");
     private static UserDAO userDAO;
+    private static UpsertingUserDAO upsertingUserDAO;
 
     @BeforeAll
     static void setup() {
@@ -36,7 +40,9 @@ class UserDAOImplTest {
         when(mockConfig.getDbPassword()).thenReturn(mysql.getPassword());
 
         DatabaseManager dbManager = new DatabaseManager(mockConfig);
-        userDAO = new UserDAOImpl(dbManager);
+        ReferenceData referenceData = ReferenceData.load(dbManager);
+        userDAO = new UserDAOImpl(dbManager, referenceData);
+        upsertingUserDAO = new UpsertingUserDAO(dbManager, referenceData);
     }
 
     @AfterEach
@@ -62,6 +68,27 @@ class UserDAOImplTest {
             assertThat(newUser.getId()).isGreaterThan(0);
         }
 
+        @Test
+        @DisplayName("saveAll() should batch insert new users and set each generated ID")
+        void saveAll_shouldInsertNewUsersAndSetIds() {
+            // Given: Several new users without IDs
+            List<User> users = List.of(
+                new User(0, "batch_a", "pass", UserDTO.Role.EMPLOYEE),
+                new User(0, "batch_b", "pass", UserDTO.Role.EMPLOYEE),
+                new User(0, "batch_c", "pass", UserDTO.Role.HR_STAFF)
+            );
+
+            // When: They are saved in one call
+            userDAO.saveAll(users);
+
+            // Then: Every user gets its own ID, and each ID resolves to the matching row
+            assertThat(users).extracting(User::getId).doesNotContain(0).doesNotHaveDuplicates();
+            assertThat(users).allSatisfy(user ->
+                assertThat(userDAO.findById(user.getId()))
+                    .hasValueSatisfying(found -> assertThat(found.getUsername()).isEqualTo(user.getUsername()))
+            );
+        }
+
         @Test
         @DisplayName("findById() should return the correct user when they exist")
         void findById_shouldReturnCorrectUser_whenUserExists() {
@@ -121,6 +148,17 @@ class UserDAOImplTest {
             // Then: The result should be an empty Optional
             assertThat(foundUserOpt).isEmpty();
         }
+
+        @Test
+        @DisplayName("existsByUsername() should report only usernames that are taken")
+        void existsByUsername_shouldMatchSavedUsernamesOnly() {
+            // Given: A user is saved to the database
+            userDAO.save(new User(0, "taken_username", "password123", UserDTO.Role.EMPLOYEE));
+
+            // When / Then: Only the saved username exists
+            assertThat(userDAO.existsByUsername("taken_username")).isTrue();
+            assertThat(userDAO.existsByUsername("free_username")).isFalse();
+        }
     }
 
     @Nested
@@ -216,4 +254,69 @@ class UserDAOImplTest {
             assertThat(userCount).isEqualTo(2);
         }
     }
+
+    @Nested
+    @DisplayName("Upsert template")
+    class UpsertTests {
+        @Test
+        @DisplayName("upsert() should report a new row as created")
+        void upsert_shouldReturnTrue_whenRowIsNew() {
+            // When: A user is upserted under an unused username
+            boolean created = upsertingUserDAO.upsertPassword("upsert_new", "hash_1");
+
+            // Then: The row was created
+            assertThat(created).isTrue();
+            assertThat(userDAO.findByUsername("upsert_new"))
+                .hasValueSatisfying(user -> assertThat(user.getPasswordHash()).isEqualTo("hash_1"));
+        }
+
+        @Test
+        @DisplayName("upsert() should update an existing row and report it as not created")
+        void upsert_shouldReturnFalse_whenRowIsUpdated() {
+            // Given: A user already holds the username
+            userDAO.save(new User(0, "upsert_existing", "hash_1", UserDTO.Role.EMPLOYEE));
+
+            // When: The same username is upserted with a new hash (2 affected rows)
+            boolean created = upsertingUserDAO.upsertPassword("upsert_existing", "hash_2");
+
+            // Then: No row was created, and the existing row was updated
+            assertThat(created).isFalse();
+            assertThat(userDAO.findAll()).singleElement()
+                .satisfies(user -> assertThat(user.getPasswordHash()).isEqualTo("hash_2"));
+        }
+
+        @Test
+        @DisplayName("upsert() should report an unchanged existing row as not created")
+        void upsert_shouldReturnFalse_whenRowIsUnchanged() {
+            // Given: A user already holds the username and the hash
+            userDAO.save(new User(0, "upsert_same", "hash_1", UserDTO.Role.EMPLOYEE));
+
+            // When: The identical row is upserted (0 affected rows, but 1 found row)
+            boolean created = upsertingUserDAO.upsertPassword("upsert_same", "hash_1");
+
+            // Then: It is not mistaken for a new row
+            assertThat(created).isFalse();
+            assertThat(userDAO.count()).isEqualTo(1);
+        }
+    }
+
+    /** Exposes the protected upsert template through a statement on the users' unique username. */
+    private static final class UpsertingUserDAO extends UserDAOImpl {
+        private static final String UPSERT_PASSWORD_SQL = """
+            INSERT INTO users (username, password_hash, role_id)
+            VALUES (?, ?, (SELECT id FROM user_roles WHERE name = 'employee')) AS incoming
+            ON DUPLICATE KEY UPDATE password_hash = incoming.password_hash
+        """;
+
+        UpsertingUserDAO(DatabaseManager dbManager, ReferenceData referenceData) {
+            super(dbManager, referenceData);
+        }
+
+        boolean upsertPassword(String username, String passwordHash) {
+            return upsert(UPSERT_PASSWORD_SQL, stmt -> {
+                stmt.setString(1, username);
+                stmt.setString(2, passwordHash);
+            });
+        }
+    }
 }
\ No newline at end of file
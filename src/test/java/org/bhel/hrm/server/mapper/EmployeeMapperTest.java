@@ -52,7 +52,7 @@ class EmployeeMapperTest {
         @DisplayName("should correctly map a non-null EmployeeDTO to an Employee domain object")
         void shouldMapToDomain() {
             // Given: A fully populated EmployeeDTO record
-            EmployeeDTO dto = new EmployeeDTO(1, 101, "Jane", "Doe", "G9876543B");
+            EmployeeDTO dto = new EmployeeDTO(1, 101, "Jane", "Doe", "G9876543B", 3);
 
             // When: The mapper converts it to a domain object
             Employee domain = EmployeeMapper.mapToDomain(dto);
@@ -64,6 +64,7 @@ class EmployeeMapperTest {
             assertThat(domain.getFirstName()).isEqualTo("Jane");
             assertThat(domain.getLastName()).isEqualTo("Doe");
             assertThat(domain.getIcPassport()).isEqualTo("G9876543B");
+            assertThat(domain.getVersion()).isEqualTo(3);
         }
 
         @Test
@@ -0,0 +1,61 @@
+package org.bhel.hrm.server.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("LatencyHistogram unit tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("an empty histogram should report an empty snapshot")
+    void snapshot_shouldBeEmpty_whenNothingRecorded() {
+        assertThat(new LatencyHistogram().snapshot()).isEqualTo(LatencyHistogram.Snapshot.EMPTY);
+    }
+
+    @Test
+    @DisplayName("percentiles should fall within a factor of two of the recorded samples")
+    void snapshot_shouldReportBoundedPercentiles() {
+        // Given: 99 fast samples of 1ms and a single slow one of 100ms
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++)
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // When: A snapshot is taken
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // Then: The median reflects the fast samples and the maximum the slow one
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.p50()).isBetween(1.0, 2.0);
+        assertThat(snapshot.p99()).isBetween(1.0, 2.0);
+        assertThat(snapshot.max()).isCloseTo(100.0, within(0.001));
+        assertThat(snapshot.mean()).isCloseTo(1.99, within(0.001));
+    }
+
+    @Test
+    @DisplayName("percentiles should never exceed the largest recorded sample")
+    void snapshot_shouldCapPercentilesAtMax() {
+        // Given: A single sample just above a bucket boundary
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(1_100));
+
+        // When, Then: The bucket's upper bound is capped at the observed value
+        assertThat(histogram.snapshot().p99()).isCloseTo(1.1, within(0.001));
+    }
+
+    @Test
+    @DisplayName("reset() should discard all recorded samples")
+    void reset_shouldClearSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+
+        histogram.reset();
+
+        assertThat(histogram.snapshot().count()).isZero();
+    }
+}
@@ -0,0 +1,80 @@
+package org.bhel.hrm.server.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("QueryMetrics unit tests")
+class QueryMetricsTest {
+
+    @Test
+    @DisplayName("normalize() should collapse whitespace and placeholder lists")
+    void normalize_shouldCollapseWhitespaceAndInLists() {
+        String sql = """
+            SELECT id
+            FROM   employees
+            WHERE  id IN (?, ?,?)
+            """;
+
+        assertThat(QueryMetrics.normalize(sql)).isEqualTo("SELECT id FROM employees WHERE id IN (?, ...)");
+    }
+
+    @Test
+    @DisplayName("record() should group executions by normalized SQL and sum their rows")
+    void record_shouldGroupByNormalizedSql() {
+        // Given: The same query executed with differently sized IN lists
+        QueryMetrics metrics = new QueryMetrics(1_000);
+        metrics.record("SELECT * FROM t WHERE id IN (?, ?)", TimeUnit.MILLISECONDS.toNanos(2), 2, List::of);
+        metrics.record("SELECT * FROM t WHERE id IN (?, ?, ?)", TimeUnit.MILLISECONDS.toNanos(4), 3, List::of);
+        metrics.recordFailure("SELECT * FROM t WHERE id IN (?, ?)", TimeUnit.MILLISECONDS.toNanos(1), List::of);
+
+        // When: A snapshot is taken
+        List<QueryMetrics.StatementStats> stats = metrics.snapshot();
+
+        // Then: Both executions count towards one statement
+        assertThat(stats).singleElement().satisfies(statement -> {
+            assertThat(statement.sql()).isEqualTo("SELECT * FROM t WHERE id IN (?, ...)");
+            assertThat(statement.latency().count()).isEqualTo(3);
+            assertThat(statement.rows()).isEqualTo(5);
+            assertThat(statement.failures()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("record() should only describe the parameters of slow executions")
+    void record_shouldOnlyComputeParameterShapes_whenSlow() {
+        // Given: A 100ms slow-query threshold
+        QueryMetrics metrics = new QueryMetrics(100);
+        AtomicInteger shapeCalls = new AtomicInteger();
+
+        // When: One fast and one slow execution are recorded
+        metrics.record("SELECT 1", TimeUnit.MILLISECONDS.toNanos(5), 1, () -> {
+            shapeCalls.incrementAndGet();
+            return List.of();
+        });
+        metrics.record("SELECT 1", TimeUnit.MILLISECONDS.toNanos(150), 1, () -> {
+            shapeCalls.incrementAndGet();
+            return List.of("1:int");
+        });
+
+        // Then: Only the slow execution paid for its parameter shapes
+        assertThat(shapeCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("snapshot() should list the statements with the most total time first")
+    void snapshot_shouldOrderByTotalTime() {
+        QueryMetrics metrics = new QueryMetrics(1_000);
+        metrics.record("SELECT a", TimeUnit.MILLISECONDS.toNanos(1), 1, List::of);
+        metrics.record("SELECT b", TimeUnit.MILLISECONDS.toNanos(50), 1, List::of);
+
+        assertThat(metrics.snapshot())
+            .extracting(QueryMetrics.StatementStats::sql)
+            .containsExactly("SELECT b", "SELECT a");
+    }
+}